@@ -0,0 +1,67 @@
+package com.eveiled.apigateway.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Stamps every routed request with an absolute deadline (epoch millis) that downstream
+ * services use to cap their own timeouts and to drop work the client no longer waits for.
+ * A deadline sent by the client is honoured but never extended beyond {@code max-timeout}.
+ */
+@Component
+public class RequestDeadlineFilter implements GlobalFilter, Ordered {
+
+    public static final String DEADLINE_HEADER = "X-Request-Deadline";
+
+    private final Duration defaultTimeout;
+    private final Duration maxTimeout;
+
+    public RequestDeadlineFilter(@Value("${gateway.request-deadline.default-timeout:30s}") Duration defaultTimeout,
+                                 @Value("${gateway.request-deadline.max-timeout:60s}") Duration maxTimeout) {
+        this.defaultTimeout = defaultTimeout;
+        this.maxTimeout = maxTimeout;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Instant now = Instant.now();
+        Instant maxDeadline = now.plus(maxTimeout);
+        Instant deadline = parse(exchange.getRequest().getHeaders().getFirst(DEADLINE_HEADER));
+
+        if (deadline == null) {
+            deadline = now.plus(defaultTimeout);
+        } else if (deadline.isAfter(maxDeadline)) {
+            deadline = maxDeadline;
+        }
+
+        ServerHttpRequest request = exchange.getRequest().mutate()
+                .header(DEADLINE_HEADER, String.valueOf(deadline.toEpochMilli()))
+                .build();
+        return chain.filter(exchange.mutate().request(request).build());
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    private static Instant parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Instant.ofEpochMilli(Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.eveiled.bookingservice;
 
+import com.eveiled.bookingservice.config.PaginationProperties;
+import com.eveiled.bookingservice.config.ReplicaDataSourceProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
 @SpringBootApplication
+@EnableConfigurationProperties({PaginationProperties.class, ReplicaDataSourceProperties.class})
 public class BookingServiceApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,8 @@
+package com.eveiled.bookingservice.client;
+
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
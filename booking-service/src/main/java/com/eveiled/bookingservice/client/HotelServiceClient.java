@@ -0,0 +1,269 @@
+package com.eveiled.bookingservice.client;
+
+import com.eveiled.bookingservice.config.HotelServiceClientProperties;
+import com.eveiled.bookingservice.dto.AvailabilityRequest;
+import com.eveiled.bookingservice.dto.BatchHoldRequest;
+import com.eveiled.bookingservice.dto.BatchHoldResponse;
+import com.eveiled.bookingservice.dto.ReserveRoomRequest;
+import com.eveiled.bookingservice.dto.RoomDto;
+import com.eveiled.bookingservice.util.CorrelationIdUtil;
+import com.eveiled.bookingservice.util.DeadlineUtil;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Single, pooled WebClient for all hotel-service calls made by the booking saga.
+ * The connection pool publishes reactor-netty metrics (active/idle/pending connections
+ * and acquire time) under {@code reactor.netty.connection.provider.*}.
+ * Retries use exponential backoff with jitter and share one {@link RetryBudget}; every operation
+ * has its own circuit breaker and bulkhead (resilience4j instances named after the operation).
+ */
+@Component
+@Slf4j
+public class HotelServiceClient implements DisposableBean {
+
+    private static final String POOL_NAME = "hotel-service";
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    public static final String CONFIRM_AVAILABILITY = "hotel-confirm-availability";
+    public static final String RELEASE = "hotel-release";
+    public static final String INCREMENT_BOOKINGS = "hotel-increment-bookings";
+    public static final String RESERVE_ANY = "hotel-reserve-any";
+    public static final String HOLD_BATCH = "hotel-hold-batch";
+
+    private static final HotelServiceFailurePredicate FAILURE_PREDICATE = new HotelServiceFailurePredicate();
+
+    private final HotelServiceClientProperties properties;
+    private final ConnectionProvider connectionProvider;
+    private final WebClient webClient;
+    private final RetryBudget retryBudget;
+    private final Counter retriesAllowed;
+    private final Counter retriesRejected;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final MeterRegistry meterRegistry;
+
+    public HotelServiceClient(@LoadBalanced WebClient.Builder webClientBuilder,
+                              HotelServiceClientProperties properties,
+                              MeterRegistry meterRegistry,
+                              CircuitBreakerRegistry circuitBreakerRegistry,
+                              BulkheadRegistry bulkheadRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        for (String operation : List.of(CONFIRM_AVAILABILITY, RELEASE, INCREMENT_BOOKINGS, RESERVE_ANY, HOLD_BATCH)) {
+            circuitBreakerRegistry.circuitBreaker(operation).getEventPublisher().onStateTransition(event ->
+                    log.warn("HOTEL_CIRCUIT_BREAKER: {} {}", operation, event.getStateTransition()));
+        }
+        this.retryBudget = new RetryBudget(properties.getRetry().getBudgetRatio(),
+                properties.getRetry().getBudgetMaxTokens());
+        this.retriesAllowed = meterRegistry.counter("hotel.client.retries", "outcome", "allowed");
+        this.retriesRejected = meterRegistry.counter("hotel.client.retries", "outcome", "budget_exhausted");
+        Gauge.builder("hotel.client.retry.budget", retryBudget, RetryBudget::availableRetries)
+                .description("Retries currently available in the hotel-service retry budget")
+                .register(meterRegistry);
+        this.connectionProvider = createConnectionProvider(properties.getPool());
+        this.webClient = webClientBuilder.clone()
+                .baseUrl(properties.getUrl())
+                .clientConnector(new ReactorClientHttpConnector(createHttpClient()))
+                .build();
+        log.info("HOTEL_CLIENT_INIT: Hotel service client created for {} [maxConnections={}, http2={}]",
+                properties.getUrl(), properties.getPool().getMaxConnections(), properties.isHttp2());
+    }
+
+    public Mono<Boolean> confirmAvailability(Long roomId, AvailabilityRequest request) {
+        return execute(CONFIRM_AVAILABILITY, properties.getTimeouts().getConfirmAvailability(), true,
+                deadline -> webClient.post()
+                        .uri("/api/rooms/{id}/confirm-availability", roomId)
+                        .header(DeadlineUtil.DEADLINE_HEADER, DeadlineUtil.format(deadline))
+                        .bodyValue(request)
+                        .retrieve()
+                        .bodyToMono(Boolean.class));
+    }
+
+    // Вызовы из outbox не ограничиваются дедлайном клиента: бронь должна быть снята даже если он уже ушёл
+    public Mono<Void> releaseRoom(Long roomId, String requestId, String idempotencyKey) {
+        return execute(RELEASE, properties.getTimeouts().getRelease(), false,
+                deadline -> webClient.post()
+                        .uri("/api/rooms/{id}/release?requestId={requestId}", roomId, requestId)
+                        .header(IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                        .retrieve()
+                        .bodyToMono(Void.class));
+    }
+
+    /**
+     * Releases every room held or booked by the request, for a booking whose room was never learned.
+     */
+    public Mono<Void> releaseRequest(String requestId, String idempotencyKey) {
+        return execute(RELEASE, properties.getTimeouts().getRelease(), false,
+                deadline -> webClient.post()
+                        .uri("/api/rooms/release?requestId={requestId}", requestId)
+                        .header(IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                        .retrieve()
+                        .bodyToMono(Void.class));
+    }
+
+    public Mono<Void> incrementTimesBooked(Long roomId, String requestId, String idempotencyKey) {
+        return execute(INCREMENT_BOOKINGS, properties.getTimeouts().getIncrementBookings(), false,
+                deadline -> webClient.post()
+                        .uri("/api/rooms/{id}/increment-bookings?requestId={requestId}", roomId, requestId)
+                        .header(IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                        .retrieve()
+                        .bodyToMono(Void.class));
+    }
+
+    /**
+     * Picks and holds the least booked free room in one round-trip; empty when nothing is free.
+     */
+    public Mono<RoomDto> reserveAnyRoom(ReserveRoomRequest request) {
+        return execute(RESERVE_ANY, properties.getTimeouts().getReserveAny(), true,
+                deadline -> webClient.post()
+                        .uri("/api/rooms/reserve-any")
+                        .header(DeadlineUtil.DEADLINE_HEADER, DeadlineUtil.format(deadline))
+                        .bodyValue(request)
+                        .retrieve()
+                        .bodyToMono(RoomDto.class));
+    }
+
+    /**
+     * Holds all rooms of a group booking in one round-trip, all or nothing.
+     */
+    public Mono<BatchHoldResponse> holdRooms(BatchHoldRequest request) {
+        return execute(HOLD_BATCH, properties.getTimeouts().getHoldBatch(), true,
+                deadline -> webClient.post()
+                        .uri("/api/rooms/hold-batch")
+                        .header(DeadlineUtil.DEADLINE_HEADER, DeadlineUtil.format(deadline))
+                        .bodyValue(request)
+                        .retrieve()
+                        .bodyToMono(BatchHoldResponse.class));
+    }
+
+    /**
+     * True when the call was not attempted at all because the circuit breaker is open
+     * or the bulkhead has no free permits.
+     */
+    public static boolean isRejected(Throwable error) {
+        return error instanceof CallNotPermittedException || error instanceof BulkheadFullException;
+    }
+
+    /**
+     * Runs one logical call: every attempt gets its own deadline (the attempt timeout, capped by
+     * the caller's deadline when {@code honorCallerDeadline} is set) which is both enforced locally
+     * and, for regular calls, sent to hotel-service so it can drop work nobody is waiting for anymore.
+     * Each attempt passes the operation's circuit breaker; the bulkhead limits concurrent logical calls.
+     */
+    private <T> Mono<T> execute(String operation, Duration attemptTimeout, boolean honorCallerDeadline,
+                                Function<Instant, Mono<T>> request) {
+        Instant callerDeadline = honorCallerDeadline ? DeadlineUtil.getDeadline() : null;
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(operation);
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(operation);
+        retryBudget.recordRequest();
+
+        Mono<T> attempt = Mono.defer(() -> {
+            Instant now = Instant.now();
+            Instant attemptDeadline = now.plus(attemptTimeout);
+            if (callerDeadline != null) {
+                if (!now.isBefore(callerDeadline)) {
+                    return Mono.error(new DeadlineExceededException(
+                            "Deadline exceeded before hotel-service " + operation + " call"));
+                }
+                if (callerDeadline.isBefore(attemptDeadline)) {
+                    attemptDeadline = callerDeadline;
+                }
+            }
+            return request.apply(attemptDeadline)
+                    .timeout(Duration.between(now, attemptDeadline))
+                    .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+        });
+
+        return attempt
+                .retryWhen(retrySpec(operation))
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .doOnError(HotelServiceClient::isRejected, error -> countRejection(operation, error))
+                .contextWrite(CorrelationIdUtil.captureContext());
+    }
+
+    private void countRejection(String operation, Throwable error) {
+        String reason = error instanceof CallNotPermittedException ? "circuit_open" : "bulkhead_full";
+        meterRegistry.counter("hotel.client.rejections", "operation", operation, "reason", reason).increment();
+    }
+
+    private Retry retrySpec(String operation) {
+        HotelServiceClientProperties.Retry retry = properties.getRetry();
+        return Retry.backoff(retry.getMaxRetries(), retry.getMinBackoff())
+                .maxBackoff(retry.getMaxBackoff())
+                .jitter(retry.getJitter())
+                .filter(error -> FAILURE_PREDICATE.test(error) && acquireRetry(operation))
+                .doBeforeRetry(signal -> log.warn("HOTEL_CLIENT_RETRY: {} attempt {} after {}",
+                        operation, signal.totalRetries() + 1, signal.failure().toString()))
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    private boolean acquireRetry(String operation) {
+        if (retryBudget.tryAcquire()) {
+            retriesAllowed.increment();
+            return true;
+        }
+        retriesRejected.increment();
+        log.warn("HOTEL_CLIENT_RETRY_BUDGET_EXHAUSTED: Not retrying {}", operation);
+        return false;
+    }
+
+    @Override
+    public void destroy() {
+        connectionProvider.dispose();
+    }
+
+    private HttpClient createHttpClient() {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .keepAlive(true)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .metrics(true, uri -> uri.replaceAll("/\\d+", "/{id}"));
+
+        if (properties.isHttp2()) {
+            httpClient = httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+        return httpClient;
+    }
+
+    private static ConnectionProvider createConnectionProvider(HotelServiceClientProperties.Pool pool) {
+        return ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getEvictInBackground())
+                .metrics(true)
+                .build();
+    }
+}
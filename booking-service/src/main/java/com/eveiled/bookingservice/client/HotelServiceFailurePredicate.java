@@ -0,0 +1,25 @@
+package com.eveiled.bookingservice.client;
+
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+/**
+ * Decides which hotel-service errors mean "the dependency is unhealthy": timeouts,
+ * connection errors and 5xx. Business answers (4xx) and expired caller deadlines are not
+ * counted. Used both as the retry filter and as the circuit breaker failure predicate.
+ */
+public class HotelServiceFailurePredicate implements Predicate<Throwable> {
+
+    @Override
+    public boolean test(Throwable error) {
+        if (error instanceof WebClientResponseException responseException) {
+            // 504 от hotel-service означает, что дедлайн уже истёк
+            return responseException.getStatusCode().is5xxServerError()
+                    && responseException.getStatusCode().value() != 504;
+        }
+        return error instanceof TimeoutException || error instanceof WebClientRequestException;
+    }
+}
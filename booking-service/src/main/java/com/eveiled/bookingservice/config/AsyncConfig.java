@@ -0,0 +1,33 @@
+package com.eveiled.bookingservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+
+    /**
+     * Set explicitly on {@link #bookingSagaExecutor}, the only executor that runs work on behalf of a request.
+     * Boot's applicationTaskExecutor backs off because that executor bean exists, and there is no {@code @Async};
+     * scheduled jobs start on their own, so they have no caller MDC to carry.
+     */
+    @Bean
+    public MdcTaskDecorator mdcTaskDecorator() {
+        return new MdcTaskDecorator();
+    }
+
+    @Bean
+    public TaskExecutor bookingSagaExecutor(@Value("${booking.async.max-concurrent-sagas:1000}") int maxConcurrentSagas,
+                                            MdcTaskDecorator mdcTaskDecorator) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("booking-saga-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(maxConcurrentSagas);
+        executor.setTaskDecorator(mdcTaskDecorator);
+        return executor;
+    }
+}
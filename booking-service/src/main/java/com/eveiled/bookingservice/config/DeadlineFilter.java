@@ -0,0 +1,42 @@
+package com.eveiled.bookingservice.config;
+
+import com.eveiled.bookingservice.util.DeadlineUtil;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Filter that exposes the caller's end-to-end deadline to outgoing hotel-service calls.
+ */
+@Component
+@Order(2)
+@Slf4j
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                  HttpServletResponse response,
+                                  FilterChain filterChain) throws ServletException, IOException {
+
+        try {
+            Instant deadline = DeadlineUtil.parse(request.getHeader(DeadlineUtil.DEADLINE_HEADER));
+            if (deadline != null) {
+                log.debug("Using request deadline: {}", deadline);
+                DeadlineUtil.setDeadline(deadline);
+            }
+
+            filterChain.doFilter(request, response);
+
+        } finally {
+            DeadlineUtil.clear();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.eveiled.bookingservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "hotel-service")
+public class HotelServiceClientProperties {
+
+    private String url = "lb://hotel-service";
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Negotiate HTTP/2 over cleartext (h2c) with fallback to HTTP/1.1.
+     */
+    private boolean http2 = false;
+
+    private Pool pool = new Pool();
+
+    private Timeouts timeouts = new Timeouts();
+
+    private Retry retry = new Retry();
+
+    @Data
+    public static class Pool {
+        private int maxConnections = 100;
+        private int pendingAcquireMaxCount = 500;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+        private Duration evictInBackground = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Timeouts {
+        private Duration confirmAvailability = Duration.ofSeconds(10);
+        private Duration release = Duration.ofSeconds(5);
+        private Duration incrementBookings = Duration.ofSeconds(5);
+        private Duration reserveAny = Duration.ofSeconds(10);
+        private Duration holdBatch = Duration.ofSeconds(10);
+    }
+
+    /**
+     * Exponential backoff with jitter; retries across all operations are additionally
+     * limited by a shared budget of {@code budgetRatio} retries per request.
+     */
+    @Data
+    public static class Retry {
+        private int maxRetries = 3;
+        private Duration minBackoff = Duration.ofMillis(100);
+        private Duration maxBackoff = Duration.ofSeconds(2);
+        private double jitter = 0.5;
+        private double budgetRatio = 0.2;
+        private int budgetMaxTokens = 10;
+    }
+}
@@ -0,0 +1,20 @@
+package com.eveiled.bookingservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "pagination")
+public class PaginationProperties {
+
+    private int defaultPageSize = 50;
+
+    private int maxPageSize = 200;
+
+    public int resolvePageSize(Integer requested) {
+        if (requested == null || requested < 1) {
+            return defaultPageSize;
+        }
+        return Math.min(requested, maxPageSize);
+    }
+}
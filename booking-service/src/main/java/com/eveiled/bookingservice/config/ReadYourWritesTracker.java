@@ -0,0 +1,58 @@
+package com.eveiled.bookingservice.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Users who have just written, for example created or cancelled a booking: their read-only
+ * transactions stay on the primary for {@code read-your-writes-window}, so they see their own
+ * changes even if the replica has not applied them yet. Does nothing while the replica is disabled.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReadYourWritesTracker {
+
+    private final ReplicaDataSourceProperties properties;
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    public void recordWrite(String username) {
+        if (!properties.isEnabled() || username == null) {
+            return;
+        }
+        // Окно не короче допустимого отставания: реплика с меньшим отставанием запись уже видит
+        long windowNanos = Math.max(properties.getReadYourWritesWindow().toNanos(), properties.getMaxLag().toNanos());
+        stickyUntil.put(username, System.nanoTime() + windowNanos);
+    }
+
+    public boolean isSticky(String username) {
+        Long until = username != null ? stickyUntil.get(username) : null;
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        stickyUntil.remove(username, until);
+        return false;
+    }
+
+    /**
+     * Whether the user of the current request has written within the window.
+     */
+    public boolean isCurrentUserSticky() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && isSticky(authentication.getName());
+    }
+
+    @Scheduled(fixedDelayString = "${booking.datasource.replica.sticky-cleanup-interval-ms:60000}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        stickyUntil.values().removeIf(until -> until - now <= 0);
+    }
+}
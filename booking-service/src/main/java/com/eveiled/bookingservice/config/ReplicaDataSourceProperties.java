@@ -0,0 +1,35 @@
+package com.eveiled.bookingservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Read replica used for {@code @Transactional(readOnly = true)} work when {@code enabled};
+ * see {@link ReplicaRoutingConfig}.
+ */
+@Data
+@ConfigurationProperties(prefix = "booking.datasource.replica")
+public class ReplicaDataSourceProperties {
+
+    private boolean enabled = false;
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    private int maximumPoolSize = 10;
+
+    /**
+     * Reads go back to the primary while the replica is further behind than this.
+     */
+    private Duration maxLag = Duration.ofSeconds(2);
+
+    /**
+     * How long the reads of a user stay on the primary after the user's own write.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+}
@@ -0,0 +1,103 @@
+package com.eveiled.bookingservice.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Measures replica lag with a heartbeat row: the primary stamps {@code replica_heartbeat} with
+ * the current time on every check, and the age of the stamp the replica has applied is how far
+ * behind it is, give or take one check interval. Until the first successful check, after a failed
+ * one, or while the lag exceeds {@code max-lag}, the replica is reported unusable and
+ * {@link ReadWriteRoutingDataSource} keeps reads on the primary.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final Duration maxLag;
+    private final Clock clock;
+
+    private volatile Duration lag;
+    private volatile boolean usable;
+    private boolean beating = true;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, Duration maxLag, MeterRegistry meterRegistry) {
+        this(primary, replica, maxLag, meterRegistry, Clock.systemUTC());
+    }
+
+    ReplicaLagMonitor(DataSource primary, DataSource replica, Duration maxLag, MeterRegistry meterRegistry, Clock clock) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLag = maxLag;
+        this.clock = clock;
+        Gauge.builder("booking.datasource.replica.lag", this,
+                        monitor -> monitor.lag != null ? monitor.lag.toMillis() / 1000.0 : Double.NaN)
+                .description("Seconds the read replica is behind the primary")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.datasource.replica.heartbeat-interval-ms:500}")
+    public void check() {
+        Instant now = clock.instant();
+        measureLag(now);
+        beat(now);
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    private void measureLag(Instant now) {
+        boolean wasUsable = usable;
+        try {
+            Timestamp appliedBeat = replica.query("SELECT beat_at FROM replica_heartbeat WHERE id = 1",
+                    rs -> rs.next() ? rs.getTimestamp(1) : null);
+            lag = appliedBeat != null ? Duration.between(appliedBeat.toInstant(), now) : null;
+            usable = lag != null && lag.compareTo(maxLag) <= 0;
+        } catch (DataAccessException e) {
+            lag = null;
+            usable = false;
+            if (wasUsable) {
+                log.warn("REPLICA_UNAVAILABLE: Routing reads to the primary: {}", e.getMessage());
+            }
+            return;
+        }
+        if (wasUsable && !usable) {
+            log.warn("REPLICA_LAGGING: Replica is {} behind (max {}), routing reads to the primary", lag, maxLag);
+        } else if (!wasUsable && usable) {
+            log.info("REPLICA_CAUGHT_UP: Replica is {} behind, routing reads to it", lag);
+        }
+    }
+
+    private void beat(Instant now) {
+        Timestamp beatAt = Timestamp.from(now);
+        try {
+            if (primary.update("UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1", beatAt) == 0) {
+                primary.update("INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?)", beatAt);
+            }
+        } catch (DataAccessException e) {
+            // Без новой отметки отставание реплики растет само и чтения уйдут на primary
+            if (beating) {
+                log.warn("REPLICA_HEARTBEAT_FAILED: {}", e.getMessage());
+            }
+            beating = false;
+            return;
+        }
+        if (!beating) {
+            log.info("REPLICA_HEARTBEAT_RESTORED: Primary is stamping replica_heartbeat again");
+        }
+        beating = true;
+    }
+}
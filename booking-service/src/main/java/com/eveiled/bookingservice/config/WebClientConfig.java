@@ -1,22 +1,26 @@
 package com.eveiled.bookingservice.config;
 
 import com.eveiled.bookingservice.util.CorrelationIdUtil;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.util.StringUtils;
 import org.springframework.web.reactive.function.client.ClientRequest;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 @Configuration
+@EnableConfigurationProperties(HotelServiceClientProperties.class)
 public class WebClientConfig {
 
     @Bean
     @LoadBalanced
     public WebClient.Builder webClientBuilder() {
         return WebClient.builder()
-                .filter((request, next) -> {
-                    String correlationId = CorrelationIdUtil.getCorrelationId();
+                .filter((request, next) -> Mono.deferContextual(context -> {
+                    String correlationId = context.getOrDefault(
+                            CorrelationIdUtil.MDC_CORRELATION_ID_KEY, CorrelationIdUtil.getCorrelationId());
                     if (StringUtils.hasText(correlationId)) {
                         return next.exchange(
                             ClientRequest.from(request)
@@ -25,6 +29,6 @@ public class WebClientConfig {
                         );
                     }
                     return next.exchange(request);
-                });
+                }));
     }
 }
@@ -2,15 +2,20 @@ package com.eveiled.bookingservice.controller;
 
 import com.eveiled.bookingservice.dto.BookingDto;
 import com.eveiled.bookingservice.dto.CreateBookingRequest;
+import com.eveiled.bookingservice.dto.CreateGroupBookingRequest;
 import com.eveiled.bookingservice.service.BookingService;
+import com.eveiled.bookingservice.util.CursorUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.net.URI;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/bookings")
@@ -21,11 +26,21 @@ public class BookingController {
     private final BookingService bookingService;
     
     @PostMapping
-    @Operation(summary = "Create a new booking", description = "Create a new booking for authenticated user")
+    @Operation(summary = "Create a new booking", description = "Create a new booking for authenticated user. With async=true returns 202 with a PENDING booking")
     public ResponseEntity<BookingDto> createBooking(@RequestBody CreateBookingRequest request, 
+                                                   @RequestParam(defaultValue = "false") boolean async,
                                                    Authentication authentication) {
         String username = authentication.getName();
         BookingDto booking;
+
+        if (async) {
+            booking = bookingService.createBookingAsync(request, username);
+            URI location = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                    .path("/{id}")
+                    .buildAndExpand(booking.getId())
+                    .toUri();
+            return ResponseEntity.accepted().location(location).body(booking);
+        }
         
         if (request.getAutoSelect() != null && request.getAutoSelect()) {
             booking = bookingService.createBookingWithAutoSelect(request, username);
@@ -36,12 +51,21 @@ public class BookingController {
         return ResponseEntity.ok(booking);
     }
     
+    @PostMapping("/group")
+    @Operation(summary = "Create a group booking", description = "Book several rooms for the same dates, all or nothing. Returns one booking per room, all CONFIRMED or all CANCELLED")
+    public ResponseEntity<List<BookingDto>> createGroupBooking(@RequestBody CreateGroupBookingRequest request,
+                                                               Authentication authentication) {
+        String username = authentication.getName();
+        return ResponseEntity.ok(bookingService.createGroupBooking(request, username));
+    }
+    
     @GetMapping
-    @Operation(summary = "Get user bookings", description = "Get all bookings for authenticated user")
-    public ResponseEntity<List<BookingDto>> getUserBookings(Authentication authentication) {
+    @Operation(summary = "Get user bookings", description = "Get bookings for authenticated user, newest first. The next page cursor is returned in the X-Next-Cursor header")
+    public ResponseEntity<List<BookingDto>> getUserBookings(@RequestParam(required = false) String cursor,
+                                                            @RequestParam(required = false) Integer size,
+                                                            Authentication authentication) {
         String username = authentication.getName();
-        List<BookingDto> bookings = bookingService.getUserBookings(username);
-        return ResponseEntity.ok(bookings);
+        return CursorUtil.toResponse(bookingService.getUserBookings(username, cursor, size));
     }
     
     @GetMapping("/{id}")
@@ -52,6 +76,16 @@ public class BookingController {
         BookingDto booking = bookingService.getBookingById(id, username);
         return ResponseEntity.ok(booking);
     }
+
+    @GetMapping(value = "/{id}", params = "waitSeconds")
+    @Operation(summary = "Wait for booking status", description = "Long-poll until the booking leaves PENDING status or the wait expires")
+    public CompletableFuture<ResponseEntity<BookingDto>> awaitBooking(@PathVariable Long id,
+                                                                      @RequestParam long waitSeconds,
+                                                                      Authentication authentication) {
+        String username = authentication.getName();
+        return bookingService.awaitBooking(id, username, waitSeconds)
+                .thenApply(ResponseEntity::ok);
+    }
     
     @DeleteMapping("/{id}")
     @Operation(summary = "Cancel booking", description = "Cancel a booking")
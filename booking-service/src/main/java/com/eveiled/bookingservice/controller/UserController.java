@@ -4,6 +4,7 @@ import com.eveiled.bookingservice.dto.RegisterRequest;
 import com.eveiled.bookingservice.dto.UserDto;
 import com.eveiled.bookingservice.entity.User;
 import com.eveiled.bookingservice.service.UserService;
+import com.eveiled.bookingservice.util.CursorUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -32,10 +33,10 @@ public class UserController {
     
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Get all users", description = "Only ADMIN can view all users")
-    public ResponseEntity<List<UserDto>> getAllUsers() {
-        List<UserDto> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
+    @Operation(summary = "Get all users", description = "Only ADMIN can view all users. Paged by id; the next page cursor is returned in the X-Next-Cursor header")
+    public ResponseEntity<List<UserDto>> getAllUsers(@RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer size) {
+        return CursorUtil.toResponse(userService.getAllUsers(cursor, size));
     }
     
     @GetMapping("/{id}")
@@ -0,0 +1,18 @@
+package com.eveiled.bookingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchHoldRequest {
+    private String requestId;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private List<Long> roomIds;
+}
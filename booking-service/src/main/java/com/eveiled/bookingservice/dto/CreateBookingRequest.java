@@ -14,4 +14,5 @@ public class CreateBookingRequest {
     private LocalDateTime startDate;
     private LocalDateTime endDate;
     private Boolean autoSelect = false;
+    private Long hotelId;
 }
@@ -0,0 +1,17 @@
+package com.eveiled.bookingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateGroupBookingRequest {
+    private List<Long> roomIds;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+}
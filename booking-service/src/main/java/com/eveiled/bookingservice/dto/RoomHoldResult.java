@@ -0,0 +1,22 @@
+package com.eveiled.bookingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomHoldResult {
+    private Long roomId;
+    private Status status;
+
+    public enum Status {
+        HELD,
+        NOT_FOUND,
+        UNAVAILABLE,
+        TAKEN,
+        // Номер свободен, но блокировка не сохранена, потому что не удалось взять другой номер группы
+        NOT_HELD
+    }
+}
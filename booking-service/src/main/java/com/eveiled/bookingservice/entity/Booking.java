@@ -2,27 +2,38 @@ package com.eveiled.bookingservice.entity;
 
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bookings")
-@Data
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_user_created", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_bookings_room_status_dates", columnList = "room_id, status, start_date, end_date"),
+        @Index(name = "idx_bookings_request", columnList = "request_id")
+})
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 public class Booking {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
+    @ToString.Exclude
     private User user;
     
-    @Column(nullable = false)
+    // Пусто, пока Hotel Service не выбрал номер для брони с автовыбором
+    @Column
     private Long roomId;
     
     @Column(nullable = false)
@@ -41,6 +52,19 @@ public class Booking {
     @Column
     private String requestId;
     
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof Booking other && id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Booking.class.hashCode();
+    }
+
     public enum Status {
         PENDING, CONFIRMED, CANCELLED
     }
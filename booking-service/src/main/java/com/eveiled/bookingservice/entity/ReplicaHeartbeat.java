@@ -0,0 +1,27 @@
+package com.eveiled.bookingservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Heartbeat row the primary stamps for {@link com.eveiled.bookingservice.config.ReplicaLagMonitor}, which reads and
+ * writes it with plain JDBC. Mapped only so that Hibernate creates the table in the default profile;
+ * in the prod profile it comes from migration {@code V3}.
+ */
+@Entity
+@Table(name = "replica_heartbeat")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplicaHeartbeat {
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private LocalDateTime beatAt;
+}
@@ -2,7 +2,10 @@ package com.eveiled.bookingservice.repository;
 
 import com.eveiled.bookingservice.entity.Booking;
 import com.eveiled.bookingservice.entity.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -14,9 +17,26 @@ import java.util.Optional;
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
     
-    List<Booking> findByUserOrderByCreatedAtDesc(User user);
+    List<Booking> findByUserOrderByCreatedAtDescIdDesc(User user, Pageable pageable);
+
+    // Keyset по (createdAt, id): страница начинается сразу за последней бронью предыдущей
+    @Query("SELECT b FROM Booking b WHERE b.user = :user " +
+           "AND (b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id)) " +
+           "ORDER BY b.createdAt DESC, b.id DESC")
+    List<Booking> findByUserAfter(@Param("user") User user,
+                                  @Param("createdAt") LocalDateTime createdAt,
+                                  @Param("id") Long id,
+                                  Pageable pageable);
     
     Optional<Booking> findByIdAndUser(Long id, User user);
+
+    /**
+     * Loads the booking with a row lock held until the transaction ends, so concurrent status
+     * transitions of the same booking run one after the other and each sees the other's result.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id = :id")
+    Optional<Booking> findByIdForUpdate(@Param("id") Long id);
     
     @Query("SELECT b FROM Booking b WHERE b.roomId = :roomId AND b.status = 'CONFIRMED' " +
            "AND ((b.startDate <= :endDate AND b.endDate >= :startDate))")
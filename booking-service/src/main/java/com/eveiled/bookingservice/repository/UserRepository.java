@@ -1,13 +1,17 @@
 package com.eveiled.bookingservice.repository;
 
 import com.eveiled.bookingservice.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     boolean existsByUsername(String username);
+
+    List<User> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 }
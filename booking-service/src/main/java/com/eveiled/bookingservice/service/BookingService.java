@@ -1,128 +1,199 @@
 package com.eveiled.bookingservice.service;
 
+import com.eveiled.bookingservice.client.HotelServiceClient;
+import com.eveiled.bookingservice.config.PaginationProperties;
+import com.eveiled.bookingservice.config.ReadYourWritesTracker;
 import com.eveiled.bookingservice.dto.AvailabilityRequest;
+import com.eveiled.bookingservice.dto.BatchHoldRequest;
+import com.eveiled.bookingservice.dto.BatchHoldResponse;
 import com.eveiled.bookingservice.dto.BookingDto;
 import com.eveiled.bookingservice.dto.CreateBookingRequest;
+import com.eveiled.bookingservice.dto.CreateGroupBookingRequest;
+import com.eveiled.bookingservice.dto.CursorPage;
+import com.eveiled.bookingservice.dto.ReserveRoomRequest;
 import com.eveiled.bookingservice.dto.RoomDto;
 import com.eveiled.bookingservice.entity.Booking;
 import com.eveiled.bookingservice.entity.User;
 import com.eveiled.bookingservice.mapper.BookingMapper;
 import com.eveiled.bookingservice.repository.BookingRepository;
 import com.eveiled.bookingservice.util.CorrelationIdUtil;
+import com.eveiled.bookingservice.util.CursorUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
-import reactor.core.publisher.Mono;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Booking saga orchestration. Deliberately not transactional as a whole: the PENDING insert,
+ * the hotel-service call and the final status update run in separate short transactions
+ * (see {@link BookingStateService}), so no JDBC connection is held while waiting on HTTP.
+ */
 @Service
 @RequiredArgsConstructor
-@Transactional
 @Slf4j
 public class BookingService {
     
     private final BookingRepository bookingRepository;
     private final BookingMapper bookingMapper;
     private final UserService userService;
-    private final WebClient.Builder webClientBuilder;
-    
-    @Value("${hotel-service.url}")
-    private String hotelServiceUrl;
+    private final HotelServiceClient hotelServiceClient;
+    private final BookingStateService bookingStateService;
+    private final TaskExecutor bookingSagaExecutor;
+    private final BookingStatusNotifier bookingStatusNotifier;
+    private final PaginationProperties paginationProperties;
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    @Value("${booking.async.max-wait-seconds:25}")
+    private long maxWaitSeconds;
     
     public BookingDto createBooking(CreateBookingRequest request, String username) {
-        String correlationId = CorrelationIdUtil.getCorrelationId();
-        log.info("BOOKING_PROCESS_START: Creating booking for user {} with request {} [correlationId={}]", 
-                username, request, correlationId);
+        Booking savedBooking = createPendingBooking(request, username, newRequestId());
+        Booking processedBooking = processBooking(savedBooking, false, username);
+        return bookingMapper.toDto(processedBooking);
+    }
+    
+    /**
+     * Hotel-service picks and holds a room in the same call, so the saga skips the separate
+     * availability confirmation. The PENDING booking is stored first, so a hold whose outcome
+     * is unknown can always be released by its requestId.
+     */
+    public BookingDto createBookingWithAutoSelect(CreateBookingRequest request, String username) {
+        log.info("Creating booking with auto-select for user {}", username);
+        Booking pendingBooking = createPendingBooking(request, username, newRequestId());
+        Booking savedBooking = reserveAnyRoom(pendingBooking, request);
+        Booking processedBooking = processBooking(savedBooking, true, username);
+        return bookingMapper.toDto(processedBooking);
+    }
+
+    /**
+     * Books several rooms for the same stay with a single hotel-service call: the rooms are held
+     * all or nothing, and the bookings share one requestId and are confirmed or cancelled together.
+     */
+    public List<BookingDto> createGroupBooking(CreateGroupBookingRequest request, String username) {
+        List<Long> roomIds = request.getRoomIds() == null ? List.of() : request.getRoomIds().stream().distinct().toList();
+        if (roomIds.isEmpty()) {
+            throw new RuntimeException("Group booking must contain at least one room");
+        }
+        String requestId = newRequestId();
+        log.info("GROUP_BOOKING_START: User {} booking rooms {} with request {}", username, roomIds, requestId);
         
         User user = userService.findByUsername(username);
-        String requestId = correlationId != null ? correlationId : UUID.randomUUID().toString();
-        
-        // 1: создание брони со статусом PENDING
-        Booking booking = new Booking();
-        booking.setUser(user);
-        booking.setRoomId(request.getRoomId());
-        booking.setStartDate(request.getStartDate());
-        booking.setEndDate(request.getEndDate());
-        booking.setStatus(Booking.Status.PENDING);
-        booking.setCreatedAt(LocalDateTime.now());
-        booking.setRequestId(requestId);
-        
-        Booking savedBooking = bookingRepository.save(booking);
+        List<Booking> pendingBookings = new ArrayList<>(roomIds.size());
+        for (Long roomId : roomIds) {
+            Booking booking = new Booking();
+            booking.setUser(user);
+            booking.setRoomId(roomId);
+            booking.setStartDate(request.getStartDate());
+            booking.setEndDate(request.getEndDate());
+            booking.setCreatedAt(LocalDateTime.now());
+            booking.setRequestId(requestId);
+            pendingBookings.add(booking);
+        }
+        List<Booking> savedBookings = bookingStateService.createPendingGroup(pendingBookings);
+        try {
+            return holdGroup(request, requestId, roomIds, savedBookings);
+        } finally {
+            readYourWritesTracker.recordWrite(username);
+        }
+    }
 
-        CorrelationIdUtil.setBookingId(savedBooking.getId());
-        
-        log.info("BOOKING_CREATED: Created booking {} in PENDING status for room {} [bookingId={}, correlationId={}]", 
-                savedBooking.getId(), request.getRoomId(), savedBooking.getId(), correlationId);
-        
+    private List<BookingDto> holdGroup(CreateGroupBookingRequest request, String requestId, List<Long> roomIds,
+                                       List<Booking> savedBookings) {
+        BatchHoldResponse response;
         try {
-            // 2: Подтверждение доступности номера через Hotel Service
-            log.info("AVAILABILITY_CHECK_START: Confirming availability for room {} with hotel service", request.getRoomId());
-            boolean confirmed = confirmAvailabilityWithHotelService(request.getRoomId(), requestId, 
-                    request.getStartDate(), request.getEndDate());
-            
-            if (confirmed) {
-                log.info("AVAILABILITY_CONFIRMED: Room {} is available, updating booking to CONFIRMED", request.getRoomId());
-                
-                // 3: Обновить статус до CONFIRMED
-                savedBooking.setStatus(Booking.Status.CONFIRMED);
-                bookingRepository.save(savedBooking);
-                
-                // 4: Увеличить каунтер бронирований номера
-                log.info("BOOKING_FINALIZING: Incrementing times booked for room {}", request.getRoomId());
-                incrementTimesBookedInHotelService(request.getRoomId());
-                
-                log.info("BOOKING_PROCESS_SUCCESS: Booking {} confirmed successfully", savedBooking.getId());
-            } else {
-                log.warn("AVAILABILITY_DECLINED: Room {} is not available, cancelling booking", request.getRoomId());
-                
-                // 3: Обновить статус до CANCELLED в случае недоступности номер
-                savedBooking.setStatus(Booking.Status.CANCELLED);
-                bookingRepository.save(savedBooking);
-                
-                log.warn("BOOKING_PROCESS_CANCELLED: Booking {} cancelled due to unavailability", savedBooking.getId());
-            }
+            response = hotelServiceClient.holdRooms(new BatchHoldRequest(requestId,
+                    request.getStartDate(), request.getEndDate(), roomIds)).block();
         } catch (Exception e) {
-            // 3: Обновить статус до CANCELLED в случае ошибки и убрать блокировку номера
-            log.error("BOOKING_PROCESS_ERROR: Error confirming booking {}: {}", savedBooking.getId(), e.getMessage());
-            
-            savedBooking.setStatus(Booking.Status.CANCELLED);
-            bookingRepository.save(savedBooking);
-
-            log.info("ROOM_RELEASE: Releasing room {} due to booking error", request.getRoomId());
-            releaseRoomInHotelService(request.getRoomId(), requestId);
-            
-            throw new RuntimeException("Failed to create booking: " + e.getMessage());
+            // Если запрос ушел в Hotel Service, блокировки могли встать - снимаем их через outbox
+            boolean attempted = !HotelServiceClient.isRejected(e);
+            log.error("GROUP_BOOKING_ERROR: Holding rooms {} for request {} failed: {}", roomIds, requestId, e.getMessage());
+            bookingStateService.markGroupCancelled(savedBookings, attempted);
+            throw new RuntimeException("Failed to create group booking: " + e.getMessage());
+        }
+        
+        if (response == null || !response.isHeld()) {
+            log.warn("GROUP_BOOKING_DECLINED: Rooms for request {} could not be held: {}", 
+                    requestId, response != null ? response.getRooms() : null);
+            return bookingMapper.toDtoList(bookingStateService.markGroupCancelled(savedBookings, false));
         }
         
-        return bookingMapper.toDto(savedBooking);
+        List<Booking> confirmedBookings = bookingStateService.markGroupConfirmed(savedBookings);
+        log.info("GROUP_BOOKING_SUCCESS: {} rooms booked for request {}", confirmedBookings.size(), requestId);
+        return bookingMapper.toDtoList(confirmedBookings);
     }
-    
-    public BookingDto createBookingWithAutoSelect(CreateBookingRequest request, String username) {
-        log.info("Creating booking with auto-select for user {}", username);
 
-        List<RoomDto> recommendedRooms = getRecommendedRoomsFromHotelService();
-        
-        if (recommendedRooms.isEmpty()) {
-            throw new RuntimeException("No available rooms found");
+    /**
+     * Persists the booking in PENDING status and hands the rest of the saga
+     * (room auto-select, confirm, increment, compensation) to the background executor once the insert
+     * is committed, so no hotel-service call is made on the request thread.
+     * Clients follow the outcome via {@link #awaitBooking(Long, String, long)}.
+     */
+    public BookingDto createBookingAsync(CreateBookingRequest request, String username) {
+        boolean autoSelect = Boolean.TRUE.equals(request.getAutoSelect());
+        Booking savedBooking = createPendingBooking(request, username, newRequestId());
+        BookingDto pendingBooking = bookingMapper.toDto(savedBooking);
+
+        bookingSagaExecutor.execute(() -> completeBookingAsync(savedBooking, request, autoSelect, username));
+
+        log.info("BOOKING_ACCEPTED: Booking {} accepted for asynchronous processing", savedBooking.getId());
+        return pendingBooking;
+    }
+
+    /**
+     * Long-poll variant of {@link #getBookingById(Long, String)}: completes as soon as the booking
+     * leaves PENDING status or after {@code waitSeconds} with the current state.
+     */
+    @Transactional(readOnly = true)
+    public CompletableFuture<BookingDto> awaitBooking(Long id, String username, long waitSeconds) {
+        CompletableFuture<BookingDto> completion = bookingStatusNotifier.subscribe(id);
+        BookingDto current;
+        try {
+            current = getBookingById(id, username);
+        } catch (RuntimeException e) {
+            bookingStatusNotifier.unsubscribe(id, completion);
+            throw e;
         }
 
-        RoomDto selectedRoom = recommendedRooms.get(0);
-        request.setRoomId(selectedRoom.getId());
-        
-        return createBooking(request, username);
+        long timeout = Math.min(waitSeconds, maxWaitSeconds);
+        if (current.getStatus() != Booking.Status.PENDING || timeout <= 0) {
+            bookingStatusNotifier.unsubscribe(id, completion);
+            return CompletableFuture.completedFuture(current);
+        }
+        return completion.completeOnTimeout(current, timeout, TimeUnit.SECONDS);
     }
     
     @Transactional(readOnly = true)
-    public List<BookingDto> getUserBookings(String username) {
+    public CursorPage<BookingDto> getUserBookings(String username, String cursor, Integer size) {
         User user = userService.findByUsername(username);
-        List<Booking> bookings = bookingRepository.findByUserOrderByCreatedAtDesc(user);
-        return bookingMapper.toDtoList(bookings);
+        int pageSize = paginationProperties.resolvePageSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<Booking> bookings;
+        if (cursor == null || cursor.isBlank()) {
+            bookings = bookingRepository.findByUserOrderByCreatedAtDescIdDesc(user, limit);
+        } else {
+            String[] keys = CursorUtil.decode(cursor, 2);
+            try {
+                bookings = bookingRepository.findByUserAfter(user, LocalDateTime.parse(keys[0]), Long.parseLong(keys[1]), limit);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+        }
+        return CursorPage.of(bookings, pageSize, bookingMapper::toDtoList,
+                booking -> CursorUtil.encode(booking.getCreatedAt(), booking.getId()));
     }
     
     @Transactional(readOnly = true)
@@ -144,88 +215,167 @@ public class BookingService {
         Booking booking = bookingRepository.findByIdAndUser(id, user)
                 .orElseThrow(() -> new RuntimeException("Booking not found with id: " + id));
         
-        if (booking.getStatus() == Booking.Status.CONFIRMED) {
-            log.info("ROOM_RELEASE: Releasing room {} for cancelled booking", booking.getRoomId());
-            releaseRoomInHotelService(booking.getRoomId(), booking.getRequestId());
-        }
-        
-        booking.setStatus(Booking.Status.CANCELLED);
-        bookingRepository.save(booking);
+        // Сама отмена - одна короткая транзакция в BookingStateService; снимать ли блокировку номера,
+        // решается там по статусу заблокированной строки
+        bookingStateService.markCancelled(booking, false);
+        readYourWritesTracker.recordWrite(username);
         
         log.info("BOOKING_CANCELLATION_SUCCESS: Booking {} cancelled by user {} [bookingId={}, correlationId={}]", 
                 id, username, id, correlationId);
     }
     
-    private boolean confirmAvailabilityWithHotelService(Long roomId, String requestId, 
-                                                      LocalDateTime startDate, LocalDateTime endDate) {
+    private String newRequestId() {
+        String correlationId = CorrelationIdUtil.getCorrelationId();
+        return correlationId != null ? correlationId : UUID.randomUUID().toString();
+    }
+    
+    private Booking createPendingBooking(CreateBookingRequest request, String username, String requestId) {
+        String correlationId = CorrelationIdUtil.getCorrelationId();
+        log.info("BOOKING_PROCESS_START: Creating booking for user {} with request {} [correlationId={}]", 
+                username, request, correlationId);
+        
+        User user = userService.findByUsername(username);
+        
+        // 1: создание брони со статусом PENDING
+        Booking booking = new Booking();
+        booking.setUser(user);
+        booking.setRoomId(request.getRoomId());
+        booking.setStartDate(request.getStartDate());
+        booking.setEndDate(request.getEndDate());
+        booking.setCreatedAt(LocalDateTime.now());
+        booking.setRequestId(requestId);
+        
+        Booking savedBooking = bookingStateService.createPending(booking);
+        readYourWritesTracker.recordWrite(username);
+
+        CorrelationIdUtil.setBookingId(savedBooking.getId());
+        
+        log.info("BOOKING_CREATED: Created booking {} in PENDING status for room {} [bookingId={}, correlationId={}]", 
+                savedBooking.getId(), request.getRoomId(), savedBooking.getId(), correlationId);
+        return savedBooking;
+    }
+
+    private Booking processBooking(Booking savedBooking, boolean roomHeld, String username) {
+        Long roomId = savedBooking.getRoomId();
         try {
-            AvailabilityRequest availabilityRequest = new AvailabilityRequest();
-            availabilityRequest.setRequestId(requestId);
-            availabilityRequest.setStartDate(startDate);
-            availabilityRequest.setEndDate(endDate);
-            
-            Boolean result = webClientBuilder.build()
-                    .post()
-                    .uri(hotelServiceUrl + "/api/rooms/{id}/confirm-availability", roomId)
-                    .bodyValue(availabilityRequest)
-                    .retrieve()
-                    .bodyToMono(Boolean.class)
-                    .timeout(java.time.Duration.ofSeconds(10))
-                    .retry(3)
-                    .block();
+            // 2: Подтверждение доступности номера через Hotel Service (при автовыборе номер уже заблокирован)
+            boolean confirmed = roomHeld;
+            if (!roomHeld) {
+                log.info("AVAILABILITY_CHECK_START: Confirming availability for room {} with hotel service", roomId);
+                confirmed = confirmAvailabilityWithHotelService(roomId, savedBooking.getRequestId(), 
+                        savedBooking.getStartDate(), savedBooking.getEndDate());
+            }
             
-            return result != null && result;
+            if (confirmed) {
+                log.info("AVAILABILITY_CONFIRMED: Room {} is available, updating booking to CONFIRMED", roomId);
+                
+                // 3: Обновить статус до CONFIRMED; 4: увеличение каунтера бронирований номера
+                // уходит в outbox в той же транзакции и доставляется OutboxDispatcher
+                Booking confirmedBooking = bookingStateService.markConfirmed(savedBooking);
+                
+                log.info("BOOKING_PROCESS_SUCCESS: Booking {} confirmed successfully", savedBooking.getId());
+                return confirmedBooking;
+            } else {
+                log.warn("AVAILABILITY_DECLINED: Room {} is not available, cancelling booking", roomId);
+                
+                // 3: Обновить статус до CANCELLED в случае недоступности номер
+                Booking cancelledBooking = bookingStateService.markCancelled(savedBooking, false);
+                
+                log.warn("BOOKING_PROCESS_CANCELLED: Booking {} cancelled due to unavailability", savedBooking.getId());
+                return cancelledBooking;
+            }
         } catch (Exception e) {
-            log.error("Error confirming availability for room {}: {}", roomId, e.getMessage());
-            return false;
+            // 3: Обновить статус до CANCELLED в случае ошибки и убрать блокировку номера
+            log.error("BOOKING_PROCESS_ERROR: Error confirming booking {}: {}", savedBooking.getId(), e.getMessage());
+            
+            log.info("ROOM_RELEASE: Scheduling release of room {} due to booking error", roomId);
+            bookingStateService.markCancelled(savedBooking, true);
+            
+            throw new RuntimeException("Failed to create booking: " + e.getMessage());
+        } finally {
+            // Итоговый статус пользователь должен увидеть сразу, даже если реплика еще его не получила.
+            // Имя берем у вызывающего: после assignRoom бронь перечитана, и ее user - непрогруженный прокси
+            readYourWritesTracker.recordWrite(username);
         }
     }
-    
-    private void releaseRoomInHotelService(Long roomId, String requestId) {
+
+    private void completeBookingAsync(Booking booking, CreateBookingRequest request, boolean autoSelect, String username) {
+        CorrelationIdUtil.setBookingId(booking.getId());
+        Booking result = booking;
         try {
-            webClientBuilder.build()
-                    .post()
-                    .uri(hotelServiceUrl + "/api/rooms/{id}/release?requestId={requestId}", roomId, requestId)
-                    .retrieve()
-                    .bodyToMono(Void.class)
-                    .timeout(java.time.Duration.ofSeconds(5))
-                    .retry(2)
-                    .block();
+            // Неудачный автовыбор сам отменяет бронь, так что ниже остается лишь перечитать ее
+            Booking pendingBooking = autoSelect ? reserveAnyRoom(booking, request) : booking;
+            result = processBooking(pendingBooking, autoSelect, username);
         } catch (Exception e) {
-            log.error("Error releasing room {}: {}", roomId, e.getMessage());
+            log.error("BOOKING_ASYNC_FAILED: Asynchronous saga for booking {} failed: {}", booking.getId(), e.getMessage());
+            result = bookingRepository.findById(booking.getId()).orElse(booking);
+        } finally {
+            bookingStatusNotifier.publish(bookingMapper.toDto(result));
         }
     }
-    
-    private void incrementTimesBookedInHotelService(Long roomId) {
+
+    // Только пустой ответ значит "свободных номеров нет"; при любой ошибке блокировка могла встать,
+    // поэтому бронь отменяется со снятием блокировки по requestId через outbox
+    private Booking reserveAnyRoom(Booking savedBooking, CreateBookingRequest request) {
+        String requestId = savedBooking.getRequestId();
+        RoomDto reservedRoom;
         try {
-            webClientBuilder.build()
-                    .post()
-                    .uri(hotelServiceUrl + "/api/rooms/{id}/increment-bookings", roomId)
-                    .retrieve()
-                    .bodyToMono(Void.class)
-                    .timeout(java.time.Duration.ofSeconds(5))
-                    .retry(2)
-                    .block();
+            reservedRoom = reserveAnyRoomInHotelService(requestId, request);
+        } catch (RuntimeException e) {
+            log.error("ROOM_AUTO_SELECT_ERROR: Reserving a room for booking {} failed: {}", savedBooking.getId(), e.getMessage());
+            bookingStateService.markCancelled(savedBooking, true);
+            throw e;
+        }
+        
+        if (reservedRoom == null) {
+            log.warn("ROOM_AUTO_SELECT_DECLINED: No free room for booking {}", savedBooking.getId());
+            bookingStateService.markCancelled(savedBooking, false);
+            throw new RuntimeException("No available rooms found");
+        }
+
+        log.info("ROOM_AUTO_SELECTED: Room {} reserved for request {}", reservedRoom.getId(), requestId);
+        request.setRoomId(reservedRoom.getId());
+        return bookingStateService.assignRoom(savedBooking, reservedRoom.getId());
+    }
+
+    // false - только явный отказ Hotel Service или вызов, который не отправлялся вовсе; таймаут, истекший дедлайн
+    // и прочие ошибки пробрасываются: блокировка могла встать, и processBooking отменяет бронь с ее снятием
+    private boolean confirmAvailabilityWithHotelService(Long roomId, String requestId, 
+                                                      LocalDateTime startDate, LocalDateTime endDate) {
+        AvailabilityRequest availabilityRequest = new AvailabilityRequest();
+        availabilityRequest.setRequestId(requestId);
+        availabilityRequest.setStartDate(startDate);
+        availabilityRequest.setEndDate(endDate);
+        
+        Boolean result;
+        try {
+            result = hotelServiceClient.confirmAvailability(roomId, availabilityRequest).block();
         } catch (Exception e) {
-            log.error("Error incrementing times booked for room {}: {}", roomId, e.getMessage());
+            if (HotelServiceClient.isRejected(e)) {
+                log.warn("HOTEL_SERVICE_UNAVAILABLE: Failing fast for room {}: {}", roomId, e.getMessage());
+                return false;
+            }
+            log.error("Error confirming availability for room {}: {}", roomId, e.getMessage());
+            throw e;
+        }
+        
+        if (result == null) {
+            throw new RuntimeException("Hotel service returned no availability answer for room " + roomId);
         }
+        return result;
     }
     
-    private List<RoomDto> getRecommendedRoomsFromHotelService() {
+    private RoomDto reserveAnyRoomInHotelService(String requestId, CreateBookingRequest request) {
         try {
-            RoomDto[] rooms = webClientBuilder.build()
-                    .get()
-                    .uri(hotelServiceUrl + "/api/rooms/recommend")
-                    .retrieve()
-                    .bodyToMono(RoomDto[].class)
-                    .timeout(java.time.Duration.ofSeconds(10))
-                    .retry(3)
-                    .block();
+            ReserveRoomRequest reserveRoomRequest = new ReserveRoomRequest(requestId,
+                    request.getStartDate(), request.getEndDate(), request.getHotelId());
             
-            return rooms != null ? List.of(rooms) : List.of();
+            return hotelServiceClient.reserveAnyRoom(reserveRoomRequest).block();
         } catch (Exception e) {
-            log.error("Error getting recommended rooms: {}", e.getMessage());
-            return List.of();
+            if (HotelServiceClient.isRejected(e)) {
+                throw new RuntimeException("Hotel service is temporarily unavailable");
+            }
+            throw new RuntimeException("Failed to reserve a room: " + e.getMessage());
         }
     }
 }
@@ -0,0 +1,89 @@
+package com.eveiled.bookingservice.service;
+
+import com.eveiled.bookingservice.entity.Booking;
+import com.eveiled.bookingservice.entity.OutboxEvent;
+import com.eveiled.bookingservice.repository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Short transactions for the booking saga. Each status transition is committed atomically with
+ * the outbox entry for the hotel-service call it implies; no transaction spans a remote call.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class BookingStateService {
+
+    private final BookingRepository bookingRepository;
+    private final OutboxService outboxService;
+
+    public Booking createPending(Booking booking) {
+        booking.setStatus(Booking.Status.PENDING);
+        return bookingRepository.save(booking);
+    }
+
+    public Booking markConfirmed(Booking booking) {
+        Booking current = findBooking(booking.getId());
+
+        // Бронь могли отменить, пока шел запрос в Hotel Service - тогда снимаем полученную блокировку
+        if (current.getStatus() == Booking.Status.CANCELLED) {
+            log.warn("BOOKING_CANCELLED_DURING_CONFIRMATION: Booking {} was cancelled while confirming, releasing room {}",
+                    current.getId(), current.getRoomId());
+            outboxService.enqueue(OutboxEvent.Type.RELEASE_ROOM, current);
+            return current;
+        }
+
+        current.setStatus(Booking.Status.CONFIRMED);
+        outboxService.enqueue(OutboxEvent.Type.INCREMENT_TIMES_BOOKED, current);
+        return current;
+    }
+
+    /**
+     * Records the room hotel-service picked for an auto-select booking.
+     */
+    public Booking assignRoom(Booking booking, Long roomId) {
+        Booking current = findBooking(booking.getId());
+        current.setRoomId(roomId);
+        return current;
+    }
+
+    /**
+     * Cancels the booking. The room is released if {@code releaseHold} says the saga may own a hold,
+     * and always if the booking is confirmed by the time its row lock is taken.
+     */
+    public Booking markCancelled(Booking booking, boolean releaseHold) {
+        Booking current = findBooking(booking.getId());
+        if (releaseHold || current.getStatus() == Booking.Status.CONFIRMED) {
+            log.info("ROOM_RELEASE: Scheduling release of room {} for cancelled booking {}", current.getRoomId(), current.getId());
+            outboxService.enqueue(OutboxEvent.Type.RELEASE_ROOM, current);
+        }
+        current.setStatus(Booking.Status.CANCELLED);
+        return current;
+    }
+
+    public List<Booking> createPendingGroup(List<Booking> bookings) {
+        bookings.forEach(booking -> booking.setStatus(Booking.Status.PENDING));
+        return bookingRepository.saveAll(bookings);
+    }
+
+    // Брони группы меняют статус одной транзакцией: вместе с записями outbox для каждого номера
+    public List<Booking> markGroupConfirmed(List<Booking> bookings) {
+        return bookings.stream().map(this::markConfirmed).toList();
+    }
+
+    public List<Booking> markGroupCancelled(List<Booking> bookings, boolean releaseHold) {
+        return bookings.stream().map(booking -> markCancelled(booking, releaseHold)).toList();
+    }
+
+    // Блокировка строки до конца транзакции: подтверждение и отмена одной брони не затирают друг друга
+    private Booking findBooking(Long id) {
+        return bookingRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new RuntimeException("Booking not found with id: " + id));
+    }
+}
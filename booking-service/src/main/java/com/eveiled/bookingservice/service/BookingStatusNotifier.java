@@ -0,0 +1,40 @@
+package com.eveiled.bookingservice.service;
+
+import com.eveiled.bookingservice.dto.BookingDto;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps long-poll waiters for bookings whose saga is still running
+ * and completes them once the booking reaches its final status.
+ */
+@Component
+public class BookingStatusNotifier {
+
+    private final ConcurrentMap<Long, Set<CompletableFuture<BookingDto>>> waiters = new ConcurrentHashMap<>();
+
+    public CompletableFuture<BookingDto> subscribe(Long bookingId) {
+        CompletableFuture<BookingDto> future = new CompletableFuture<>();
+        waiters.computeIfAbsent(bookingId, id -> ConcurrentHashMap.newKeySet()).add(future);
+        future.whenComplete((result, error) -> unsubscribe(bookingId, future));
+        return future;
+    }
+
+    public void unsubscribe(Long bookingId, CompletableFuture<BookingDto> future) {
+        waiters.computeIfPresent(bookingId, (id, futures) -> {
+            futures.remove(future);
+            return futures.isEmpty() ? null : futures;
+        });
+    }
+
+    public void publish(BookingDto booking) {
+        Set<CompletableFuture<BookingDto>> futures = waiters.remove(booking.getId());
+        if (futures != null) {
+            futures.forEach(future -> future.complete(booking));
+        }
+    }
+}
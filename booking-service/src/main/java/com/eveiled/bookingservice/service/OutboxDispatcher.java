@@ -0,0 +1,152 @@
+package com.eveiled.bookingservice.service;
+
+import com.eveiled.bookingservice.client.HotelServiceClient;
+import com.eveiled.bookingservice.entity.OutboxEvent;
+import com.eveiled.bookingservice.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers pending outbox entries to hotel-service in batches. Hotel-service treats every call
+ * as idempotent (requestId-conditioned updates plus the {@code Idempotency-Key} header), so an
+ * entry may safely be delivered more than once, e.g. after a crash between the call and the
+ * status update or when several booking-service instances poll the same table.
+ */
+@Component
+@Slf4j
+public class OutboxDispatcher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final HotelServiceClient hotelServiceClient;
+    private final Counter deliveredCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+
+    @Value("${booking.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${booking.outbox.concurrency:16}")
+    private int concurrency;
+
+    @Value("${booking.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${booking.outbox.min-backoff:1s}")
+    private Duration minBackoff;
+
+    @Value("${booking.outbox.max-backoff:5m}")
+    private Duration maxBackoff;
+
+    @Value("${booking.outbox.retention:1d}")
+    private Duration retention;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                            HotelServiceClient hotelServiceClient,
+                            MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.hotelServiceClient = hotelServiceClient;
+        this.deliveredCounter = meterRegistry.counter("booking.outbox.events", "outcome", "delivered");
+        this.retriedCounter = meterRegistry.counter("booking.outbox.events", "outcome", "retried");
+        this.failedCounter = meterRegistry.counter("booking.outbox.events", "outcome", "failed");
+        Gauge.builder("booking.outbox.pending", outboxEventRepository,
+                        repository -> repository.countByStatus(OutboxEvent.Status.PENDING))
+                .description("Outbox events waiting for delivery to hotel-service")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.outbox.poll-interval-ms:500}")
+    public void dispatchPending() {
+        List<OutboxEvent> batch = outboxEventRepository.findDue(LocalDateTime.now(), PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        // Разные запросы доставляются параллельно, события одного запроса - строго по порядку id,
+        // иначе снятие блокировки может прийти в Hotel Service раньше увеличения счетчика
+        Map<String, List<OutboxEvent>> byRequest = batch.stream()
+                .collect(Collectors.groupingBy(OutboxEvent::getRequestId, LinkedHashMap::new, Collectors.toList()));
+        Flux.fromIterable(byRequest.values())
+                .flatMap(events -> Flux.fromIterable(events).concatMap(this::deliver), concurrency)
+                .then()
+                .block();
+
+        outboxEventRepository.saveAll(batch);
+        log.debug("OUTBOX_BATCH: Processed {} outbox events", batch.size());
+    }
+
+    @Scheduled(fixedDelayString = "${booking.outbox.cleanup-interval-ms:3600000}")
+    public void purgeDelivered() {
+        int deleted = outboxEventRepository.deleteSentBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("OUTBOX_PURGED: Deleted {} delivered outbox events", deleted);
+        }
+    }
+
+    private Mono<Void> deliver(OutboxEvent event) {
+        return send(event)
+                .doOnSuccess(ignored -> markSent(event))
+                .onErrorResume(error -> {
+                    markFailedAttempt(event, error);
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> send(OutboxEvent event) {
+        return switch (event.getType()) {
+            case RELEASE_ROOM -> event.getRoomId() != null
+                    ? hotelServiceClient.releaseRoom(event.getRoomId(), event.getRequestId(), event.getIdempotencyKey())
+                    : hotelServiceClient.releaseRequest(event.getRequestId(), event.getIdempotencyKey());
+            case INCREMENT_TIMES_BOOKED -> hotelServiceClient.incrementTimesBooked(
+                    event.getRoomId(), event.getRequestId(), event.getIdempotencyKey());
+        };
+    }
+
+    private void markSent(OutboxEvent event) {
+        event.setStatus(OutboxEvent.Status.SENT);
+        event.setSentAt(LocalDateTime.now());
+        event.setLastError(null);
+        deliveredCounter.increment();
+        log.info("OUTBOX_DELIVERED: {} for room {} [bookingId={}, attempts={}]",
+                event.getType(), event.getRoomId(), event.getBookingId(), event.getAttempts() + 1);
+    }
+
+    private void markFailedAttempt(OutboxEvent event, Throwable error) {
+        event.setAttempts(event.getAttempts() + 1);
+        event.setLastError(abbreviate(error.toString()));
+
+        if (event.getAttempts() >= maxAttempts) {
+            event.setStatus(OutboxEvent.Status.FAILED);
+            failedCounter.increment();
+            log.error("OUTBOX_FAILED: Giving up on {} for room {} after {} attempts [bookingId={}]: {}",
+                    event.getType(), event.getRoomId(), event.getAttempts(), event.getBookingId(), error.getMessage());
+            return;
+        }
+
+        // Экспоненциальная задержка между попытками: minBackoff * 2^(attempts - 1), но не больше maxBackoff
+        long backoffMillis = minBackoff.toMillis() << Math.min(event.getAttempts() - 1, 20);
+        Duration backoff = Duration.ofMillis(Math.min(backoffMillis, maxBackoff.toMillis()));
+        event.setNextAttemptAt(LocalDateTime.now().plus(backoff));
+        retriedCounter.increment();
+        log.warn("OUTBOX_RETRY: {} for room {} failed (attempt {}), next attempt in {} [bookingId={}]: {}",
+                event.getType(), event.getRoomId(), event.getAttempts(), backoff, event.getBookingId(), error.getMessage());
+    }
+
+    private static String abbreviate(String message) {
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
@@ -0,0 +1,51 @@
+package com.eveiled.bookingservice.service;
+
+import com.eveiled.bookingservice.entity.Booking;
+import com.eveiled.bookingservice.entity.OutboxEvent;
+import com.eveiled.bookingservice.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    /**
+     * Records a hotel-service call to be delivered by {@link OutboxDispatcher}.
+     * Must run inside the transaction that changes the booking status, so the call
+     * is delivered if and only if the status change is committed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(OutboxEvent.Type type, Booking booking) {
+        // Брони группы делят requestId, поэтому ключ различает их по номеру
+        String idempotencyKey = type.name() + ":" + booking.getRequestId() + ":" + booking.getRoomId();
+        if (outboxEventRepository.existsByIdempotencyKey(idempotencyKey)) {
+            log.info("OUTBOX_DUPLICATE: Event {} already recorded for booking {}", idempotencyKey, booking.getId());
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        OutboxEvent event = new OutboxEvent();
+        event.setType(type);
+        event.setBookingId(booking.getId());
+        event.setRoomId(booking.getRoomId());
+        event.setRequestId(booking.getRequestId());
+        event.setIdempotencyKey(idempotencyKey);
+        event.setStatus(OutboxEvent.Status.PENDING);
+        event.setAttempts(0);
+        event.setNextAttemptAt(now);
+        event.setCreatedAt(now);
+        outboxEventRepository.save(event);
+
+        log.info("OUTBOX_ENQUEUED: {} for room {} [bookingId={}, requestId={}]",
+                type, booking.getRoomId(), booking.getId(), booking.getRequestId());
+    }
+}
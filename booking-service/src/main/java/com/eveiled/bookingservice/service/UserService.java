@@ -1,14 +1,19 @@
 package com.eveiled.bookingservice.service;
 
+import com.eveiled.bookingservice.config.PaginationProperties;
+import com.eveiled.bookingservice.config.ReadYourWritesTracker;
 import com.eveiled.bookingservice.dto.AuthResponse;
+import com.eveiled.bookingservice.dto.CursorPage;
 import com.eveiled.bookingservice.dto.LoginRequest;
 import com.eveiled.bookingservice.dto.RegisterRequest;
 import com.eveiled.bookingservice.dto.UserDto;
 import com.eveiled.bookingservice.entity.User;
 import com.eveiled.bookingservice.mapper.BookingMapper;
 import com.eveiled.bookingservice.repository.UserRepository;
+import com.eveiled.bookingservice.util.CursorUtil;
 import com.eveiled.bookingservice.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -30,6 +35,8 @@ public class UserService implements UserDetailsService {
     private final BookingMapper bookingMapper;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final PaginationProperties paginationProperties;
+    private final ReadYourWritesTracker readYourWritesTracker;
 
     public void create(RegisterRequest request) {
         if (userRepository.existsByUsername(request.getUsername())) {
@@ -55,6 +62,8 @@ public class UserService implements UserDetailsService {
         user.setRole(User.Role.USER);
         
         User savedUser = userRepository.save(user);
+        // С выданным токеном пользователь сразу бронирует - на реплике его может еще не быть
+        readYourWritesTracker.recordWrite(savedUser.getUsername());
         String token = jwtUtil.generateToken(request.getUsername(), request.getRole().name());
         
         UserDto userDto = bookingMapper.toUserDto(savedUser);
@@ -76,11 +85,13 @@ public class UserService implements UserDetailsService {
     }
     
     @Transactional(readOnly = true)
-    public List<UserDto> getAllUsers() {
-        List<User> users = userRepository.findAll();
-        return users.stream()
-                .map(bookingMapper::toUserDto)
-                .toList();
+    public CursorPage<UserDto> getAllUsers(String cursor, Integer size) {
+        int pageSize = paginationProperties.resolvePageSize(size);
+        List<User> users = userRepository.findByIdGreaterThanOrderByIdAsc(
+                CursorUtil.decodeId(cursor), PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(users, pageSize,
+                page -> page.stream().map(bookingMapper::toUserDto).toList(),
+                user -> CursorUtil.encode(user.getId()));
     }
     
     @Transactional(readOnly = true)
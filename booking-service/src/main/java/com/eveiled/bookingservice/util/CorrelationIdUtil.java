@@ -2,6 +2,7 @@ package com.eveiled.bookingservice.util;
 
 import org.slf4j.MDC;
 import org.springframework.util.StringUtils;
+import reactor.util.context.Context;
 
 import java.util.UUID;
 
@@ -35,6 +36,17 @@ public class CorrelationIdUtil {
         return MDC.get(MDC_BOOKING_ID_KEY);
     }
 
+    /**
+     * Snapshot of the current correlation ID as a Reactor context. MDC is thread-bound, so reactive
+     * calls that resubscribe on Netty threads (retries, timeouts) must carry the ID in the context instead.
+     */
+    public static Context captureContext() {
+        String correlationId = getCorrelationId();
+        return StringUtils.hasText(correlationId)
+                ? Context.of(MDC_CORRELATION_ID_KEY, correlationId)
+                : Context.empty();
+    }
+
     public static void clear() {
         MDC.remove(MDC_CORRELATION_ID_KEY);
         MDC.remove(MDC_BOOKING_ID_KEY);
@@ -0,0 +1,67 @@
+package com.eveiled.bookingservice.util;
+
+import com.eveiled.bookingservice.dto.CursorPage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Opaque keyset cursors: the sort key of the last returned row, Base64url-encoded.
+ * The next page is returned in the {@value #NEXT_CURSOR_HEADER} header and is absent on the last page.
+ * <p>
+ * Deliberately not shared with hotel-service, which has its own copy: clients never pass a cursor from one
+ * service to the other. Cursors issued here are {@code id} (users) and {@code createdAt|id} (bookings,
+ * {@code createdAt} in ISO-8601).
+ */
+public class CursorUtil {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String SEPARATOR = "|";
+
+    public static String encode(Object... keys) {
+        String raw = Arrays.stream(keys).map(String::valueOf).collect(Collectors.joining(SEPARATOR));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decode(String cursor, int expectedKeys) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] keys = raw.split("\\|", -1);
+            if (keys.length == expectedKeys) {
+                return keys;
+            }
+        } catch (IllegalArgumentException e) {
+            // Некорректный Base64 - отвечаем так же, как на любой чужой курсор
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+    }
+
+    /**
+     * Id after which the page starts; 0 for the first page.
+     */
+    public static long decodeId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(decode(cursor, 1)[0]);
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    public static <T> ResponseEntity<List<T>> toResponse(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+}
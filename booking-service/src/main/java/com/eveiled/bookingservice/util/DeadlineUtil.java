@@ -0,0 +1,50 @@
+package com.eveiled.bookingservice.util;
+
+import org.springframework.util.StringUtils;
+
+import java.time.Instant;
+
+/**
+ * End-to-end request deadline, carried between services as epoch milliseconds
+ * in the {@value #DEADLINE_HEADER} header.
+ */
+public class DeadlineUtil {
+
+    public static final String DEADLINE_HEADER = "X-Request-Deadline";
+
+    private static final ThreadLocal<Instant> DEADLINE = new ThreadLocal<>();
+
+    public static Instant parse(String headerValue) {
+        if (!StringUtils.hasText(headerValue)) {
+            return null;
+        }
+        try {
+            return Instant.ofEpochMilli(Long.parseLong(headerValue.trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public static String format(Instant deadline) {
+        return String.valueOf(deadline.toEpochMilli());
+    }
+
+    public static void setDeadline(Instant deadline) {
+        if (deadline != null) {
+            DEADLINE.set(deadline);
+        }
+    }
+
+    public static Instant getDeadline() {
+        return DEADLINE.get();
+    }
+
+    public static boolean isExpired() {
+        Instant deadline = DEADLINE.get();
+        return deadline != null && !Instant.now().isBefore(deadline);
+    }
+
+    public static void clear() {
+        DEADLINE.remove();
+    }
+}
@@ -3,3 +3,6 @@
 INSERT INTO users (id, username, password, role) VALUES (1, 'admin', '$2a$10$ZwyIwc1AUcziQpbzjfLIEeSOEIVbkSszVXwHuTXVhS1Fs4rEWEFyK', 'ADMIN');
 INSERT INTO users (id, username, password, role) VALUES (2, 'user1', '$2a$10$ZwyIwc1AUcziQpbzjfLIEeSOEIVbkSszVXwHuTXVhS1Fs4rEWEFyK', 'USER');
 INSERT INTO users (id, username, password, role) VALUES (3, 'user2', '$2a$10$ZwyIwc1AUcziQpbzjfLIEeSOEIVbkSszVXwHuTXVhS1Fs4rEWEFyK', 'USER');
+
+-- id заданы явно, поэтому последовательность сдвигается за них (блоки Hibernate выдаются по 50)
+ALTER SEQUENCE users_seq RESTART WITH 101;
@@ -0,0 +1,46 @@
+-- Исходная схема booking-service в том виде, в каком ее создавал Hibernate (ddl-auto)
+
+-- Hibernate берет id блоками по 50 (allocationSize); 1-100 оставлены под явные id начальных пользователей
+CREATE SEQUENCE users_seq START WITH 101 INCREMENT BY 50;
+CREATE SEQUENCE bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE outbox_events_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id       BIGINT       NOT NULL PRIMARY KEY,
+    username VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role     VARCHAR(255) NOT NULL CHECK (role IN ('USER', 'ADMIN')),
+    CONSTRAINT uk_users_username UNIQUE (username)
+);
+
+CREATE TABLE bookings (
+    id         BIGINT       NOT NULL PRIMARY KEY,
+    user_id    BIGINT       NOT NULL,
+    room_id    BIGINT       NOT NULL,
+    start_date TIMESTAMP(6) NOT NULL,
+    end_date   TIMESTAMP(6) NOT NULL,
+    status     VARCHAR(255) NOT NULL CHECK (status IN ('PENDING', 'CONFIRMED', 'CANCELLED')),
+    created_at TIMESTAMP(6) NOT NULL,
+    request_id VARCHAR(255),
+    CONSTRAINT fk_bookings_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX idx_bookings_user_created ON bookings (user_id, created_at, id);
+
+CREATE TABLE outbox_events (
+    id              BIGINT        NOT NULL PRIMARY KEY,
+    type            VARCHAR(255)  NOT NULL CHECK (type IN ('RELEASE_ROOM', 'INCREMENT_TIMES_BOOKED')),
+    booking_id      BIGINT        NOT NULL,
+    room_id         BIGINT        NOT NULL,
+    request_id      VARCHAR(255)  NOT NULL,
+    idempotency_key VARCHAR(255)  NOT NULL,
+    status          VARCHAR(255)  NOT NULL CHECK (status IN ('PENDING', 'SENT', 'FAILED')),
+    attempts        INTEGER       NOT NULL,
+    next_attempt_at TIMESTAMP(6)  NOT NULL,
+    last_error      VARCHAR(1000),
+    created_at      TIMESTAMP(6)  NOT NULL,
+    sent_at         TIMESTAMP(6),
+    CONSTRAINT uk_outbox_events_idempotency_key UNIQUE (idempotency_key)
+);
+
+CREATE INDEX idx_outbox_events_status_next_attempt ON outbox_events (status, next_attempt_at);
@@ -0,0 +1,5 @@
+-- Проверка пересечений: бронь номера в статусе CONFIRMED, чьи даты задевают запрошенный период
+CREATE INDEX idx_bookings_room_status_dates ON bookings (room_id, status, start_date, end_date);
+
+-- Брони одного запроса на бронирование (findByRequestId)
+CREATE INDEX idx_bookings_request ON bookings (request_id);
@@ -0,0 +1,5 @@
+-- Отметка времени от primary; по ее возрасту на реплике ReplicaLagMonitor оценивает отставание
+CREATE TABLE replica_heartbeat (
+    id      INTEGER      NOT NULL PRIMARY KEY,
+    beat_at TIMESTAMP(6) NOT NULL
+);
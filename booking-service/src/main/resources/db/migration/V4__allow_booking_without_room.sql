@@ -0,0 +1,5 @@
+-- Бронь с автовыбором создается до того, как Hotel Service выберет номер; снятие блокировки
+-- без номера идет по requestId
+ALTER TABLE bookings ALTER COLUMN room_id DROP NOT NULL;
+
+ALTER TABLE outbox_events ALTER COLUMN room_id DROP NOT NULL;
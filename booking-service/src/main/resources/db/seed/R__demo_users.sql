@@ -0,0 +1,4 @@
+-- Демонстрационные пользователи (пароль 'password'); подключаются через FLYWAY_LOCATIONS=classpath:db/migration,classpath:db/seed
+MERGE INTO users (id, username, password, role) KEY (id) VALUES (1, 'admin', '$2a$10$ZwyIwc1AUcziQpbzjfLIEeSOEIVbkSszVXwHuTXVhS1Fs4rEWEFyK', 'ADMIN');
+MERGE INTO users (id, username, password, role) KEY (id) VALUES (2, 'user1', '$2a$10$ZwyIwc1AUcziQpbzjfLIEeSOEIVbkSszVXwHuTXVhS1Fs4rEWEFyK', 'USER');
+MERGE INTO users (id, username, password, role) KEY (id) VALUES (3, 'user2', '$2a$10$ZwyIwc1AUcziQpbzjfLIEeSOEIVbkSszVXwHuTXVhS1Fs4rEWEFyK', 'USER');
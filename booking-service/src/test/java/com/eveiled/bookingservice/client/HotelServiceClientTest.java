@@ -0,0 +1,167 @@
+package com.eveiled.bookingservice.client;
+
+import com.eveiled.bookingservice.config.HotelServiceClientProperties;
+import com.eveiled.bookingservice.config.WebClientConfig;
+import com.eveiled.bookingservice.dto.AvailabilityRequest;
+import com.eveiled.bookingservice.util.CorrelationIdUtil;
+import com.eveiled.bookingservice.util.DeadlineUtil;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotelServiceClientTest {
+
+    private HttpServer hotelServiceStub;
+    private HotelServiceClientProperties properties;
+    private HotelServiceClient hotelServiceClient;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private final List<String> receivedCorrelationIds = new CopyOnWriteArrayList<>();
+    private final List<String> receivedDeadlines = new CopyOnWriteArrayList<>();
+    private final List<String> receivedIdempotencyKeys = new CopyOnWriteArrayList<>();
+    private volatile long responseDelayMillis;
+    private volatile int responseStatus = 200;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        hotelServiceStub = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        hotelServiceStub.createContext("/api/rooms", exchange -> {
+            receivedCorrelationIds.add(exchange.getRequestHeaders().getFirst(CorrelationIdUtil.CORRELATION_ID_HEADER));
+            receivedDeadlines.add(exchange.getRequestHeaders().getFirst(DeadlineUtil.DEADLINE_HEADER));
+            receivedIdempotencyKeys.add(exchange.getRequestHeaders().getFirst(HotelServiceClient.IDEMPOTENCY_KEY_HEADER));
+            try {
+                Thread.sleep(responseDelayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "true".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(responseStatus, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        hotelServiceStub.start();
+
+        properties = new HotelServiceClientProperties();
+        properties.setUrl("http://127.0.0.1:" + hotelServiceStub.getAddress().getPort());
+        properties.getTimeouts().setConfirmAvailability(Duration.ofMillis(300));
+        properties.getRetry().setMinBackoff(Duration.ofMillis(10));
+        properties.getRetry().setBudgetMaxTokens(2);
+
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        hotelServiceClient = new HotelServiceClient(new WebClientConfig().webClientBuilder(), properties,
+                new SimpleMeterRegistry(), circuitBreakerRegistry, BulkheadRegistry.ofDefaults());
+    }
+
+    @AfterEach
+    void tearDown() {
+        hotelServiceClient.destroy();
+        hotelServiceStub.stop(0);
+        CorrelationIdUtil.clear();
+        DeadlineUtil.clear();
+    }
+
+    @Test
+    void confirmAvailability_ShouldReuseClientAndPropagateCorrelationId() {
+        CorrelationIdUtil.setCorrelationId("test-correlation-id");
+
+        Boolean first = hotelServiceClient.confirmAvailability(1L, availabilityRequest()).block();
+        Boolean second = hotelServiceClient.confirmAvailability(2L, availabilityRequest()).block();
+
+        assertEquals(Boolean.TRUE, first);
+        assertEquals(Boolean.TRUE, second);
+        assertEquals(List.of("test-correlation-id", "test-correlation-id"), receivedCorrelationIds);
+    }
+
+    @Test
+    void confirmAvailability_WhenHotelServiceIsSlow_ShouldFailWithConfiguredTimeout() {
+        responseDelayMillis = 1_000;
+
+        assertThrows(RuntimeException.class,
+                () -> hotelServiceClient.confirmAvailability(1L, availabilityRequest()).block());
+    }
+
+    @Test
+    void confirmAvailability_ShouldSendCallerDeadline() {
+        Instant deadline = Instant.now().plusSeconds(5);
+        DeadlineUtil.setDeadline(deadline);
+        properties.getTimeouts().setConfirmAvailability(Duration.ofSeconds(10));
+
+        hotelServiceClient.confirmAvailability(1L, availabilityRequest()).block();
+
+        assertEquals(List.of(DeadlineUtil.format(deadline)), receivedDeadlines);
+    }
+
+    @Test
+    void confirmAvailability_WhenDeadlineAlreadyPassed_ShouldNotCallHotelService() {
+        DeadlineUtil.setDeadline(Instant.now().minusMillis(1));
+
+        assertThrows(DeadlineExceededException.class,
+                () -> hotelServiceClient.confirmAvailability(1L, availabilityRequest()).block());
+        assertTrue(receivedCorrelationIds.isEmpty());
+    }
+
+    @Test
+    void confirmAvailability_WhenRetryBudgetIsExhausted_ShouldStopRetrying() {
+        responseStatus = 503;
+
+        assertThrows(WebClientResponseException.class,
+                () -> hotelServiceClient.confirmAvailability(1L, availabilityRequest()).block());
+        assertEquals(3, receivedCorrelationIds.size());
+
+        receivedCorrelationIds.clear();
+        assertThrows(WebClientResponseException.class,
+                () -> hotelServiceClient.confirmAvailability(1L, availabilityRequest()).block());
+        assertEquals(1, receivedCorrelationIds.size());
+    }
+
+    @Test
+    void confirmAvailability_WhenHotelServiceRejectsClientError_ShouldNotRetry() {
+        responseStatus = 409;
+
+        assertThrows(WebClientResponseException.class,
+                () -> hotelServiceClient.confirmAvailability(1L, availabilityRequest()).block());
+        assertEquals(1, receivedCorrelationIds.size());
+    }
+
+    @Test
+    void confirmAvailability_WhenCircuitBreakerIsOpen_ShouldFailFastWithoutCallingHotelService() {
+        circuitBreakerRegistry.circuitBreaker(HotelServiceClient.CONFIRM_AVAILABILITY).transitionToOpenState();
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> hotelServiceClient.confirmAvailability(1L, availabilityRequest()).block());
+
+        assertTrue(HotelServiceClient.isRejected(exception));
+        assertTrue(receivedCorrelationIds.isEmpty());
+    }
+
+    @Test
+    void releaseRoom_ShouldSendIdempotencyKey() {
+        hotelServiceClient.releaseRoom(1L, "test-request-id", "RELEASE_ROOM:test-request-id").block();
+
+        assertEquals(List.of("RELEASE_ROOM:test-request-id"), receivedIdempotencyKeys);
+    }
+
+    private AvailabilityRequest availabilityRequest() {
+        return new AvailabilityRequest("test-request-id",
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(3));
+    }
+}
@@ -0,0 +1,43 @@
+package com.eveiled.bookingservice.client;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryBudgetTest {
+
+    @Test
+    void tryAcquire_ShouldAllowBurstUpToMaxTokens() {
+        RetryBudget retryBudget = new RetryBudget(0.2, 3);
+
+        assertTrue(retryBudget.tryAcquire());
+        assertTrue(retryBudget.tryAcquire());
+        assertTrue(retryBudget.tryAcquire());
+        assertFalse(retryBudget.tryAcquire());
+    }
+
+    @Test
+    void recordRequest_ShouldRefillBudgetByRatio() {
+        RetryBudget retryBudget = new RetryBudget(0.2, 1);
+        assertTrue(retryBudget.tryAcquire());
+
+        for (int i = 0; i < 4; i++) {
+            retryBudget.recordRequest();
+        }
+        assertFalse(retryBudget.tryAcquire());
+
+        retryBudget.recordRequest();
+        assertTrue(retryBudget.tryAcquire());
+    }
+
+    @Test
+    void recordRequest_ShouldNotExceedMaxTokens() {
+        RetryBudget retryBudget = new RetryBudget(0.5, 2);
+
+        for (int i = 0; i < 100; i++) {
+            retryBudget.recordRequest();
+        }
+
+        assertEquals(2.0, retryBudget.availableRetries());
+    }
+}
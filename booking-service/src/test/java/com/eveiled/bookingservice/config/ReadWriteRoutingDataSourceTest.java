@@ -0,0 +1,187 @@
+package com.eveiled.bookingservice.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routing between two in-memory H2 databases; the test plays the replication by copying
+ * the heartbeat row from the primary to the replica.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(2);
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaLagMonitor lagMonitor;
+    private ReadYourWritesTracker readYourWritesTracker;
+    private JdbcTemplate routed;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource primaryDataSource = database("primary");
+        DriverManagerDataSource replicaDataSource = database("replica");
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+
+        ReplicaDataSourceProperties properties = new ReplicaDataSourceProperties();
+        properties.setEnabled(true);
+        properties.setMaxLag(MAX_LAG);
+        clock = new MutableClock(Instant.parse("2026-01-10T12:00:00Z"));
+        meterRegistry = new SimpleMeterRegistry();
+        lagMonitor = new ReplicaLagMonitor(primaryDataSource, replicaDataSource, MAX_LAG, meterRegistry, clock);
+        readYourWritesTracker = new ReadYourWritesTracker(properties);
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(
+                primaryDataSource, replicaDataSource, lagMonitor, readYourWritesTracker, meterRegistry));
+        routed = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        primary.execute("SHUTDOWN");
+        replica.execute("SHUTDOWN");
+    }
+
+    @Test
+    void readOnlyTransaction_WhenReplicaIsCaughtUp_ShouldReadFromReplica() {
+        assertEquals("primary", readSource(true));
+
+        catchUp();
+
+        assertEquals("replica", readSource(true));
+        assertEquals("primary", readSource(false));
+        assertEquals("primary", routed.queryForObject("SELECT name FROM source", String.class));
+        assertEquals(1.0, meterRegistry.counter("booking.datasource.reads", "target", "replica").count());
+        assertEquals(1.0, meterRegistry.counter("booking.datasource.reads", "target", "primary-replica-lagging").count());
+    }
+
+    @Test
+    void readOnlyTransaction_WhenReplicaFallsBehind_ShouldReadFromPrimaryUntilItCatchesUp() {
+        catchUp();
+
+        clock.advance(MAX_LAG.plusSeconds(1));
+        lagMonitor.check();
+        assertEquals("primary", readSource(true));
+        assertEquals(3.0, meterRegistry.get("booking.datasource.replica.lag").gauge().value());
+
+        replicate();
+        lagMonitor.check();
+        assertEquals("replica", readSource(true));
+    }
+
+    @Test
+    void readOnlyTransaction_WhenUserHasJustWritten_ShouldReadOwnWritesFromPrimary() {
+        catchUp();
+        readYourWritesTracker.recordWrite("user1");
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user1", null));
+        assertEquals("primary", readSource(true));
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user2", null));
+        assertEquals("replica", readSource(true));
+    }
+
+    @Test
+    void readOnlyTransaction_WhenReplicaCannotBeChecked_ShouldReadFromPrimary() {
+        catchUp();
+
+        replica.execute("DROP TABLE replica_heartbeat");
+        lagMonitor.check();
+
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertEquals("primary", readSource(true));
+    }
+
+    @Test
+    void check_WhenHeartbeatCannotBeWritten_ShouldKeepCheckingAndResumeOnceItCan() {
+        primary.execute("DROP TABLE replica_heartbeat");
+        lagMonitor.check();
+        lagMonitor.check();
+
+        primary.execute("CREATE TABLE replica_heartbeat (id INTEGER NOT NULL PRIMARY KEY, beat_at TIMESTAMP(6) NOT NULL)");
+        lagMonitor.check();
+
+        assertEquals(1, primary.queryForObject("SELECT COUNT(*) FROM replica_heartbeat", Integer.class));
+    }
+
+    private String readSource(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> routed.queryForObject("SELECT name FROM source", String.class));
+    }
+
+    private void catchUp() {
+        lagMonitor.check();
+        replicate();
+        lagMonitor.check();
+        assertTrue(lagMonitor.isReplicaUsable());
+    }
+
+    private void replicate() {
+        primary.query("SELECT id, beat_at FROM replica_heartbeat", rs -> {
+            replica.update("MERGE INTO replica_heartbeat (id, beat_at) KEY (id) VALUES (?, ?)",
+                    rs.getInt("id"), rs.getTimestamp("beat_at"));
+        });
+    }
+
+    private static DriverManagerDataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE replica_heartbeat (id INTEGER NOT NULL PRIMARY KEY, beat_at TIMESTAMP(6) NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE source (name VARCHAR(16) NOT NULL)");
+        jdbcTemplate.update("INSERT INTO source (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
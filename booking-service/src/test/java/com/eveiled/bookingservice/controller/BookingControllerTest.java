@@ -2,8 +2,10 @@ package com.eveiled.bookingservice.controller;
 
 import com.eveiled.bookingservice.dto.BookingDto;
 import com.eveiled.bookingservice.dto.CreateBookingRequest;
+import com.eveiled.bookingservice.dto.CursorPage;
 import com.eveiled.bookingservice.entity.Booking;
 import com.eveiled.bookingservice.service.BookingService;
+import com.eveiled.bookingservice.util.CursorUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -73,6 +75,36 @@ class BookingControllerTest {
         verify(bookingService).createBooking(any(CreateBookingRequest.class), eq("testuser"));
     }
 
+    @Test
+    @WithMockUser(username = "testuser")
+    void createBooking_InAsyncMode_ShouldReturnAcceptedWithLocation() throws Exception {
+        CreateBookingRequest request = new CreateBookingRequest();
+        request.setRoomId(1L);
+        request.setStartDate(LocalDateTime.now().plusDays(1));
+        request.setEndDate(LocalDateTime.now().plusDays(3));
+
+        BookingDto bookingDto = new BookingDto();
+        bookingDto.setId(7L);
+        bookingDto.setRoomId(1L);
+        bookingDto.setStatus(Booking.Status.PENDING);
+
+        when(bookingService.createBookingAsync(any(CreateBookingRequest.class), anyString()))
+                .thenReturn(bookingDto);
+
+        mockMvc.perform(post("/api/bookings")
+                .param("async", "true")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", org.hamcrest.Matchers.endsWith("/api/bookings/7")))
+                .andExpect(jsonPath("$.id").value(7))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+
+        verify(bookingService).createBookingAsync(any(CreateBookingRequest.class), eq("testuser"));
+        verify(bookingService, never()).createBooking(any(), anyString());
+    }
+
     @Test
     @WithMockUser(username = "testuser")
     void getUserBookings_ShouldReturnUserBookings() throws Exception {
@@ -87,10 +119,12 @@ class BookingControllerTest {
         booking2.setStatus(Booking.Status.CANCELLED);
 
         List<BookingDto> bookings = Arrays.asList(booking1, booking2);
-        when(bookingService.getUserBookings("testuser")).thenReturn(bookings);
+        when(bookingService.getUserBookings("testuser", "cursor-token", 2))
+                .thenReturn(new CursorPage<>(bookings, "next-token"));
 
-        mockMvc.perform(get("/api/bookings"))
+        mockMvc.perform(get("/api/bookings").param("cursor", "cursor-token").param("size", "2"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(CursorUtil.NEXT_CURSOR_HEADER, "next-token"))
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$[0].id").value(1))
                 .andExpect(jsonPath("$[0].roomId").value(1))
@@ -99,7 +133,7 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$[1].roomId").value(2))
                 .andExpect(jsonPath("$[1].status").value("CANCELLED"));
 
-        verify(bookingService).getUserBookings("testuser");
+        verify(bookingService).getUserBookings("testuser", "cursor-token", 2);
     }
 
     @Test
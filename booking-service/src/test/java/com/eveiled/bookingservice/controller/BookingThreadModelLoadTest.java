@@ -0,0 +1,207 @@
+package com.eveiled.bookingservice.controller;
+
+import com.eveiled.bookingservice.BookingServiceApplication;
+import com.eveiled.bookingservice.util.JwtUtil;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sends {@value #CONCURRENT_BOOKINGS} concurrent {@code POST /api/bookings} to a running booking-service,
+ * once with {@code spring.threads.virtual.enabled=false} (Tomcat pool of 200 platform threads) and once with
+ * {@code true}. Each booking goes through the real controller, saga and {@code HotelServiceClient}
+ * (retry, circuit breaker, bulkhead, load balancer) to a hotel-service stub that answers after
+ * {@value #HOTEL_SERVICE_LATENCY_MS} ms. The hotel-service bulkhead and connection pool are raised
+ * so that only the thread model limits concurrency.
+ * Run with {@code ./gradlew :booking-service:loadTest}.
+ */
+@Tag("load")
+class BookingThreadModelLoadTest {
+
+    private static final int CONCURRENT_BOOKINGS = 1_000;
+    private static final int WARM_UP_BOOKINGS = 100;
+    private static final long HOTEL_SERVICE_LATENCY_MS = 100;
+
+    private HttpServer hotelServiceStub;
+    private HttpClient httpClient;
+    private ExecutorService clientExecutor;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        hotelServiceStub = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), CONCURRENT_BOOKINGS);
+        hotelServiceStub.createContext("/api/rooms", this::answerAsHotelService);
+        hotelServiceStub.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        hotelServiceStub.start();
+
+        // Клиент на виртуальных потоках, чтобы сам тест не ограничивал число одновременных запросов
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        httpClient.close();
+        clientExecutor.close();
+        hotelServiceStub.stop(0);
+    }
+
+    @Test
+    void createBooking_PlatformVsVirtualThreads() throws Exception {
+        LoadResult platform = runWithThreadModel(false);
+        LoadResult virtual = runWithThreadModel(true);
+
+        System.out.printf("POST /api/bookings, %d concurrent requests, hotel-service latency %d ms%n",
+                CONCURRENT_BOOKINGS, HOTEL_SERVICE_LATENCY_MS);
+        System.out.println(platform);
+        System.out.println(virtual);
+
+        assertEquals(CONCURRENT_BOOKINGS, platform.confirmed());
+        assertEquals(CONCURRENT_BOOKINGS, virtual.confirmed());
+    }
+
+    private LoadResult runWithThreadModel(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform(200)";
+        try (ConfigurableApplicationContext context = startBookingService(virtualThreads)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String token = context.getBean(JwtUtil.class).generateToken("user1", "USER");
+            URI bookings = URI.create("http://127.0.0.1:" + port + "/api/bookings");
+
+            runLoad(mode + "-warm-up", bookings, token, WARM_UP_BOOKINGS);
+            return runLoad(mode, bookings, token, CONCURRENT_BOOKINGS);
+        }
+    }
+
+    private ConfigurableApplicationContext startBookingService(boolean virtualThreads) {
+        String database = virtualThreads ? "load-virtual" : "load-platform";
+        return new SpringApplicationBuilder(BookingServiceApplication.class)
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.threads.max=200",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.com.eveiled=WARN",
+                        "eureka.client.enabled=false",
+                        "spring.cloud.discovery.client.simple.instances.hotel-service[0].uri=http://127.0.0.1:"
+                                + hotelServiceStub.getAddress().getPort(),
+                        "hotel-service.pool.max-connections=" + CONCURRENT_BOOKINGS,
+                        "hotel-service.pool.pending-acquire-max-count=-1",
+                        "resilience4j.bulkhead.instances.hotel-confirm-availability.max-concurrent-calls=" + CONCURRENT_BOOKINGS)
+                .run();
+    }
+
+    private LoadResult runLoad(String mode, URI bookings, String token, int requests) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> results = new ArrayList<>(requests);
+        LocalDateTime checkIn = LocalDateTime.now().plusDays(30).withNano(0);
+
+        for (int i = 0; i < requests; i++) {
+            LocalDateTime startDate = checkIn.plusDays(i);
+            HttpRequest request = HttpRequest.newBuilder(bookings)
+                    .header("Authorization", "Bearer " + token)
+                    .header("Content-Type", "application/json")
+                    .timeout(Duration.ofSeconds(60))
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"roomId\":" + (i % 6 + 1)
+                            + ",\"startDate\":\"" + startDate + "\",\"endDate\":\"" + startDate.plusDays(2) + "\"}"))
+                    .build();
+            results.add(clientExecutor.submit(() -> {
+                start.await();
+                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                boolean confirmed = response.statusCode() == 200 && response.body().contains("\"status\":\"CONFIRMED\"");
+                return confirmed ? System.nanoTime() : -1L;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+
+        // Задержка считается от общего старта, поэтому ожидание свободного потока Tomcat в нее входит
+        long[] latencies = new long[requests];
+        int confirmed = 0;
+        for (int i = 0; i < requests; i++) {
+            long completedAt = results.get(i).get(120, TimeUnit.SECONDS);
+            if (completedAt >= 0) {
+                latencies[confirmed++] = completedAt - startedAt;
+            }
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+
+        long[] sorted = Arrays.copyOf(latencies, confirmed);
+        Arrays.sort(sorted);
+        return new LoadResult(mode, confirmed, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.99));
+    }
+
+    // Подтверждение доступности отвечает true после задержки, увеличение счетчика и снятие блокировки - сразу
+    private void answerAsHotelService(HttpExchange exchange) throws IOException {
+        byte[] body = new byte[0];
+        if (exchange.getRequestURI().getPath().endsWith("/confirm-availability")) {
+            try {
+                Thread.sleep(HOTEL_SERVICE_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            body = "true".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+        }
+        exchange.getRequestBody().readAllBytes();
+        exchange.sendResponseHeaders(200, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static long percentileMillis(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sortedNanos[Math.max(index, 0)]);
+    }
+
+    private record LoadResult(String mode, int confirmed, long elapsedMillis, long p50Millis, long p99Millis) {
+
+        double throughput() {
+            return confirmed / (elapsedMillis / 1000.0);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-14s confirmed=%d elapsed=%d ms throughput=%.0f req/s p50=%d ms p99=%d ms",
+                    mode, confirmed, elapsedMillis, throughput(), p50Millis, p99Millis);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.eveiled.bookingservice.repository;
+
+import com.eveiled.bookingservice.entity.Booking;
+import com.eveiled.bookingservice.entity.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Insert throughput of bookings with JDBC batching switched off for the session, which issues one
+ * statement per row as the former IDENTITY ids forced, and with {@code hibernate.jdbc.batch_size} in effect.
+ * Run with {@code ./gradlew :booking-service:benchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "spring.jpa.show-sql=false")
+class BookingInsertBenchmarkTest {
+
+    private static final int BOOKINGS = 20_000;
+    private static final int PER_TRANSACTION = 1_000;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void insertBookings_UnbatchedVsBatched() {
+        User user = userRepository.findByUsername("user1").orElseThrow();
+        insertBookings(user, 1, BOOKINGS / 10);
+
+        InsertResult unbatched = insertBookings(user, 1, BOOKINGS);
+        InsertResult batched = insertBookings(user, null, BOOKINGS);
+
+        System.out.printf("Booking inserts, %d rows, %d per transaction%n", BOOKINGS, PER_TRANSACTION);
+        System.out.println(unbatched);
+        System.out.println(batched);
+
+        assertEquals(BOOKINGS, unbatched.rows());
+        assertEquals(BOOKINGS, batched.rows());
+    }
+
+    /**
+     * @param jdbcBatchSize session batch size, or null for the configured {@code hibernate.jdbc.batch_size}
+     */
+    private InsertResult insertBookings(User user, Integer jdbcBatchSize, int count) {
+        bookingRepository.deleteAllInBatch();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        LocalDateTime checkIn = LocalDateTime.now().plusDays(1);
+
+        long startedAt = System.nanoTime();
+        for (int offset = 0; offset < count; offset += PER_TRANSACTION) {
+            int size = Math.min(PER_TRANSACTION, count - offset);
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+                List<Booking> bookings = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    bookings.add(new Booking(null, user, (long) (i % 6 + 1), checkIn, checkIn.plusDays(2),
+                            Booking.Status.CONFIRMED, LocalDateTime.now(), UUID.randomUUID().toString()));
+                }
+                bookingRepository.saveAll(bookings);
+            });
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        String mode = jdbcBatchSize == null ? "batched" : "unbatched";
+        return new InsertResult(mode, (int) bookingRepository.count(), elapsedMillis);
+    }
+
+    private record InsertResult(String mode, int rows, long elapsedMillis) {
+
+        @Override
+        public String toString() {
+            return String.format("%-10s rows=%d elapsed=%d ms throughput=%.0f rows/s",
+                    mode, rows, elapsedMillis, rows / Math.max(elapsedMillis / 1000.0, 0.001));
+        }
+    }
+}
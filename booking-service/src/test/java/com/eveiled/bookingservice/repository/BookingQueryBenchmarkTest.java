@@ -0,0 +1,130 @@
+package com.eveiled.bookingservice.repository;
+
+import com.eveiled.bookingservice.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hot booking lookups over 1M rows with and without the indexes added by V2__add_booking_lookup_indexes.sql:
+ * the conflict check of a room and the bookings of one request. Run with {@code ./gradlew :booking-service:benchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "spring.jpa.show-sql=false")
+class BookingQueryBenchmarkTest {
+
+    private static final int BOOKINGS = 1_000_000;
+    private static final int ROOMS = 10_000;
+    private static final int QUERIES = 200;
+    private static final String[] STATUSES = {"CONFIRMED", "CONFIRMED", "CONFIRMED", "CANCELLED", "PENDING"};
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime origin = LocalDateTime.now().withNano(0).plusDays(1);
+
+    @AfterEach
+    void tearDown() {
+        createIndexes();
+        bookingRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void lookups_WithAndWithoutIndexes() {
+        User user = userRepository.findByUsername("user1").orElseThrow();
+        insertBookings(user.getId());
+
+        List<QueryResult> results = new ArrayList<>();
+        results.addAll(runQueries("indexed"));
+        jdbcTemplate.execute("DROP INDEX idx_bookings_room_status_dates");
+        jdbcTemplate.execute("DROP INDEX idx_bookings_request");
+        results.addAll(runQueries("no index"));
+
+        System.out.printf("Booking lookups over %d rows, %d queries each%n", BOOKINGS, QUERIES);
+        results.forEach(System.out::println);
+
+        assertEquals(4, results.size());
+    }
+
+    private List<QueryResult> runQueries(String mode) {
+        Random random = new Random(42);
+        QueryResult conflicts = measure("conflicts", mode, i -> {
+            LocalDateTime from = origin.plusDays(random.nextInt(365));
+            bookingRepository.findConflictingBookings((long) random.nextInt(ROOMS) + 1, from, from.plusDays(3));
+        });
+        QueryResult byRequest = measure("by-request", mode, i ->
+                assertEquals(1, bookingRepository.findByRequestId("bench-" + random.nextInt(BOOKINGS)).size()));
+        return List.of(conflicts, byRequest);
+    }
+
+    private QueryResult measure(String query, String mode, IntConsumer run) {
+        for (int i = 0; i < QUERIES / 10; i++) {
+            run.accept(i);
+        }
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) {
+            run.accept(i);
+        }
+        long elapsedMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startedAt);
+        return new QueryResult(query, mode, elapsedMicros / QUERIES);
+    }
+
+    // Строки вставляются напрямую пачками: через JPA миллион броней грузился бы дольше самих замеров
+    private void insertBookings(Long userId) {
+        Random random = new Random(7);
+        List<Object[]> batch = new ArrayList<>(10_000);
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalDateTime start = origin.plusDays(random.nextInt(365));
+            batch.add(new Object[] {i + 1L, userId, (long) random.nextInt(ROOMS) + 1, Timestamp.valueOf(start),
+                    Timestamp.valueOf(start.plusDays(1 + random.nextInt(5))), STATUSES[i % STATUSES.length],
+                    Timestamp.valueOf(origin.minusSeconds(BOOKINGS - i)), "bench-" + i});
+            if (batch.size() == 10_000) {
+                flush(batch);
+            }
+        }
+        flush(batch);
+    }
+
+    private void flush(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (id, user_id, room_id, start_date, end_date, status, created_at, request_id) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", batch);
+        batch.clear();
+    }
+
+    private void createIndexes() {
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_bookings_room_status_dates ON bookings (room_id, status, start_date, end_date)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_bookings_request ON bookings (request_id)");
+    }
+
+    private record QueryResult(String query, String mode, long micros) {
+
+        @Override
+        public String toString() {
+            return String.format("%-11s %-9s avg=%d us", query, mode, micros);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.eveiled.bookingservice.repository;
+
+import com.eveiled.bookingservice.entity.Booking;
+import com.eveiled.bookingservice.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The schema of the prod profile: built by the Flyway migrations instead of Hibernate, seeded by the repeatable demo script.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=true",
+        "spring.flyway.locations=classpath:db/migration,classpath:db/seed",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.defer-datasource-initialization=false",
+        "spring.sql.init.mode=never"
+})
+class SchemaMigrationTest {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void migrate_ShouldApplyVersionsAndCreateIndexes() {
+        assertEquals(List.of("1", "2", "3", "4"), jdbcTemplate.queryForList(
+                "SELECT \"version\" FROM \"flyway_schema_history\" WHERE \"version\" IS NOT NULL AND \"success\" ORDER BY \"installed_rank\"",
+                String.class));
+        assertTrue(jdbcTemplate.queryForList("SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_NAME = 'BOOKINGS'",
+                String.class).containsAll(List.of(
+                        "idx_bookings_user_created", "idx_bookings_room_status_dates", "idx_bookings_request")));
+    }
+
+    @Test
+    void repositories_ShouldWorkAgainstMigratedSchema() {
+        User user = userRepository.findByUsername("user1").orElseThrow();
+        LocalDateTime checkIn = LocalDateTime.now().plusDays(5).withNano(0);
+
+        Booking saved = bookingRepository.save(new Booking(null, user, 4L, checkIn, checkIn.plusDays(2),
+                Booking.Status.CONFIRMED, LocalDateTime.now(), "migrated"));
+
+        assertEquals(List.of(saved.getId()), bookingRepository.findByRequestId("migrated").stream().map(Booking::getId).toList());
+        assertEquals(1, bookingRepository.findConflictingBookings(4L, checkIn.plusDays(1), checkIn.plusDays(3)).size());
+    }
+}
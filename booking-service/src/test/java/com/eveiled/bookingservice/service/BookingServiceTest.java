@@ -1,30 +1,58 @@
 package com.eveiled.bookingservice.service;
 
+import com.eveiled.bookingservice.client.HotelServiceClient;
+import com.eveiled.bookingservice.config.PaginationProperties;
+import com.eveiled.bookingservice.config.ReadYourWritesTracker;
+import com.eveiled.bookingservice.dto.AvailabilityRequest;
+import com.eveiled.bookingservice.dto.BatchHoldRequest;
+import com.eveiled.bookingservice.dto.BatchHoldResponse;
 import com.eveiled.bookingservice.dto.BookingDto;
 import com.eveiled.bookingservice.dto.CreateBookingRequest;
+import com.eveiled.bookingservice.dto.CreateGroupBookingRequest;
+import com.eveiled.bookingservice.dto.CursorPage;
+import com.eveiled.bookingservice.dto.ReserveRoomRequest;
+import com.eveiled.bookingservice.dto.RoomHoldResult;
 import com.eveiled.bookingservice.dto.RoomDto;
 import com.eveiled.bookingservice.entity.Booking;
 import com.eveiled.bookingservice.entity.User;
 import com.eveiled.bookingservice.mapper.BookingMapper;
 import com.eveiled.bookingservice.repository.BookingRepository;
 import com.eveiled.bookingservice.util.CorrelationIdUtil;
+import com.eveiled.bookingservice.util.CursorUtil;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import org.hibernate.LazyInitializationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +67,24 @@ class BookingServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private HotelServiceClient hotelServiceClient;
+
+    @Mock
+    private BookingStateService bookingStateService;
+
+    @Mock
+    private TaskExecutor bookingSagaExecutor;
+
+    @Mock
+    private BookingStatusNotifier bookingStatusNotifier;
+
+    @Spy
+    private PaginationProperties paginationProperties = new PaginationProperties();
+
+    @Mock
+    private ReadYourWritesTracker readYourWritesTracker;
+
     @InjectMocks
     private BookingService bookingService;
 
@@ -51,8 +97,6 @@ class BookingServiceTest {
 
     @BeforeEach
     void setUp() {
-        ReflectionTestUtils.setField(bookingService, "hotelServiceUrl", "http://localhost:8081");
-
         user = new User();
         user.setId(1L);
         user.setUsername("testuser");
@@ -106,8 +150,10 @@ class BookingServiceTest {
             mockedStatic.when(() -> CorrelationIdUtil.setBookingId(anyLong())).thenAnswer(invocation -> null);
 
             when(userService.findByUsername("testuser")).thenReturn(user);
-            when(bookingRepository.save(any(Booking.class))).thenReturn(savedBooking);
+            when(bookingStateService.createPending(any(Booking.class))).thenReturn(savedBooking);
             when(bookingMapper.toDto(savedBooking)).thenReturn(bookingDto);
+            when(hotelServiceClient.confirmAvailability(eq(1L), any(AvailabilityRequest.class))).thenReturn(Mono.just(true));
+            when(bookingStateService.markConfirmed(savedBooking)).thenReturn(savedBooking);
 
             BookingDto result = bookingService.createBooking(createBookingRequest, "testuser");
 
@@ -116,8 +162,10 @@ class BookingServiceTest {
             assertEquals(1L, result.getRoomId());
 
             verify(userService).findByUsername("testuser");
-            verify(bookingRepository, times(2)).save(any(Booking.class));
+            verify(bookingStateService).createPending(any(Booking.class));
+            verify(bookingStateService).markConfirmed(savedBooking);
             verify(bookingMapper).toDto(savedBooking);
+            verify(readYourWritesTracker, times(2)).recordWrite("testuser");
         }
     }
 
@@ -128,38 +176,305 @@ class BookingServiceTest {
             mockedStatic.when(() -> CorrelationIdUtil.setBookingId(anyLong())).thenAnswer(invocation -> null);
 
             when(userService.findByUsername("testuser")).thenReturn(user);
-            when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+            when(bookingStateService.createPending(any(Booking.class))).thenReturn(booking);
             when(bookingMapper.toDto(booking)).thenReturn(bookingDto);
+            when(hotelServiceClient.confirmAvailability(eq(1L), any(AvailabilityRequest.class))).thenReturn(Mono.just(false));
+            when(bookingStateService.markCancelled(booking, false)).thenReturn(booking);
 
             BookingDto result = bookingService.createBooking(createBookingRequest, "testuser");
 
             assertNotNull(result);
-            assertEquals(Booking.Status.CANCELLED, booking.getStatus());
 
             verify(userService).findByUsername("testuser");
-            verify(bookingRepository, times(2)).save(any(Booking.class));
+            verify(bookingStateService).createPending(any(Booking.class));
+            verify(bookingStateService).markCancelled(booking, false);
             verify(bookingMapper).toDto(booking);
         }
     }
 
     @Test
-    void getUserBookings_ShouldReturnUserBookings() {
-        List<Booking> bookings = Arrays.asList(savedBooking);
+    void createBooking_WhenHotelServiceRejectsCall_ShouldCancelWithoutWaiting() {
+        try (MockedStatic<CorrelationIdUtil> mockedStatic = mockStatic(CorrelationIdUtil.class)) {
+            mockedStatic.when(CorrelationIdUtil::getCorrelationId).thenReturn("test-correlation-id");
+            mockedStatic.when(() -> CorrelationIdUtil.setBookingId(anyLong())).thenAnswer(invocation -> null);
+
+            when(userService.findByUsername("testuser")).thenReturn(user);
+            when(bookingStateService.createPending(any(Booking.class))).thenReturn(booking);
+            when(bookingMapper.toDto(booking)).thenReturn(bookingDto);
+            when(hotelServiceClient.confirmAvailability(eq(1L), any(AvailabilityRequest.class)))
+                    .thenReturn(Mono.error(BulkheadFullException.createBulkheadFullException(Bulkhead.ofDefaults("test"))));
+            when(bookingStateService.markCancelled(booking, false)).thenReturn(booking);
+
+            bookingService.createBooking(createBookingRequest, "testuser");
+
+            verify(bookingStateService).markCancelled(booking, false);
+            verify(bookingStateService, never()).markConfirmed(any());
+        }
+    }
+
+    @Test
+    void createBooking_WhenConfirmationTimesOut_ShouldCancelAndReleaseHold() {
+        try (MockedStatic<CorrelationIdUtil> mockedStatic = mockStatic(CorrelationIdUtil.class)) {
+            mockedStatic.when(CorrelationIdUtil::getCorrelationId).thenReturn("test-correlation-id");
+            mockedStatic.when(() -> CorrelationIdUtil.setBookingId(anyLong())).thenAnswer(invocation -> null);
+
+            when(userService.findByUsername("testuser")).thenReturn(user);
+            when(bookingStateService.createPending(any(Booking.class))).thenReturn(booking);
+            when(hotelServiceClient.confirmAvailability(eq(1L), any(AvailabilityRequest.class)))
+                    .thenReturn(Mono.error(new TimeoutException("Did not observe any item within 2000ms")));
+
+            RuntimeException exception = assertThrows(RuntimeException.class,
+                    () -> bookingService.createBooking(createBookingRequest, "testuser"));
+
+            assertTrue(exception.getMessage().startsWith("Failed to create booking"));
+            verify(bookingStateService).markCancelled(booking, true);
+            verify(bookingStateService, never()).markCancelled(booking, false);
+        }
+    }
+
+    @Test
+    void createBookingWithAutoSelect_ShouldReserveRoomAndSkipSeparateConfirmation() {
+        try (MockedStatic<CorrelationIdUtil> mockedStatic = mockStatic(CorrelationIdUtil.class)) {
+            mockedStatic.when(CorrelationIdUtil::getCorrelationId).thenReturn("test-correlation-id");
+            mockedStatic.when(() -> CorrelationIdUtil.setBookingId(anyLong())).thenAnswer(invocation -> null);
+            createBookingRequest.setRoomId(null);
+            createBookingRequest.setAutoSelect(true);
+
+            when(hotelServiceClient.reserveAnyRoom(any(ReserveRoomRequest.class))).thenReturn(Mono.just(roomDto));
+            when(userService.findByUsername("testuser")).thenReturn(user);
+            when(bookingStateService.createPending(any(Booking.class))).thenReturn(booking);
+            when(bookingStateService.assignRoom(booking, 1L)).thenReturn(savedBooking);
+            when(bookingStateService.markConfirmed(savedBooking)).thenReturn(savedBooking);
+            when(bookingMapper.toDto(savedBooking)).thenReturn(bookingDto);
+
+            BookingDto result = bookingService.createBookingWithAutoSelect(createBookingRequest, "testuser");
+
+            assertEquals(Booking.Status.CONFIRMED, result.getStatus());
+            assertEquals(1L, createBookingRequest.getRoomId());
+            InOrder saga = inOrder(bookingStateService, hotelServiceClient);
+            saga.verify(bookingStateService).createPending(argThat(pending -> pending.getRoomId() == null
+                    && "test-correlation-id".equals(pending.getRequestId())));
+            saga.verify(hotelServiceClient).reserveAnyRoom(argThat(request ->
+                    "test-correlation-id".equals(request.getRequestId())));
+            saga.verify(bookingStateService).assignRoom(booking, 1L);
+            verify(hotelServiceClient, never()).confirmAvailability(anyLong(), any());
+        }
+    }
+
+    @Test
+    void createBookingWithAutoSelect_WhenAssignedBookingUserIsNotLoaded_ShouldStillConfirm() {
+        createBookingRequest.setRoomId(null);
+        createBookingRequest.setAutoSelect(true);
+        // assignRoom перечитывает бронь в своей транзакции - user в ней ленивый прокси без сессии
+        savedBooking.setUser(mock(User.class, invocation -> {
+            throw new LazyInitializationException("could not initialize proxy - no Session");
+        }));
+
+        when(hotelServiceClient.reserveAnyRoom(any(ReserveRoomRequest.class))).thenReturn(Mono.just(roomDto));
+        when(userService.findByUsername("testuser")).thenReturn(user);
+        when(bookingStateService.createPending(any(Booking.class))).thenReturn(booking);
+        when(bookingStateService.assignRoom(booking, 1L)).thenReturn(savedBooking);
+        when(bookingStateService.markConfirmed(savedBooking)).thenReturn(savedBooking);
+        when(bookingMapper.toDto(savedBooking)).thenReturn(bookingDto);
+
+        BookingDto result = bookingService.createBookingWithAutoSelect(createBookingRequest, "testuser");
+
+        assertEquals(Booking.Status.CONFIRMED, result.getStatus());
+        verify(bookingStateService, never()).markCancelled(any(), anyBoolean());
+        verify(readYourWritesTracker, times(2)).recordWrite("testuser");
+    }
+
+    @Test
+    void createBookingWithAutoSelect_WhenNoRoomIsFree_ShouldCancelBookingWithoutRelease() {
+        createBookingRequest.setRoomId(null);
+        createBookingRequest.setAutoSelect(true);
+        when(userService.findByUsername("testuser")).thenReturn(user);
+        when(bookingStateService.createPending(any(Booking.class))).thenReturn(booking);
+        when(hotelServiceClient.reserveAnyRoom(any(ReserveRoomRequest.class))).thenReturn(Mono.empty());
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> bookingService.createBookingWithAutoSelect(createBookingRequest, "testuser"));
+
+        assertEquals("No available rooms found", exception.getMessage());
+        verify(bookingStateService).markCancelled(booking, false);
+        verify(bookingStateService, never()).assignRoom(any(), any());
+    }
+
+    @Test
+    void createBookingWithAutoSelect_WhenReserveFails_ShouldCancelBookingAndReleaseByRequest() {
+        createBookingRequest.setRoomId(null);
+        createBookingRequest.setAutoSelect(true);
+        when(userService.findByUsername("testuser")).thenReturn(user);
+        when(bookingStateService.createPending(any(Booking.class))).thenReturn(booking);
+        when(hotelServiceClient.reserveAnyRoom(any(ReserveRoomRequest.class)))
+                .thenReturn(Mono.error(new RuntimeException("Read timed out")));
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> bookingService.createBookingWithAutoSelect(createBookingRequest, "testuser"));
+
+        assertEquals("Failed to reserve a room: Read timed out", exception.getMessage());
+        verify(bookingStateService).markCancelled(booking, true);
+        verify(bookingStateService, never()).markConfirmed(any());
+    }
+
+    @Test
+    void createGroupBooking_WhenAllRoomsAreHeld_ShouldConfirmEveryBookingInOneCall() {
+        CreateGroupBookingRequest request = new CreateGroupBookingRequest(List.of(1L, 2L, 1L),
+                createBookingRequest.getStartDate(), createBookingRequest.getEndDate());
+        List<Booking> saved = List.of(savedBooking, booking);
+        BatchHoldResponse held = new BatchHoldResponse(true, List.of(
+                new RoomHoldResult(1L, RoomHoldResult.Status.HELD), new RoomHoldResult(2L, RoomHoldResult.Status.HELD)));
+
+        when(userService.findByUsername("testuser")).thenReturn(user);
+        when(bookingStateService.createPendingGroup(anyList())).thenReturn(saved);
+        when(hotelServiceClient.holdRooms(any(BatchHoldRequest.class))).thenReturn(Mono.just(held));
+        when(bookingStateService.markGroupConfirmed(saved)).thenReturn(saved);
+        when(bookingMapper.toDtoList(saved)).thenReturn(List.of(bookingDto, bookingDto));
+
+        List<BookingDto> result = bookingService.createGroupBooking(request, "testuser");
+
+        assertEquals(2, result.size());
+        verify(bookingStateService).createPendingGroup(argThat(bookings -> bookings.size() == 2
+                && bookings.stream().map(Booking::getRequestId).distinct().count() == 1));
+        verify(hotelServiceClient).holdRooms(argThat(hold -> hold.getRoomIds().equals(List.of(1L, 2L))));
+        verify(hotelServiceClient, never()).confirmAvailability(anyLong(), any());
+    }
+
+    @Test
+    void createGroupBooking_WhenAnyRoomIsTaken_ShouldCancelWholeGroup() {
+        CreateGroupBookingRequest request = new CreateGroupBookingRequest(List.of(1L, 2L),
+                createBookingRequest.getStartDate(), createBookingRequest.getEndDate());
+        List<Booking> saved = List.of(savedBooking, booking);
+        BatchHoldResponse declined = new BatchHoldResponse(false, List.of(
+                new RoomHoldResult(1L, RoomHoldResult.Status.NOT_HELD), new RoomHoldResult(2L, RoomHoldResult.Status.TAKEN)));
+
+        when(userService.findByUsername("testuser")).thenReturn(user);
+        when(bookingStateService.createPendingGroup(anyList())).thenReturn(saved);
+        when(hotelServiceClient.holdRooms(any(BatchHoldRequest.class))).thenReturn(Mono.just(declined));
+        when(bookingStateService.markGroupCancelled(saved, false)).thenReturn(saved);
+        when(bookingMapper.toDtoList(saved)).thenReturn(List.of(bookingDto, bookingDto));
+
+        bookingService.createGroupBooking(request, "testuser");
+
+        verify(bookingStateService).markGroupCancelled(saved, false);
+        verify(bookingStateService, never()).markGroupConfirmed(any());
+    }
+
+    @Test
+    void createBookingAsync_ShouldReturnPendingBookingAndDispatchSaga() {
+        BookingDto pendingDto = new BookingDto();
+        pendingDto.setId(1L);
+        pendingDto.setRoomId(1L);
+        pendingDto.setStatus(Booking.Status.PENDING);
+
+        when(userService.findByUsername("testuser")).thenReturn(user);
+        when(bookingStateService.createPending(any(Booking.class))).thenReturn(booking);
+        when(bookingMapper.toDto(booking)).thenReturn(pendingDto);
+
+        BookingDto result = bookingService.createBookingAsync(createBookingRequest, "testuser");
+
+        assertNotNull(result);
+        assertEquals(Booking.Status.PENDING, result.getStatus());
+        assertEquals(Booking.Status.PENDING, booking.getStatus());
+
+        verify(bookingStateService).createPending(any(Booking.class));
+        verify(bookingSagaExecutor).execute(any(Runnable.class));
+    }
+
+    @Test
+    void createBookingAsync_WithAutoSelect_ShouldReserveRoomOnSagaExecutor() {
+        createBookingRequest.setRoomId(null);
+        createBookingRequest.setAutoSelect(true);
+        BookingDto pendingDto = new BookingDto();
+        pendingDto.setId(1L);
+        pendingDto.setStatus(Booking.Status.PENDING);
+
+        when(userService.findByUsername("testuser")).thenReturn(user);
+        when(bookingStateService.createPending(any(Booking.class))).thenReturn(booking);
+        when(bookingMapper.toDto(booking)).thenReturn(pendingDto);
+        ArgumentCaptor<Runnable> saga = ArgumentCaptor.forClass(Runnable.class);
+
+        BookingDto result = bookingService.createBookingAsync(createBookingRequest, "testuser");
+
+        assertEquals(Booking.Status.PENDING, result.getStatus());
+        verify(bookingSagaExecutor).execute(saga.capture());
+        verifyNoInteractions(hotelServiceClient);
+
+        when(hotelServiceClient.reserveAnyRoom(any(ReserveRoomRequest.class))).thenReturn(Mono.just(roomDto));
+        when(bookingStateService.assignRoom(booking, 1L)).thenReturn(savedBooking);
+        when(bookingStateService.markConfirmed(savedBooking)).thenReturn(savedBooking);
+        when(bookingMapper.toDto(savedBooking)).thenReturn(bookingDto);
+
+        saga.getValue().run();
+
+        verify(hotelServiceClient, never()).confirmAvailability(anyLong(), any());
+        verify(bookingStatusNotifier).publish(bookingDto);
+    }
+
+    @Test
+    void awaitBooking_WhenBookingAlreadyFinal_ShouldCompleteImmediately() {
+        Long bookingId = 1L;
+        ReflectionTestUtils.setField(bookingService, "maxWaitSeconds", 25L);
+        CompletableFuture<BookingDto> waiter = new CompletableFuture<>();
+
+        when(bookingStatusNotifier.subscribe(bookingId)).thenReturn(waiter);
+        when(userService.findByUsername("testuser")).thenReturn(user);
+        when(bookingRepository.findByIdAndUser(bookingId, user)).thenReturn(Optional.of(savedBooking));
+        when(bookingMapper.toDto(savedBooking)).thenReturn(bookingDto);
+
+        CompletableFuture<BookingDto> result = bookingService.awaitBooking(bookingId, "testuser", 10);
+
+        assertTrue(result.isDone());
+        assertEquals(Booking.Status.CONFIRMED, result.join().getStatus());
+        verify(bookingStatusNotifier).unsubscribe(bookingId, waiter);
+    }
+
+    @Test
+    void getUserBookings_ShouldReturnFirstPageWithNextCursor() {
+        List<Booking> bookings = Arrays.asList(savedBooking, booking);
         List<BookingDto> bookingDtos = Arrays.asList(bookingDto);
+        paginationProperties.setDefaultPageSize(1);
 
         when(userService.findByUsername("testuser")).thenReturn(user);
-        when(bookingRepository.findByUserOrderByCreatedAtDesc(user)).thenReturn(bookings);
-        when(bookingMapper.toDtoList(bookings)).thenReturn(bookingDtos);
+        when(bookingRepository.findByUserOrderByCreatedAtDescIdDesc(user, PageRequest.of(0, 2))).thenReturn(bookings);
+        when(bookingMapper.toDtoList(List.of(savedBooking))).thenReturn(bookingDtos);
 
-        List<BookingDto> result = bookingService.getUserBookings("testuser");
+        CursorPage<BookingDto> result = bookingService.getUserBookings("testuser", null, null);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(bookingDto.getId(), result.get(0).getId());
+        assertEquals(1, result.getItems().size());
+        assertEquals(bookingDto.getId(), result.getItems().get(0).getId());
+        assertEquals(CursorUtil.encode(savedBooking.getCreatedAt(), savedBooking.getId()), result.getNextCursor());
 
         verify(userService).findByUsername("testuser");
-        verify(bookingRepository).findByUserOrderByCreatedAtDesc(user);
-        verify(bookingMapper).toDtoList(bookings);
+        verify(bookingMapper).toDtoList(List.of(savedBooking));
+    }
+
+    @Test
+    void getUserBookings_WithCursor_ShouldContinueAfterLastBooking() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 10, 12, 30, 15);
+        String cursor = CursorUtil.encode(createdAt, 7L);
+
+        when(userService.findByUsername("testuser")).thenReturn(user);
+        when(bookingRepository.findByUserAfter(user, createdAt, 7L, PageRequest.of(0, 11))).thenReturn(List.of(savedBooking));
+        when(bookingMapper.toDtoList(List.of(savedBooking))).thenReturn(List.of(bookingDto));
+
+        CursorPage<BookingDto> result = bookingService.getUserBookings("testuser", cursor, 10);
+
+        assertEquals(1, result.getItems().size());
+        assertNull(result.getNextCursor());
+        verify(bookingRepository, never()).findByUserOrderByCreatedAtDescIdDesc(any(), any());
+    }
+
+    @Test
+    void getUserBookings_WithMalformedCursor_ShouldThrowBadRequest() {
+        when(userService.findByUsername("testuser")).thenReturn(user);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> bookingService.getUserBookings("testuser", CursorUtil.encode("yesterday", 7L), 10));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(bookingRepository);
     }
 
     @Test
@@ -180,7 +495,7 @@ class BookingServiceTest {
     }
 
     @Test
-    void cancelBooking_WhenBookingIsConfirmed_ShouldCancelAndReleaseRoom() {
+    void cancelBooking_ShouldLeaveReleaseDecisionToStateService() {
         Long bookingId = 1L;
         try (MockedStatic<CorrelationIdUtil> mockedStatic = mockStatic(CorrelationIdUtil.class)) {
             mockedStatic.when(CorrelationIdUtil::getCorrelationId).thenReturn("test-correlation-id");
@@ -188,14 +503,14 @@ class BookingServiceTest {
 
             when(userService.findByUsername("testuser")).thenReturn(user);
             when(bookingRepository.findByIdAndUser(bookingId, user)).thenReturn(Optional.of(savedBooking));
-            when(bookingRepository.save(any(Booking.class))).thenReturn(savedBooking);
 
             bookingService.cancelBooking(bookingId, "testuser");
 
-            assertEquals(Booking.Status.CANCELLED, savedBooking.getStatus());
             verify(userService).findByUsername("testuser");
             verify(bookingRepository).findByIdAndUser(bookingId, user);
-            verify(bookingRepository).save(savedBooking);
+            verify(bookingStateService).markCancelled(savedBooking, false);
+            verify(readYourWritesTracker).recordWrite("testuser");
+            verifyNoMoreInteractions(hotelServiceClient);
         }
     }
 
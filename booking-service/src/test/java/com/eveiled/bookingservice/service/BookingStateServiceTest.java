@@ -0,0 +1,127 @@
+package com.eveiled.bookingservice.service;
+
+import com.eveiled.bookingservice.entity.Booking;
+import com.eveiled.bookingservice.entity.OutboxEvent;
+import com.eveiled.bookingservice.repository.BookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingStateServiceTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @InjectMocks
+    private BookingStateService bookingStateService;
+
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        booking = new Booking();
+        booking.setId(1L);
+        booking.setRoomId(1L);
+        booking.setStartDate(LocalDateTime.now().plusDays(1));
+        booking.setEndDate(LocalDateTime.now().plusDays(3));
+        booking.setStatus(Booking.Status.PENDING);
+        booking.setCreatedAt(LocalDateTime.now());
+        booking.setRequestId("test-request-id");
+    }
+
+    @Test
+    void createPending_ShouldSaveBookingInPendingStatus() {
+        when(bookingRepository.save(booking)).thenReturn(booking);
+
+        Booking result = bookingStateService.createPending(booking);
+
+        assertEquals(Booking.Status.PENDING, result.getStatus());
+        verifyNoInteractions(outboxService);
+    }
+
+    @Test
+    void markConfirmed_ShouldUpdateStatusAndEnqueueIncrement() {
+        when(bookingRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(booking));
+
+        Booking result = bookingStateService.markConfirmed(booking);
+
+        assertEquals(Booking.Status.CONFIRMED, result.getStatus());
+        verify(outboxService).enqueue(OutboxEvent.Type.INCREMENT_TIMES_BOOKED, booking);
+    }
+
+    @Test
+    void markConfirmed_WhenCancelledMeanwhile_ShouldKeepCancelledAndEnqueueRelease() {
+        booking.setStatus(Booking.Status.CANCELLED);
+        when(bookingRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(booking));
+
+        Booking result = bookingStateService.markConfirmed(booking);
+
+        assertEquals(Booking.Status.CANCELLED, result.getStatus());
+        verify(outboxService).enqueue(OutboxEvent.Type.RELEASE_ROOM, booking);
+        verify(outboxService, never()).enqueue(eq(OutboxEvent.Type.INCREMENT_TIMES_BOOKED), any());
+    }
+
+    @Test
+    void markCancelled_WithHold_ShouldEnqueueRelease() {
+        when(bookingRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(booking));
+
+        bookingStateService.markCancelled(booking, true);
+
+        assertEquals(Booking.Status.CANCELLED, booking.getStatus());
+        verify(outboxService).enqueue(OutboxEvent.Type.RELEASE_ROOM, booking);
+    }
+
+    @Test
+    void markCancelled_WithoutHold_ShouldNotEnqueueAnything() {
+        when(bookingRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(booking));
+
+        bookingStateService.markCancelled(booking, false);
+
+        assertEquals(Booking.Status.CANCELLED, booking.getStatus());
+        verify(outboxService, never()).enqueue(any(), any());
+    }
+
+    @Test
+    void markCancelled_WhenConfirmedMeanwhile_ShouldEnqueueRelease() {
+        booking.setStatus(Booking.Status.CONFIRMED);
+        when(bookingRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(booking));
+
+        bookingStateService.markCancelled(booking, false);
+
+        assertEquals(Booking.Status.CANCELLED, booking.getStatus());
+        verify(outboxService).enqueue(OutboxEvent.Type.RELEASE_ROOM, booking);
+    }
+
+    @Test
+    void markGroupConfirmed_ShouldConfirmEveryBookingAndEnqueueIncrementPerRoom() {
+        Booking second = new Booking();
+        second.setId(2L);
+        second.setRoomId(2L);
+        second.setStatus(Booking.Status.PENDING);
+        second.setRequestId("test-request-id");
+        when(bookingRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(booking));
+        when(bookingRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(second));
+
+        List<Booking> result = bookingStateService.markGroupConfirmed(List.of(booking, second));
+
+        assertTrue(result.stream().allMatch(confirmed -> confirmed.getStatus() == Booking.Status.CONFIRMED));
+        verify(outboxService).enqueue(OutboxEvent.Type.INCREMENT_TIMES_BOOKED, booking);
+        verify(outboxService).enqueue(OutboxEvent.Type.INCREMENT_TIMES_BOOKED, second);
+    }
+}
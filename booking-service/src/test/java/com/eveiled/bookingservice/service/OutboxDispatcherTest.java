@@ -0,0 +1,134 @@
+package com.eveiled.bookingservice.service;
+
+import com.eveiled.bookingservice.client.HotelServiceClient;
+import com.eveiled.bookingservice.entity.OutboxEvent;
+import com.eveiled.bookingservice.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxDispatcherTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private HotelServiceClient hotelServiceClient;
+
+    private OutboxDispatcher outboxDispatcher;
+
+    @BeforeEach
+    void setUp() {
+        outboxDispatcher = new OutboxDispatcher(outboxEventRepository, hotelServiceClient, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(outboxDispatcher, "batchSize", 100);
+        ReflectionTestUtils.setField(outboxDispatcher, "concurrency", 4);
+        ReflectionTestUtils.setField(outboxDispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(outboxDispatcher, "minBackoff", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(outboxDispatcher, "maxBackoff", Duration.ofMinutes(1));
+    }
+
+    @Test
+    void dispatchPending_WhenDeliverySucceeds_ShouldMarkEventSent() {
+        OutboxEvent event = outboxEvent(OutboxEvent.Type.INCREMENT_TIMES_BOOKED, 0);
+        when(outboxEventRepository.findDue(any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(event));
+        when(hotelServiceClient.incrementTimesBooked(1L, "test-request-id", "INCREMENT_TIMES_BOOKED:test-request-id"))
+                .thenReturn(Mono.empty());
+
+        outboxDispatcher.dispatchPending();
+
+        assertEquals(OutboxEvent.Status.SENT, event.getStatus());
+        assertNotNull(event.getSentAt());
+        verify(outboxEventRepository).saveAll(List.of(event));
+    }
+
+    @Test
+    void dispatchPending_WhenDeliveryFails_ShouldScheduleRetryWithBackoff() {
+        OutboxEvent event = outboxEvent(OutboxEvent.Type.RELEASE_ROOM, 0);
+        when(outboxEventRepository.findDue(any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(event));
+        when(hotelServiceClient.releaseRoom(1L, "test-request-id", "RELEASE_ROOM:test-request-id"))
+                .thenReturn(Mono.error(new RuntimeException("hotel-service unavailable")));
+
+        outboxDispatcher.dispatchPending();
+
+        assertEquals(OutboxEvent.Status.PENDING, event.getStatus());
+        assertEquals(1, event.getAttempts());
+        assertTrue(event.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        assertTrue(event.getLastError().contains("hotel-service unavailable"));
+    }
+
+    @Test
+    void dispatchPending_WhenAttemptsExhausted_ShouldMarkEventFailed() {
+        OutboxEvent event = outboxEvent(OutboxEvent.Type.RELEASE_ROOM, 2);
+        when(outboxEventRepository.findDue(any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(event));
+        when(hotelServiceClient.releaseRoom(1L, "test-request-id", "RELEASE_ROOM:test-request-id"))
+                .thenReturn(Mono.error(new RuntimeException("hotel-service unavailable")));
+
+        outboxDispatcher.dispatchPending();
+
+        assertEquals(OutboxEvent.Status.FAILED, event.getStatus());
+        assertEquals(3, event.getAttempts());
+    }
+
+    @Test
+    void dispatchPending_WhenReleaseHasNoRoom_ShouldReleaseByRequestId() {
+        OutboxEvent event = outboxEvent(OutboxEvent.Type.RELEASE_ROOM, 0);
+        event.setRoomId(null);
+        when(outboxEventRepository.findDue(any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(event));
+        when(hotelServiceClient.releaseRequest("test-request-id", "RELEASE_ROOM:test-request-id")).thenReturn(Mono.empty());
+
+        outboxDispatcher.dispatchPending();
+
+        assertEquals(OutboxEvent.Status.SENT, event.getStatus());
+        verify(hotelServiceClient, never()).releaseRoom(any(), any(), any());
+    }
+
+    @Test
+    void dispatchPending_WhenRequestHasSeveralEvents_ShouldDeliverThemInOrder() {
+        OutboxEvent increment = outboxEvent(OutboxEvent.Type.INCREMENT_TIMES_BOOKED, 0);
+        OutboxEvent release = outboxEvent(OutboxEvent.Type.RELEASE_ROOM, 0);
+        release.setId(2L);
+        List<OutboxEvent.Type> delivered = new CopyOnWriteArrayList<>();
+        when(outboxEventRepository.findDue(any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(increment, release));
+        when(hotelServiceClient.incrementTimesBooked(1L, "test-request-id", "INCREMENT_TIMES_BOOKED:test-request-id"))
+                .thenReturn(Mono.delay(Duration.ofMillis(100))
+                        .then(Mono.fromRunnable(() -> delivered.add(OutboxEvent.Type.INCREMENT_TIMES_BOOKED))));
+        when(hotelServiceClient.releaseRoom(1L, "test-request-id", "RELEASE_ROOM:test-request-id"))
+                .thenReturn(Mono.fromRunnable(() -> delivered.add(OutboxEvent.Type.RELEASE_ROOM)));
+
+        outboxDispatcher.dispatchPending();
+
+        assertEquals(List.of(OutboxEvent.Type.INCREMENT_TIMES_BOOKED, OutboxEvent.Type.RELEASE_ROOM), delivered);
+        assertEquals(OutboxEvent.Status.SENT, release.getStatus());
+    }
+
+    private OutboxEvent outboxEvent(OutboxEvent.Type type, int attempts) {
+        OutboxEvent event = new OutboxEvent();
+        event.setId(1L);
+        event.setType(type);
+        event.setBookingId(1L);
+        event.setRoomId(1L);
+        event.setRequestId("test-request-id");
+        event.setIdempotencyKey(type.name() + ":test-request-id");
+        event.setStatus(OutboxEvent.Status.PENDING);
+        event.setAttempts(attempts);
+        event.setNextAttemptAt(LocalDateTime.now());
+        event.setCreatedAt(LocalDateTime.now());
+        return event;
+    }
+}
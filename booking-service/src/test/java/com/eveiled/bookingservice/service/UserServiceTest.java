@@ -1,19 +1,25 @@
 package com.eveiled.bookingservice.service;
 
+import com.eveiled.bookingservice.config.PaginationProperties;
+import com.eveiled.bookingservice.config.ReadYourWritesTracker;
 import com.eveiled.bookingservice.dto.AuthResponse;
+import com.eveiled.bookingservice.dto.CursorPage;
 import com.eveiled.bookingservice.dto.LoginRequest;
 import com.eveiled.bookingservice.dto.RegisterRequest;
 import com.eveiled.bookingservice.dto.UserDto;
 import com.eveiled.bookingservice.entity.User;
 import com.eveiled.bookingservice.mapper.BookingMapper;
 import com.eveiled.bookingservice.repository.UserRepository;
+import com.eveiled.bookingservice.util.CursorUtil;
 import com.eveiled.bookingservice.util.JwtUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -44,6 +50,12 @@ class UserServiceTest {
     @Mock
     private JwtUtil jwtUtil;
 
+    @Spy
+    private PaginationProperties paginationProperties = new PaginationProperties();
+
+    @Mock
+    private ReadYourWritesTracker readYourWritesTracker;
+
     @InjectMocks
     private UserService userService;
 
@@ -101,6 +113,7 @@ class UserServiceTest {
         verify(userRepository).save(any(User.class));
         verify(jwtUtil).generateToken("testuser", "USER");
         verify(bookingMapper).toUserDto(user);
+        verify(readYourWritesTracker).recordWrite("testuser");
     }
 
     @Test
@@ -124,21 +137,25 @@ class UserServiceTest {
     }
 
     @Test
-    void getAllUsers_ShouldReturnAllUsers() {
-        List<User> users = List.of(user);
-        List<UserDto> userDtos = List.of(userDto);
-        
-        when(userRepository.findAll()).thenReturn(users);
+    void getAllUsers_ShouldReturnPageAfterCursor() {
+        User next = new User();
+        next.setId(2L);
+        next.setUsername("nextuser");
+        List<User> users = List.of(user, next);
+        paginationProperties.setDefaultPageSize(1);
+
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 2))).thenReturn(users);
         when(bookingMapper.toUserDto(user)).thenReturn(userDto);
 
-        List<UserDto> result = userService.getAllUsers();
+        CursorPage<UserDto> result = userService.getAllUsers(null, null);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(userDto.getUsername(), result.get(0).getUsername());
+        assertEquals(1, result.getItems().size());
+        assertEquals(userDto.getUsername(), result.getItems().get(0).getUsername());
+        assertEquals(CursorUtil.encode(1L), result.getNextCursor());
 
-        verify(userRepository).findAll();
         verify(bookingMapper).toUserDto(user);
+        verify(bookingMapper, never()).toUserDto(next);
     }
 
     @Test
@@ -1,9 +1,14 @@
 package com.eveiled.hotelservice;
 
+import com.eveiled.hotelservice.config.PaginationProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableConfigurationProperties(PaginationProperties.class)
+@EnableScheduling
 public class HotelServiceApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,42 @@
+package com.eveiled.hotelservice.config;
+
+import com.eveiled.hotelservice.util.DeadlineUtil;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Filter that reads the caller's end-to-end deadline so expired work can be dropped.
+ */
+@Component
+@Order(2)
+@Slf4j
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                  HttpServletResponse response,
+                                  FilterChain filterChain) throws ServletException, IOException {
+
+        try {
+            Instant deadline = DeadlineUtil.parse(request.getHeader(DeadlineUtil.DEADLINE_HEADER));
+            if (deadline != null) {
+                log.debug("Using request deadline: {}", deadline);
+                DeadlineUtil.setDeadline(deadline);
+            }
+
+            filterChain.doFilter(request, response);
+
+        } finally {
+            DeadlineUtil.clear();
+        }
+    }
+}
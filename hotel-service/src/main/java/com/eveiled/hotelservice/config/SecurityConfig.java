@@ -30,7 +30,7 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .headers(headers -> headers.frameOptions(frame -> frame.disable()))
                 .authorizeHttpRequests(authz -> authz
-                        .requestMatchers("/api/rooms/{id}/confirm-availability", "/api/rooms/{id}/release", "/api/rooms/recommend", "/api/rooms/{id}/increment-bookings", "/h2-console/**", "/swagger-ui/**", "/v3/api-docs/**", "/swagger-resources/**", "/webjars/**")
+                        .requestMatchers("/api/rooms/{id}/confirm-availability", "/api/rooms/{id}/release", "/api/rooms/release", "/api/rooms/recommend", "/api/rooms/reserve-any", "/api/rooms/hold-batch", "/api/rooms/{id}/increment-bookings", "/h2-console/**", "/swagger-ui/**", "/v3/api-docs/**", "/swagger-resources/**", "/webjars/**")
                         .permitAll()
                         .anyRequest().authenticated()
                 )
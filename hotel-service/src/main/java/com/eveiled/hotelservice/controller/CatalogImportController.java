@@ -0,0 +1,72 @@
+package com.eveiled.hotelservice.controller;
+
+import com.eveiled.hotelservice.dto.ImportLineError;
+import com.eveiled.hotelservice.dto.ImportReport;
+import com.eveiled.hotelservice.service.CatalogImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+@RestController
+@RequestMapping("/api/hotels/import")
+@RequiredArgsConstructor
+@Tag(name = "Catalog Import", description = "API for bulk import of hotels and rooms")
+public class CatalogImportController {
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final CatalogImportService catalogImportService;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping(consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE}, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Import rooms", description = "Only ADMIN can import. Streams NDJSON or CSV rows in and streams back "
+            + "one line per rejected row, progress after every committed batch and the final report")
+    public void importRooms(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                            InputStream body,
+                            HttpServletResponse response) throws IOException {
+        CatalogImportService.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? CatalogImportService.Format.NDJSON
+                : CatalogImportService.Format.CSV;
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+
+        ImportReport report = catalogImportService.importRooms(body, format, new CatalogImportService.Listener() {
+            @Override
+            public void onError(ImportLineError error) {
+                writeLine(out, error);
+            }
+
+            @Override
+            public void onProgress(ImportReport progress) {
+                writeLine(out, progress);
+            }
+        });
+        writeLine(out, report);
+    }
+
+    // Каждая строка отправляется сразу, чтобы клиент видел ход импорта
+    private void writeLine(OutputStream out, Object line) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(line));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.eveiled.hotelservice.controller;
 
+import com.eveiled.hotelservice.dto.BulkUpdateResult;
 import com.eveiled.hotelservice.dto.HotelDto;
+import com.eveiled.hotelservice.dto.NightAvailability;
+import com.eveiled.hotelservice.dto.RoomDto;
 import com.eveiled.hotelservice.service.HotelService;
+import com.eveiled.hotelservice.util.CursorUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -12,6 +17,8 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -31,10 +38,10 @@ public class HotelController {
     }
     
     @GetMapping
-    @Operation(summary = "Get all hotels", description = "Get list of all hotels")
-    public ResponseEntity<List<HotelDto>> getAllHotels() {
-        List<HotelDto> hotels = hotelService.getAllHotels();
-        return ResponseEntity.ok(hotels);
+    @Operation(summary = "Get all hotels", description = "Get a page of hotels ordered by id; pass the X-Next-Cursor header value as cursor for the next page")
+    public ResponseEntity<List<HotelDto>> getAllHotels(@RequestParam(required = false) String cursor,
+                                                       @RequestParam(required = false) Integer size) {
+        return CursorUtil.toResponse(hotelService.getAllHotels(cursor, size));
     }
     
     @GetMapping("/{id}")
@@ -44,6 +51,39 @@ public class HotelController {
         return ResponseEntity.ok(hotel);
     }
     
+    @GetMapping("/{id}/rooms")
+    @Operation(summary = "Get hotel rooms", description = "Get all rooms of the hotel ordered by id")
+    public ResponseEntity<List<RoomDto>> getHotelRooms(@PathVariable Long id) {
+        return ResponseEntity.ok(hotelService.getHotelRooms(id));
+    }
+    
+    @GetMapping("/{id}/calendar")
+    @Operation(summary = "Get hotel availability calendar", description = "Number of free rooms of the hotel for each of days nights starting at from (tonight by default)")
+    public ResponseEntity<List<NightAvailability>> getCalendar(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(defaultValue = "90") int days) {
+        return ResponseEntity.ok(hotelService.getCalendar(id, from, days));
+    }
+    
+    @GetMapping("/{id}/calendar/free-rooms")
+    @Operation(summary = "Get hotel rooms free for a stay", description = "Ids of the hotel rooms free for every night of the stay")
+    public ResponseEntity<List<Long>> getRoomsFreeForStay(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        return ResponseEntity.ok(hotelService.getRoomsFreeForStay(id, startDate, endDate));
+    }
+    
+    @PutMapping("/{id}/rooms/availability")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Change availability of hotel rooms", description = "Only ADMIN: opens or closes all rooms of the hotel, or those whose number starts with numberPrefix (e.g. a floor), in one statement")
+    public ResponseEntity<BulkUpdateResult> updateRoomsAvailability(@PathVariable Long id,
+                                                                    @RequestParam boolean available,
+                                                                    @RequestParam(required = false) String numberPrefix) {
+        return ResponseEntity.ok(new BulkUpdateResult(hotelService.updateRoomsAvailability(id, numberPrefix, available)));
+    }
+    
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Update hotel", description = "Only ADMIN can update hotels")
@@ -54,7 +94,7 @@ public class HotelController {
     
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Delete hotel", description = "Only ADMIN can delete hotels")
+    @Operation(summary = "Delete hotel", description = "Only ADMIN can delete hotels; rooms and their reservations are removed by bulk statements")
     public ResponseEntity<Void> deleteHotel(@PathVariable Long id) {
         hotelService.deleteHotel(id);
         return ResponseEntity.noContent().build();
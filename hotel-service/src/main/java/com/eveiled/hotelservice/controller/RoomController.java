@@ -1,24 +1,37 @@
 package com.eveiled.hotelservice.controller;
 
 import com.eveiled.hotelservice.dto.AvailabilityRequest;
+import com.eveiled.hotelservice.dto.BatchHoldRequest;
+import com.eveiled.hotelservice.dto.BatchHoldResponse;
+import com.eveiled.hotelservice.dto.BulkUpdateResult;
+import com.eveiled.hotelservice.dto.ReserveRoomRequest;
 import com.eveiled.hotelservice.dto.RoomDto;
 import com.eveiled.hotelservice.service.RoomService;
+import com.eveiled.hotelservice.util.CursorUtil;
+import com.eveiled.hotelservice.util.DeadlineUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/rooms")
 @RequiredArgsConstructor
+@Slf4j
 @Tag(name = "Room Management", description = "API for managing rooms")
 public class RoomController {
     
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final RoomService roomService;
     
     @PostMapping
@@ -30,37 +43,93 @@ public class RoomController {
     }
     
     @GetMapping
-    @Operation(summary = "Get all available rooms", description = "Get list of all available rooms")
-    public ResponseEntity<List<RoomDto>> getAllAvailableRooms() {
-        List<RoomDto> rooms = roomService.getAllAvailableRooms();
-        return ResponseEntity.ok(rooms);
+    @Operation(summary = "Get all available rooms", description = "Get a page of available rooms ordered by id; pass the X-Next-Cursor header value as cursor for the next page")
+    public ResponseEntity<List<RoomDto>> getAllAvailableRooms(@RequestParam(required = false) String cursor,
+                                                              @RequestParam(required = false) Integer size) {
+        return CursorUtil.toResponse(roomService.getAllAvailableRooms(cursor, size));
     }
     
     @GetMapping("/recommend")
-    @Operation(summary = "Get recommended rooms", description = "Get rooms sorted by times booked (ascending)")
-    public ResponseEntity<List<RoomDto>> getRecommendedRooms() {
-        List<RoomDto> rooms = roomService.getRecommendedRooms();
+    @Operation(summary = "Get recommended rooms", description = "Get up to limit rooms free tonight, sorted by times booked (ascending); pass the X-Next-Cursor header value as cursor for the next page")
+    public ResponseEntity<List<RoomDto>> getRecommendedRooms(@RequestParam(required = false) String cursor,
+                                                             @RequestParam(defaultValue = "10") int limit) {
+        rejectIfDeadlineExceeded();
+        return CursorUtil.toResponse(roomService.getRecommendedRooms(cursor, limit));
+    }
+    
+    @GetMapping("/available")
+    @Operation(summary = "Search rooms free for dates", description = "Get rooms with no hold or booking for any night of the stay, optionally within a hotel")
+    public ResponseEntity<List<RoomDto>> searchAvailableRooms(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) Long hotelId) {
+        List<RoomDto> rooms = roomService.searchAvailableRooms(hotelId, startDate, endDate);
         return ResponseEntity.ok(rooms);
     }
     
     @PostMapping("/{id}/confirm-availability")
     @Operation(summary = "Confirm room availability", description = "Internal API for confirming room availability")
     public ResponseEntity<Boolean> confirmAvailability(@PathVariable Long id, @RequestBody AvailabilityRequest request) {
+        rejectIfDeadlineExceeded();
         boolean available = roomService.confirmAvailability(id, request);
         return ResponseEntity.ok(available);
     }
     
+    @PostMapping("/reserve-any")
+    @Operation(summary = "Reserve any available room", description = "Internal API: atomically picks and holds the least booked free room, optionally within a hotel; 204 if none is free")
+    public ResponseEntity<RoomDto> reserveAnyRoom(@RequestBody ReserveRoomRequest request) {
+        rejectIfDeadlineExceeded();
+        return roomService.reserveAnyAvailableRoom(request)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+    
+    @PostMapping("/hold-batch")
+    @Operation(summary = "Hold a group of rooms", description = "Internal API: holds all listed rooms for the same stay in one transaction, or none of them; the response has a result per room")
+    public ResponseEntity<BatchHoldResponse> holdRooms(@RequestBody BatchHoldRequest request) {
+        rejectIfDeadlineExceeded();
+        return ResponseEntity.ok(roomService.holdRooms(request));
+    }
+    
     @PostMapping("/{id}/release")
     @Operation(summary = "Release room", description = "Internal API for releasing room block")
-    public ResponseEntity<Void> releaseRoom(@PathVariable Long id, @RequestParam String requestId) {
+    public ResponseEntity<Void> releaseRoom(@PathVariable Long id, @RequestParam String requestId,
+                                            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        log.debug("Release of room {} [idempotencyKey={}]", id, idempotencyKey);
         roomService.releaseRoom(id, requestId);
         return ResponseEntity.ok().build();
     }
     
+    @PostMapping("/release")
+    @Operation(summary = "Release request", description = "Internal API for releasing every room held by a request")
+    public ResponseEntity<Void> releaseRequest(@RequestParam String requestId,
+                                               @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        log.debug("Release of request {} [idempotencyKey={}]", requestId, idempotencyKey);
+        roomService.releaseRoomsByRequestId(requestId);
+        return ResponseEntity.ok().build();
+    }
+    
+    @PostMapping("/release-batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Release requests in bulk", description = "Only ADMIN: frees every night held or booked by the listed request ids in one statement")
+    public ResponseEntity<BulkUpdateResult> releaseRequests(@RequestBody List<String> requestIds) {
+        return ResponseEntity.ok(new BulkUpdateResult(roomService.releaseRequests(requestIds)));
+    }
+    
     @PostMapping("/{id}/increment-bookings")
-    @Operation(summary = "Increment times booked", description = "Internal API for incrementing times booked")
-    public ResponseEntity<Void> incrementTimesBooked(@PathVariable Long id) {
-        roomService.incrementTimesBooked(id);
+    @Operation(summary = "Increment times booked", description = "Internal API for incrementing times booked; idempotent when requestId is given")
+    public ResponseEntity<Void> incrementTimesBooked(@PathVariable Long id, @RequestParam(required = false) String requestId,
+                                                     @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        log.debug("Increment of times booked for room {} [idempotencyKey={}]", id, idempotencyKey);
+        roomService.incrementTimesBooked(id, requestId);
         return ResponseEntity.ok().build();
     }
+
+    // Вызывающий уже перестал ждать ответа - не тратим на запрос ни блокировку, ни соединение с БД
+    private void rejectIfDeadlineExceeded() {
+        if (DeadlineUtil.isExpired()) {
+            log.warn("DEADLINE_EXCEEDED: Dropping request, caller deadline {} has passed", DeadlineUtil.getDeadline());
+            throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Request deadline exceeded");
+        }
+    }
 }
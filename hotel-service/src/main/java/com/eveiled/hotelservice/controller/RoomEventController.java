@@ -0,0 +1,33 @@
+package com.eveiled.hotelservice.controller;
+
+import com.eveiled.hotelservice.service.RoomEventStream;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/rooms/events")
+@RequiredArgsConstructor
+@Tag(name = "Room Events", description = "Push stream of room availability changes")
+public class RoomEventController {
+
+    private static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+
+    private final RoomEventStream roomEventStream;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream room changes", description = "Server-Sent Events with every committed hold, confirmation, release, expiry "
+            + "and availability change, optionally of one hotel; resumes after the Last-Event-ID header or the since parameter")
+    public SseEmitter streamEvents(@RequestParam(required = false) Long hotelId,
+                                   @RequestParam(required = false) Long since,
+                                   @RequestHeader(value = LAST_EVENT_ID_HEADER, required = false) Long lastEventId) {
+        return roomEventStream.subscribe(hotelId, lastEventId != null ? lastEventId : since);
+    }
+}
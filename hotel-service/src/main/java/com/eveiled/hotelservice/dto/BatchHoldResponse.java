@@ -0,0 +1,15 @@
+package com.eveiled.hotelservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchHoldResponse {
+    private boolean held;
+    private List<RoomHoldResult> rooms;
+}
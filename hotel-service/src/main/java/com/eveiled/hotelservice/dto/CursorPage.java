@@ -0,0 +1,29 @@
+package com.eveiled.hotelservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+
+    /**
+     * Builds a page from a query that fetched {@code pageSize + 1} rows: the extra row only
+     * tells that there is a next page and is not returned.
+     */
+    public static <E, T> CursorPage<T> of(List<E> fetched, int pageSize,
+                                          Function<List<E>, List<T>> mapper,
+                                          Function<E, String> cursorOf) {
+        boolean hasMore = fetched.size() > pageSize;
+        List<E> page = hasMore ? fetched.subList(0, pageSize) : fetched;
+        String nextCursor = hasMore ? cursorOf.apply(page.get(page.size() - 1)) : null;
+        return new CursorPage<>(mapper.apply(page), nextCursor);
+    }
+}
@@ -0,0 +1,13 @@
+package com.eveiled.hotelservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportLineError {
+    private long line;
+    private String error;
+}
@@ -0,0 +1,16 @@
+package com.eveiled.hotelservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReport {
+    private long lines;
+    private long roomsImported;
+    private long hotelsCreated;
+    private long failedLines;
+    private boolean done;
+}
@@ -0,0 +1,17 @@
+package com.eveiled.hotelservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReserveRoomRequest {
+    private String requestId;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private Long hotelId;
+}
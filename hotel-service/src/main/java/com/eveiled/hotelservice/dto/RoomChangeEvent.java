@@ -0,0 +1,25 @@
+package com.eveiled.hotelservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * One committed change of room availability as pushed to event stream subscribers.
+ * {@code hotelId} is null when the change is not limited to one hotel.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomChangeEvent {
+    private long sequence;
+    private String type;
+    private Long hotelId;
+    private Long roomId;
+    private String requestId;
+    private LocalDate fromNight;
+    private LocalDate toNight;
+    private Boolean available;
+}
@@ -0,0 +1,20 @@
+package com.eveiled.hotelservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of a catalog import: a room of an existing hotel ({@code hotelId}) or of a hotel
+ * identified by name and address, which is created on first use.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomImportRow {
+    private Long hotelId;
+    private String hotelName;
+    private String hotelAddress;
+    private String number;
+    private Boolean available;
+}
@@ -2,20 +2,28 @@ package com.eveiled.hotelservice.entity;
 
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
 @Entity
 @Table(name = "hotels")
-@Data
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "hotels")
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 public class Hotel {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "hotels_seq")
+    @SequenceGenerator(name = "hotels_seq", sequenceName = "hotels_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -24,6 +32,22 @@ public class Hotel {
     @Column(nullable = false)
     private String address;
     
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "hotel-rooms")
     @OneToMany(mappedBy = "hotel", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @OrderBy("id")
+    @ToString.Exclude
     private List<Room> rooms;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof Hotel other && id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Hotel.class.hashCode();
+    }
 }
@@ -0,0 +1,49 @@
+package com.eveiled.hotelservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One night of one room taken by a booking request. The unique (room_id, night) pair
+ * is what prevents double booking; a stay of N nights is N rows.
+ */
+@Entity
+@Table(name = "reservation_nights",
+       uniqueConstraints = @UniqueConstraint(name = "uk_reservation_nights_room_night", columnNames = {"room_id", "night"}),
+       indexes = @Index(name = "idx_reservation_nights_request", columnList = "request_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationNight {
+
+    public enum Status {
+        HELD,
+        CONFIRMED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "room_id", nullable = false)
+    private Long roomId;
+
+    @Column(nullable = false)
+    private LocalDate night;
+
+    @Column(name = "request_id", nullable = false)
+    private String requestId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    // Только для HELD: после этого момента ночь считается свободной
+    @Column(name = "held_until")
+    private LocalDateTime heldUntil;
+}
@@ -2,24 +2,40 @@ package com.eveiled.hotelservice.entity;
 
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
-
-import java.time.LocalDateTime;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
-@Table(name = "rooms")
-@Data
+@Table(name = "rooms", indexes = {
+        @Index(name = "idx_rooms_available_id", columnList = "available, id"),
+        @Index(name = "idx_rooms_available_times_booked", columnList = "available, times_booked, id")
+})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "rooms")
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 public class Room {
     
+    /**
+     * Sequence increment, and so the size of the id blocks handed out by {@code rooms_seq}.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+    
+    // Пул id из последовательности: без IDENTITY Hibernate и импорт могут вставлять номера пакетами
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rooms_seq")
+    @SequenceGenerator(name = "rooms_seq", sequenceName = "rooms_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "hotel_id", nullable = false)
+    @ToString.Exclude
     private Hotel hotel;
     
     @Column(nullable = false)
@@ -30,10 +46,18 @@ public class Room {
     
     @Column(nullable = false)
     private Integer timesBooked = 0;
-    
-    @Column
-    private LocalDateTime blockedUntil;
-    
-    @Column
-    private String blockedByRequestId;
+
+    // Равенство по id: не трогает ленивые связи и одинаково работает для прокси Hibernate
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof Room other && id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Room.class.hashCode();
+    }
 }
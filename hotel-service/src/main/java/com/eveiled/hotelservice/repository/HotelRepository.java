@@ -1,9 +1,32 @@
 package com.eveiled.hotelservice.repository;
 
 import com.eveiled.hotelservice.entity.Hotel;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface HotelRepository extends JpaRepository<Hotel, Long> {
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<Hotel> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    Optional<Hotel> findFirstByNameAndAddress(String name, String address);
+
+    @EntityGraph(attributePaths = "rooms")
+    Optional<Hotel> findWithRoomsById(Long id);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM Hotel h WHERE h.id = :id")
+    int deleteHotelById(@Param("id") Long id);
 }
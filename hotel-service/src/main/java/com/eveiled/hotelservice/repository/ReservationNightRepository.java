@@ -0,0 +1,99 @@
+package com.eveiled.hotelservice.repository;
+
+import com.eveiled.hotelservice.entity.ReservationNight;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static com.eveiled.hotelservice.entity.ReservationNight.Status.CONFIRMED;
+import static com.eveiled.hotelservice.entity.ReservationNight.Status.HELD;
+
+@Repository
+public interface ReservationNightRepository extends JpaRepository<ReservationNight, Long>, ReservationNightRepositoryCustom {
+
+    /**
+     * Nights of one request on one room, folded into a single stay. A stay is confirmed
+     * when {@code heldUntil} is null.
+     */
+    interface ReservationSpan {
+        Long getRoomId();
+        String getRequestId();
+        LocalDate getFirstNight();
+        LocalDate getLastNight();
+        LocalDateTime getHeldUntil();
+    }
+
+    Optional<ReservationNight> findFirstByRequestId(String requestId);
+
+    @Query("SELECT n.roomId AS roomId, n.requestId AS requestId, MIN(n.night) AS firstNight, " +
+           "MAX(n.night) AS lastNight, MAX(n.heldUntil) AS heldUntil " +
+           "FROM ReservationNight n GROUP BY n.roomId, n.requestId")
+    List<ReservationSpan> findAllSpans();
+
+    List<ReservationNight> findByRoomIdOrderByNight(Long roomId);
+
+    /**
+     * Frees nights in {@code [fromNight, toNight)} whose hold has run out, so a new stay can take them.
+     */
+    default int deleteExpiredHolds(Long roomId, LocalDate fromNight, LocalDate toNight, LocalDateTime now) {
+        return deleteExpired(roomId, fromNight, toNight, HELD, now);
+    }
+
+    default int deleteHolds(Long roomId, String requestId) {
+        return deleteByStatus(roomId, requestId, HELD);
+    }
+
+    /**
+     * Turns the holds of {@code requestId} into confirmed nights. A repeated call finds nothing to update.
+     */
+    default int confirmHolds(Long roomId, String requestId) {
+        return updateStatus(roomId, requestId, HELD, CONFIRMED);
+    }
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM ReservationNight n WHERE n.roomId = :roomId AND n.requestId = :requestId")
+    int release(@Param("roomId") Long roomId, @Param("requestId") String requestId);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM ReservationNight n WHERE n.requestId = :requestId")
+    int releaseByRequestId(@Param("requestId") String requestId);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM ReservationNight n WHERE n.requestId IN :requestIds")
+    int releaseByRequestIds(@Param("requestIds") Collection<String> requestIds);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM ReservationNight n WHERE n.roomId IN (SELECT r.id FROM Room r WHERE r.hotel.id = :hotelId)")
+    int deleteByHotelId(@Param("hotelId") Long hotelId);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM ReservationNight n WHERE n.roomId = :roomId AND n.night >= :fromNight AND n.night < :toNight " +
+           "AND n.status = :status AND n.heldUntil < :now")
+    int deleteExpired(@Param("roomId") Long roomId,
+                      @Param("fromNight") LocalDate fromNight,
+                      @Param("toNight") LocalDate toNight,
+                      @Param("status") ReservationNight.Status status,
+                      @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM ReservationNight n WHERE n.roomId = :roomId AND n.requestId = :requestId AND n.status = :status")
+    int deleteByStatus(@Param("roomId") Long roomId,
+                       @Param("requestId") String requestId,
+                       @Param("status") ReservationNight.Status status);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE ReservationNight n SET n.status = :newStatus, n.heldUntil = NULL " +
+           "WHERE n.roomId = :roomId AND n.requestId = :requestId AND n.status = :status")
+    int updateStatus(@Param("roomId") Long roomId,
+                     @Param("requestId") String requestId,
+                     @Param("status") ReservationNight.Status status,
+                     @Param("newStatus") ReservationNight.Status newStatus);
+}
@@ -0,0 +1,24 @@
+package com.eveiled.hotelservice.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ReservationNightRepositoryCustom {
+
+    /**
+     * Inserts HELD rows for all nights in one JDBC batch. Returns false if any night is already
+     * taken; some rows of the batch may have been written by then, so the caller must roll back
+     * its transaction instead of committing.
+     */
+    boolean insertHolds(Long roomId, String requestId, List<LocalDate> nights, LocalDateTime heldUntil);
+
+    /**
+     * Deletes the nights of each hold that is still HELD and ran out before {@code now}, one JDBC batch
+     * for all holds. Holds confirmed or extended in the meantime are left alone. Returns the holds that were deleted.
+     */
+    List<HoldRef> deleteExpiredHolds(List<HoldRef> holds, LocalDateTime now);
+
+    record HoldRef(Long roomId, String requestId) {
+    }
+}
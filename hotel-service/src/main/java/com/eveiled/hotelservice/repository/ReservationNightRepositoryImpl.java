@@ -0,0 +1,69 @@
+package com.eveiled.hotelservice.repository;
+
+import com.eveiled.hotelservice.entity.ReservationNight;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationNightRepositoryImpl implements ReservationNightRepositoryCustom {
+
+    private static final String INSERT_HOLD =
+            "INSERT INTO reservation_nights (room_id, night, request_id, status, held_until) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String DELETE_EXPIRED_HOLD =
+            "DELETE FROM reservation_nights WHERE room_id = ? AND request_id = ? AND status = ? AND held_until < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public boolean insertHolds(Long roomId, String requestId, List<LocalDate> nights, LocalDateTime heldUntil) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_HOLD, nights, nights.size(), (ps, night) -> {
+                ps.setLong(1, roomId);
+                ps.setDate(2, Date.valueOf(night));
+                ps.setString(3, requestId);
+                ps.setString(4, ReservationNight.Status.HELD.name());
+                ps.setTimestamp(5, Timestamp.valueOf(heldUntil));
+            });
+            return true;
+        } catch (DataIntegrityViolationException | ConcurrencyFailureException e) {
+            // Уникальный ключ (room_id, night) занят другим запросом, в том числе еще не закоммиченным
+            log.debug("Nights {} of room {} are already taken: {}", nights, roomId, e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public List<HoldRef> deleteExpiredHolds(List<HoldRef> holds, LocalDateTime now) {
+        int[][] deleted = jdbcTemplate.batchUpdate(DELETE_EXPIRED_HOLD, holds, holds.size(), (ps, hold) -> {
+            ps.setLong(1, hold.roomId());
+            ps.setString(2, hold.requestId());
+            ps.setString(3, ReservationNight.Status.HELD.name());
+            ps.setTimestamp(4, Timestamp.valueOf(now));
+        });
+        List<HoldRef> expired = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : deleted) {
+            for (int rows : batch) {
+                // SUCCESS_NO_INFO: драйвер не сообщил число строк - считаем бронь снятой, повторное событие безвредно
+                if (rows > 0 || rows == Statement.SUCCESS_NO_INFO) {
+                    expired.add(holds.get(index));
+                }
+                index++;
+            }
+        }
+        return expired;
+    }
+}
@@ -1,25 +1,93 @@
 package com.eveiled.hotelservice.repository;
 
+import com.eveiled.hotelservice.dto.RoomDto;
 import com.eveiled.hotelservice.entity.Room;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface RoomRepository extends JpaRepository<Room, Long> {
+public interface RoomRepository extends JpaRepository<Room, Long>, RoomRepositoryCustom {
     
-    List<Room> findByAvailableTrue();
+    /**
+     * Region of the cached room listings; the times_booked flush evicts it because it bypasses Hibernate.
+     */
+    String LISTINGS_CACHE_REGION = "room-listings";
     
-    @Query("SELECT r FROM Room r WHERE r.available = true ORDER BY r.timesBooked ASC, r.id ASC")
-    List<Room> findAvailableRoomsOrderedByTimesBooked();
+    String ROOM_DTO = "SELECT new com.eveiled.hotelservice.dto.RoomDto(r.id, r.hotel.id, r.number, r.available, r.timesBooked) FROM Room r ";
     
-    @Query("SELECT r FROM Room r WHERE r.available = true AND (r.blockedUntil IS NULL OR r.blockedUntil < :now) ORDER BY r.timesBooked ASC, r.id ASC")
-    List<Room> findAvailableRoomsNotBlocked(@Param("now") LocalDateTime now);
+    @Query(ROOM_DTO + "WHERE r.available = true AND r.id > :afterId ORDER BY r.id")
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = LISTINGS_CACHE_REGION)
+    })
+    List<RoomDto> findAvailableRoomDtos(@Param("afterId") Long afterId, Pageable pageable);
     
-    @Query("SELECT r FROM Room r WHERE r.blockedByRequestId = :requestId")
-    List<Room> findByBlockedByRequestId(@Param("requestId") String requestId);
+    @Query(ROOM_DTO + "ORDER BY r.id")
+    List<RoomDto> findAllRoomDtos();
+    
+    // id 0 последовательность не выдает - заглушка вместо пустого списка, IN () допускают не все БД
+    List<Long> NO_ROOMS = List.of(0L);
+
+    default Optional<Room> lockBestAvailableRoom(Long hotelId, LocalDate fromNight, LocalDate toNight, LocalDateTime now) {
+        return lockBestAvailableRoom(hotelId, fromNight, toNight, now, NO_ROOMS);
+    }
+
+    /**
+     * Locks the least booked room that is free for every night in {@code [fromNight, toNight)},
+     * skipping rows already locked by concurrent callers, so parallel auto-select requests end up
+     * on different rooms instead of queueing on one. Must run inside a transaction; the lock is held until it commits.
+     * Rooms in {@code excludedIds} are never returned; pass {@link #NO_ROOMS} to exclude nothing.
+     */
+    @Query(value = "SELECT * FROM rooms r WHERE r.available = true " +
+                   "AND (CAST(:hotelId AS BIGINT) IS NULL OR r.hotel_id = :hotelId) " +
+                   "AND r.id NOT IN (:excludedIds) " +
+                   "AND NOT EXISTS (SELECT 1 FROM reservation_nights n WHERE n.room_id = r.id " +
+                   "AND n.night >= :fromNight AND n.night < :toNight " +
+                   "AND (n.held_until IS NULL OR n.held_until >= :now)) " +
+                   "ORDER BY r.times_booked ASC, r.id ASC LIMIT 1 FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    Optional<Room> lockBestAvailableRoom(@Param("hotelId") Long hotelId,
+                                         @Param("fromNight") LocalDate fromNight,
+                                         @Param("toNight") LocalDate toNight,
+                                         @Param("now") LocalDateTime now,
+                                         @Param("excludedIds") Collection<Long> excludedIds);
+
+    /**
+     * Locks the given rooms in ascending id order, so two batches sharing rooms wait on each other
+     * instead of deadlocking. Must run inside a transaction; the locks are held until it commits.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Room r WHERE r.id IN :ids ORDER BY r.id")
+    List<Room> lockAllByIdOrderById(@Param("ids") Collection<Long> ids);
+
+    // Массовые JPQL-операции: Hibernate сам сбрасывает регионы rooms, hotel-rooms и кэш запросов по таблице rooms
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM Room r WHERE r.hotel.id = :hotelId")
+    int deleteByHotelId(@Param("hotelId") Long hotelId);
+
+    /**
+     * Sets {@code available} on every room of the hotel whose number starts with {@code numberPrefix},
+     * or on all of its rooms if the prefix is null, in one statement.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Room r SET r.available = :available WHERE r.hotel.id = :hotelId " +
+           "AND (:numberPrefix IS NULL OR r.number LIKE CONCAT(:numberPrefix, '%'))")
+    int updateAvailabilityByHotelId(@Param("hotelId") Long hotelId,
+                                    @Param("numberPrefix") String numberPrefix,
+                                    @Param("available") boolean available);
 }
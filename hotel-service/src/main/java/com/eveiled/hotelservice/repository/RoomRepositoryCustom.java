@@ -0,0 +1,43 @@
+package com.eveiled.hotelservice.repository;
+
+import com.eveiled.hotelservice.entity.Room;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface RoomRepositoryCustom {
+
+    record NewRoom(Long hotelId, String number, boolean available) {
+    }
+
+    /**
+     * Loads rooms by id, taking those already in the second-level cache from there and fetching
+     * only the rest. Unknown ids are skipped.
+     */
+    List<Room> loadAllById(List<Long> ids);
+
+    /**
+     * Adds each delta to the room's {@code times_booked} in one JDBC batch. Rooms are updated
+     * in ascending id order so that concurrent flushes lock rows in the same order.
+     * The update bypasses Hibernate, so callers must {@link #evictFromCache} the rooms once it commits.
+     */
+    void addTimesBooked(Map<Long, Long> deltas);
+
+    /**
+     * Evicts the rooms and the cached room listings from the second-level cache.
+     */
+    void evictFromCache(Collection<Long> roomIds);
+
+    /**
+     * Inserts the rooms in one JDBC batch. Ids come from {@code rooms_seq} in blocks of
+     * {@link Room#ID_ALLOCATION_SIZE}, the same way Hibernate's pooled optimizer takes them,
+     * so they never collide with rooms saved through JPA.
+     */
+    void insertAll(List<NewRoom> rooms);
+
+    /**
+     * Drops every cached hotel, room and listing, for writes that bypassed Hibernate wholesale.
+     */
+    void evictCatalogFromCache();
+}
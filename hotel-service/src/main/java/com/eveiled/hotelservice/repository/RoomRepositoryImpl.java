@@ -0,0 +1,109 @@
+package com.eveiled.hotelservice.repository;
+
+import com.eveiled.hotelservice.entity.Room;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+@RequiredArgsConstructor
+public class RoomRepositoryImpl implements RoomRepositoryCustom {
+
+    private static final String ADD_TIMES_BOOKED = "UPDATE rooms SET times_booked = times_booked + ? WHERE id = ?";
+
+    private static final String INSERT_ROOM =
+            "INSERT INTO rooms (id, hotel_id, number, available, times_booked) VALUES (?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    private volatile String nextRoomIdBlockSql;
+
+    @Override
+    public List<Room> loadAllById(List<Long> ids) {
+        // В отличие от findAllById (запрос IN) multiLoad сначала смотрит в кэш второго уровня
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(Room.class)
+                .multiLoad(ids)
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public void addTimesBooked(Map<Long, Long> deltas) {
+        List<Map.Entry<Long, Long>> updates = List.copyOf(new TreeMap<>(deltas).entrySet());
+        jdbcTemplate.batchUpdate(ADD_TIMES_BOOKED, updates, updates.size(), (ps, update) -> {
+            ps.setLong(1, update.getValue());
+            ps.setLong(2, update.getKey());
+        });
+    }
+
+    @Override
+    public void evictFromCache(Collection<Long> roomIds) {
+        Cache cache = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getCache();
+        roomIds.forEach(roomId -> cache.evict(Room.class, roomId));
+        // Списки номеров кэшируются значениями, а не id - их тоже приходится сбросить
+        cache.evictQueryRegion(RoomRepository.LISTINGS_CACHE_REGION);
+    }
+
+    @Override
+    public void insertAll(List<NewRoom> rooms) {
+        List<Long> ids = allocateRoomIds(rooms.size());
+        jdbcTemplate.batchUpdate(INSERT_ROOM, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                NewRoom room = rooms.get(i);
+                ps.setLong(1, ids.get(i));
+                ps.setLong(2, room.hotelId());
+                ps.setString(3, room.number());
+                ps.setBoolean(4, room.available());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rooms.size();
+            }
+        });
+    }
+
+    @Override
+    public void evictCatalogFromCache() {
+        entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    private List<Long> allocateRoomIds(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            // Как pooled-оптимизатор Hibernate: значение последовательности - верхняя граница блока
+            long hi = jdbcTemplate.queryForObject(nextRoomIdBlockSql(), Long.class);
+            for (long id = Math.max(1, hi - Room.ID_ALLOCATION_SIZE + 1); id <= hi && ids.size() < count; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private String nextRoomIdBlockSql() {
+        if (nextRoomIdBlockSql == null) {
+            Dialect dialect = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices().getDialect();
+            nextRoomIdBlockSql = dialect.getSequenceSupport().getSequenceNextValString("rooms_seq");
+        }
+        return nextRoomIdBlockSql;
+    }
+}
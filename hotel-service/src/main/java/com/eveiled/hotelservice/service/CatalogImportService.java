@@ -0,0 +1,242 @@
+package com.eveiled.hotelservice.service;
+
+import com.eveiled.hotelservice.dto.ImportLineError;
+import com.eveiled.hotelservice.dto.ImportReport;
+import com.eveiled.hotelservice.dto.RoomImportRow;
+import com.eveiled.hotelservice.entity.Hotel;
+import com.eveiled.hotelservice.repository.HotelRepository;
+import com.eveiled.hotelservice.repository.RoomRepository;
+import com.eveiled.hotelservice.repository.RoomRepositoryCustom.NewRoom;
+import com.eveiled.hotelservice.util.CsvUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Imports rooms line by line from NDJSON or CSV. Valid rows are collected into batches of
+ * {@code hotel.import.batch-size} and inserted with one JDBC batch per transaction, so memory use
+ * depends on the batch size and the number of hotels, not on the size of the file.
+ * <p>
+ * Every rejected line and every committed batch is reported to the {@link Listener} as it happens.
+ * Hotels are created in their own transactions and stay even if a batch with their rooms fails.
+ */
+@Service
+@Slf4j
+public class CatalogImportService {
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    public interface Listener {
+
+        void onError(ImportLineError error);
+
+        void onProgress(ImportReport report);
+    }
+
+    private static final List<String> CSV_COLUMNS = List.of("hotel_id", "hotel_name", "hotel_address", "number", "available");
+
+    private final RoomRepository roomRepository;
+    private final HotelRepository hotelRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${hotel.import.batch-size:1000}")
+    private int batchSize;
+
+    public CatalogImportService(RoomRepository roomRepository,
+                                HotelRepository hotelRepository,
+                                ApplicationEventPublisher eventPublisher,
+                                ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager) {
+        this.roomRepository = roomRepository;
+        this.hotelRepository = hotelRepository;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public ImportReport importRooms(InputStream input, Format format, Listener listener) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Run run = new Run(listener);
+        Map<String, Integer> columns = null;
+        if (format == Format.CSV) {
+            columns = readCsvHeader(reader.readLine());
+            run.lines++;
+        }
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            run.lines++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                RoomImportRow row = format == Format.CSV
+                        ? parseCsvRow(line, columns)
+                        : objectMapper.readValue(line, RoomImportRow.class);
+                run.add(toNewRoom(row, run));
+            } catch (JsonProcessingException e) {
+                run.reject("Malformed JSON: " + e.getOriginalMessage());
+            } catch (IllegalArgumentException e) {
+                run.reject(e.getMessage());
+            }
+            if (run.batch.size() >= batchSize) {
+                run.flush();
+            }
+        }
+        run.flush();
+
+        if (run.roomsImported > 0 || run.hotelsCreated > 0) {
+            // Номера вставлены мимо Hibernate - кэш сбрасываем, а все представления каталога
+            // (индексы, календарь, поток событий) узнают об импорте после коммита этой транзакции
+            roomRepository.evictCatalogFromCache();
+            transactionTemplate.executeWithoutResult(status ->
+                    eventPublisher.publishEvent(RoomAvailabilityChangedEvent.catalogChanged(null)));
+        }
+        ImportReport report = run.report(true);
+        log.info("CATALOG_IMPORTED: {} lines, {} rooms, {} new hotels, {} failed lines",
+                report.getLines(), report.getRoomsImported(), report.getHotelsCreated(), report.getFailedLines());
+        return report;
+    }
+
+    private Map<String, Integer> readCsvHeader(String header) {
+        if (header == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV header is missing");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = CsvUtil.parseLine(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).toLowerCase(), i);
+        }
+        if (!columns.containsKey("number")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV header must contain a number column, supported columns: " + CSV_COLUMNS);
+        }
+        return columns;
+    }
+
+    private RoomImportRow parseCsvRow(String line, Map<String, Integer> columns) {
+        List<String> fields = CsvUtil.parseLine(line);
+        String hotelId = field(fields, columns, "hotel_id");
+        String available = field(fields, columns, "available");
+        try {
+            return new RoomImportRow(
+                    hotelId != null ? Long.valueOf(hotelId) : null,
+                    field(fields, columns, "hotel_name"),
+                    field(fields, columns, "hotel_address"),
+                    field(fields, columns, "number"),
+                    available != null ? Boolean.valueOf(available) : null);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid hotel_id: " + hotelId);
+        }
+    }
+
+    private String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    private NewRoom toNewRoom(RoomImportRow row, Run run) {
+        if (row.getNumber() == null || row.getNumber().isBlank()) {
+            throw new IllegalArgumentException("Room number is required");
+        }
+        Long hotelId = resolveHotel(row, run);
+        return new NewRoom(hotelId, row.getNumber().trim(), !Boolean.FALSE.equals(row.getAvailable()));
+    }
+
+    private Long resolveHotel(RoomImportRow row, Run run) {
+        if (row.getHotelId() != null) {
+            Boolean exists = run.knownHotelIds.computeIfAbsent(row.getHotelId(), hotelRepository::existsById);
+            if (!exists) {
+                throw new IllegalArgumentException("Hotel not found with id: " + row.getHotelId());
+            }
+            return row.getHotelId();
+        }
+        if (row.getHotelName() == null || row.getHotelName().isBlank()
+                || row.getHotelAddress() == null || row.getHotelAddress().isBlank()) {
+            throw new IllegalArgumentException("Either hotelId or hotelName and hotelAddress are required");
+        }
+        String name = row.getHotelName().trim();
+        String address = row.getHotelAddress().trim();
+        return run.hotelIdsByName.computeIfAbsent(name + "\n" + address, key -> hotelRepository
+                .findFirstByNameAndAddress(name, address)
+                .map(Hotel::getId)
+                .orElseGet(() -> {
+                    run.hotelsCreated++;
+                    return transactionTemplate.execute(status ->
+                            hotelRepository.save(new Hotel(null, name, address, null)).getId());
+                }));
+    }
+
+    private final class Run {
+        private final Listener listener;
+        private final List<NewRoom> batch = new ArrayList<>(batchSize);
+        // Растут с числом отелей, а не строк
+        private final Map<Long, Boolean> knownHotelIds = new HashMap<>();
+        private final Map<String, Long> hotelIdsByName = new HashMap<>();
+        private long lines;
+        private long batchFirstLine;
+        private long roomsImported;
+        private long hotelsCreated;
+        private long failedLines;
+
+        private Run(Listener listener) {
+            this.listener = listener;
+        }
+
+        void add(NewRoom room) {
+            if (batch.isEmpty()) {
+                batchFirstLine = lines;
+            }
+            batch.add(room);
+        }
+
+        void reject(String error) {
+            failedLines++;
+            listener.onError(new ImportLineError(lines, error));
+        }
+
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> roomRepository.insertAll(batch));
+                roomsImported += batch.size();
+            } catch (RuntimeException e) {
+                log.error("CATALOG_IMPORT_BATCH_FAILED: Lines {}-{}: {}", batchFirstLine, lines, e.getMessage());
+                failedLines += batch.size();
+                listener.onError(new ImportLineError(batchFirstLine,
+                        "Lines " + batchFirstLine + "-" + lines + " were not imported: " + e.getMessage()));
+            }
+            batch.clear();
+            listener.onProgress(report(false));
+        }
+
+        ImportReport report(boolean done) {
+            return new ImportReport(lines, roomsImported, hotelsCreated, failedLines, done);
+        }
+    }
+}
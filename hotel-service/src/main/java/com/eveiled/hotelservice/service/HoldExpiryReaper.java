@@ -0,0 +1,117 @@
+package com.eveiled.hotelservice.service;
+
+import com.eveiled.hotelservice.repository.ReservationNightRepository;
+import com.eveiled.hotelservice.repository.ReservationNightRepository.ReservationSpan;
+import com.eveiled.hotelservice.repository.ReservationNightRepositoryCustom.HoldRef;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deletes holds from the reservation ledger once their {@code heldUntil} passes, instead of leaving
+ * them until some later hold on the same nights trips over them. Every hold is queued in a
+ * {@link DelayQueue} by its expiry, so a tick with nothing due costs no query; due holds are deleted
+ * in one JDBC batch and announced as EXPIRED {@link RoomAvailabilityChangedEvent}s.
+ * <p>
+ * Holds that get confirmed or released stay queued until their expiry and are then skipped by the
+ * delete, which only removes rows that are still HELD and past due.
+ */
+@Component
+@Slf4j
+public class HoldExpiryReaper implements SmartInitializingSingleton {
+
+    private final RoomService roomService;
+    private final ReservationNightRepository reservationNightRepository;
+    private final Counter expiredCounter;
+    private final DelayQueue<PendingExpiry> queue = new DelayQueue<>();
+
+    @Value("${hotel.holds.reaper.batch-size:500}")
+    private int batchSize;
+
+    public HoldExpiryReaper(RoomService roomService,
+                            ReservationNightRepository reservationNightRepository,
+                            MeterRegistry meterRegistry) {
+        this.roomService = roomService;
+        this.reservationNightRepository = reservationNightRepository;
+        this.expiredCounter = Counter.builder("hotel.holds.expired")
+                .description("Holds deleted by the expiry reaper")
+                .register(meterRegistry);
+        Gauge.builder("hotel.holds.pending-expiry", queue, DelayQueue::size)
+                .description("Holds waiting for their expiry in the reaper queue")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        int queued = 0;
+        for (ReservationSpan span : reservationNightRepository.findAllSpans()) {
+            if (span.getHeldUntil() != null) {
+                schedule(span.getRoomId(), span.getRequestId(), span.getHeldUntil());
+                queued++;
+            }
+        }
+        log.info("HOLD_EXPIRY_REAPER_LOADED: {} holds queued", queued);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onAvailabilityChanged(RoomAvailabilityChangedEvent event) {
+        if (event.type() == RoomAvailabilityChangedEvent.Type.HELD) {
+            schedule(event.roomId(), event.requestId(), event.heldUntil());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${hotel.holds.reaper.interval-ms:1000}")
+    public void reapExpiredHolds() {
+        List<PendingExpiry> due = new ArrayList<>();
+        queue.drainTo(due, batchSize);
+        if (due.isEmpty()) {
+            return;
+        }
+
+        List<HoldRef> holds = due.stream().map(PendingExpiry::hold).distinct().toList();
+        try {
+            List<HoldRef> expired = roomService.expireHolds(holds);
+            expiredCounter.increment(expired.size());
+        } catch (RuntimeException e) {
+            // Вернем их в очередь - они уже просрочены и попадут в следующий проход
+            log.error("HOLD_EXPIRY_REAPER_FAILED: Could not expire {} holds: {}", holds.size(), e.getMessage());
+            queue.addAll(due);
+        }
+    }
+
+    void schedule(Long roomId, String requestId, LocalDateTime heldUntil) {
+        queue.add(new PendingExpiry(new HoldRef(roomId, requestId), heldUntil));
+    }
+
+    int pendingCount() {
+        return queue.size();
+    }
+
+    private record PendingExpiry(HoldRef hold, LocalDateTime heldUntil) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Duration.between(LocalDateTime.now(), heldUntil));
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return heldUntil.compareTo(((PendingExpiry) other).heldUntil);
+        }
+    }
+}
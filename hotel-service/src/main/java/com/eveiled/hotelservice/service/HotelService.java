@@ -1,22 +1,48 @@
 package com.eveiled.hotelservice.service;
 
+import com.eveiled.hotelservice.config.PaginationProperties;
+import com.eveiled.hotelservice.dto.CursorPage;
 import com.eveiled.hotelservice.dto.HotelDto;
+import com.eveiled.hotelservice.dto.NightAvailability;
+import com.eveiled.hotelservice.dto.RoomDto;
 import com.eveiled.hotelservice.entity.Hotel;
 import com.eveiled.hotelservice.mapper.HotelMapper;
 import com.eveiled.hotelservice.repository.HotelRepository;
+import com.eveiled.hotelservice.repository.ReservationNightRepository;
+import com.eveiled.hotelservice.repository.RoomRepository;
+import com.eveiled.hotelservice.util.CursorUtil;
+import com.eveiled.hotelservice.util.StayNightsUtil;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 @Transactional
 public class HotelService {
     
     private final HotelRepository hotelRepository;
+    private final RoomRepository roomRepository;
+    private final ReservationNightRepository reservationNightRepository;
     private final HotelMapper hotelMapper;
+    private final PaginationProperties paginationProperties;
+    private final TimesBookedBuffer timesBookedBuffer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RoomOccupancyCalendar occupancyCalendar;
+    
+    @Value("${hotel.calendar.max-days:366}")
+    private int calendarMaxDays;
     
     public HotelDto createHotel(HotelDto hotelDto) {
         Hotel hotel = hotelMapper.toEntity(hotelDto);
@@ -25,16 +51,62 @@ public class HotelService {
     }
     
     @Transactional(readOnly = true)
-    public List<HotelDto> getAllHotels() {
-        List<Hotel> hotels = hotelRepository.findAll();
-        return hotelMapper.toDtoList(hotels);
+    public CursorPage<HotelDto> getAllHotels(String cursor, Integer size) {
+        int pageSize = paginationProperties.resolvePageSize(size);
+        List<Hotel> hotels = hotelRepository.findByIdGreaterThanOrderByIdAsc(
+                CursorUtil.decodeId(cursor), PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(hotels, pageSize, page -> {
+            List<HotelDto> hotelDtos = hotelMapper.toDtoList(page);
+            hotelDtos.forEach(hotelDto -> timesBookedBuffer.applyPending(hotelDto.getRooms()));
+            return hotelDtos;
+        }, hotel -> CursorUtil.encode(hotel.getId()));
     }
     
     @Transactional(readOnly = true)
     public HotelDto getHotelById(Long id) {
         Hotel hotel = hotelRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Hotel not found with id: " + id));
-        return hotelMapper.toDto(hotel);
+        HotelDto hotelDto = hotelMapper.toDto(hotel);
+        timesBookedBuffer.applyPending(hotelDto.getRooms());
+        return hotelDto;
+    }
+    
+    /**
+     * Rooms of one hotel, fetched together with the hotel in a single join.
+     */
+    @Transactional(readOnly = true)
+    public List<RoomDto> getHotelRooms(Long id) {
+        Hotel hotel = hotelRepository.findWithRoomsById(id)
+                .orElseThrow(() -> new RuntimeException("Hotel not found with id: " + id));
+        List<RoomDto> rooms = hotelMapper.toRoomDtoList(hotel.getRooms());
+        timesBookedBuffer.applyPending(rooms);
+        return rooms;
+    }
+    
+    /**
+     * Free-room count of the hotel for each of {@code days} nights starting at {@code fromNight}, or tonight if it is null.
+     */
+    @Transactional(readOnly = true)
+    public List<NightAvailability> getCalendar(Long id, LocalDate fromNight, int days) {
+        if (days < 1 || days > calendarMaxDays) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "days must be between 1 and " + calendarMaxDays);
+        }
+        requireHotel(id);
+        return occupancyCalendar.freeRoomCounts(id, fromNight != null ? fromNight : LocalDate.now(), days);
+    }
+    
+    /**
+     * Ids of the hotel's rooms free for every night of the stay.
+     */
+    @Transactional(readOnly = true)
+    public List<Long> getRoomsFreeForStay(Long id, LocalDateTime startDate, LocalDateTime endDate) {
+        LocalDate fromNight = StayNightsUtil.firstNight(startDate, endDate);
+        LocalDate toNight = StayNightsUtil.endNight(startDate, endDate);
+        if (fromNight.plusDays(calendarMaxDays).isBefore(toNight)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Stay must not exceed " + calendarMaxDays + " nights");
+        }
+        requireHotel(id);
+        return occupancyCalendar.findFreeRooms(id, fromNight, toNight);
     }
     
     public HotelDto updateHotel(Long id, HotelDto hotelDto) {
@@ -48,10 +120,42 @@ public class HotelService {
         return hotelMapper.toDto(updatedHotel);
     }
     
+    /**
+     * Deletes the hotel with its rooms and their nights in three statements, however many rooms it has;
+     * the rooms are never loaded into the persistence context.
+     */
     public void deleteHotel(Long id) {
+        int nights = reservationNightRepository.deleteByHotelId(id);
+        int rooms = roomRepository.deleteByHotelId(id);
+        if (hotelRepository.deleteHotelById(id) == 0) {
+            throw new RuntimeException("Hotel not found with id: " + id);
+        }
+        eventPublisher.publishEvent(RoomAvailabilityChangedEvent.catalogChanged(id));
+        log.info("HOTEL_DELETED: Hotel {} deleted with {} rooms and {} reserved nights", id, rooms, nights);
+    }
+    
+    /**
+     * Opens or closes for booking every room of the hotel whose number starts with {@code numberPrefix}
+     * (a floor, for numbers like 301), or all of its rooms if the prefix is blank. Returns the number of rooms changed.
+     */
+    public int updateRoomsAvailability(Long id, String numberPrefix, boolean available) {
         if (!hotelRepository.existsById(id)) {
             throw new RuntimeException("Hotel not found with id: " + id);
         }
-        hotelRepository.deleteById(id);
+        String prefix = numberPrefix == null || numberPrefix.isBlank() ? null : numberPrefix.trim();
+        int updated = roomRepository.updateAvailabilityByHotelId(id, prefix, available);
+        if (updated > 0) {
+            eventPublisher.publishEvent(RoomAvailabilityChangedEvent.catalogChanged(id));
+        }
+        log.info("HOTEL_ROOMS_AVAILABILITY_UPDATED: {} rooms of hotel {} with prefix {} set to available={}",
+                updated, id, prefix, available);
+        return updated;
+    }
+    
+    private void requireHotel(Long id) {
+        // Отель читается из кэша второго уровня, в БД за ним не ходим
+        if (hotelRepository.findById(id).isEmpty()) {
+            throw new RuntimeException("Hotel not found with id: " + id);
+        }
     }
 }
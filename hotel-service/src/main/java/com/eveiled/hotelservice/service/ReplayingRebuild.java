@@ -0,0 +1,63 @@
+package com.eveiled.hotelservice.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Coordinates reloading an in-memory view from the database with the after-commit events that keep it current.
+ * <p>
+ * The fresh copy is built off to the side while events keep going to the published one; every event
+ * that arrives meanwhile is also recorded and replayed on the fresh copy right after it is published,
+ * under the same lock the events take. A change committed between the snapshot and the swap is thus
+ * never lost, and readers never see a half-loaded view. Since an event may already be visible in the
+ * snapshot, the event handler must be idempotent.
+ */
+final class ReplayingRebuild<E> {
+
+    private final Consumer<E> handler;
+    private final Object rebuildLock = new Object();
+    private List<E> arrivedDuringRebuild;
+
+    ReplayingRebuild(Consumer<E> handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Applies the event to the published view, remembering it if a rebuild is in progress.
+     */
+    synchronized void apply(E event) {
+        if (arrivedDuringRebuild != null) {
+            arrivedDuringRebuild.add(event);
+        }
+        handler.accept(event);
+    }
+
+    /**
+     * Loads a fresh view with {@code load}, hands it to {@code publish} and replays the events that arrived meanwhile.
+     * Concurrent rebuilds run one after the other.
+     */
+    <V> void rebuild(Supplier<V> load, Consumer<V> publish) {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                arrivedDuringRebuild = new ArrayList<>();
+            }
+            V fresh;
+            try {
+                fresh = load.get();
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    arrivedDuringRebuild = null;
+                }
+                throw e;
+            }
+            synchronized (this) {
+                publish.accept(fresh);
+                List<E> missed = arrivedDuringRebuild;
+                arrivedDuringRebuild = null;
+                missed.forEach(handler);
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.eveiled.hotelservice.service;
+
+import com.eveiled.hotelservice.dto.RoomDto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@link RoomService} and {@link HotelService} inside the transaction that changed a room or its occupancy;
+ * the in-memory indexes apply it once that transaction commits.
+ */
+public record RoomAvailabilityChangedEvent(Type type,
+                                           Long roomId,
+                                           RoomDto room,
+                                           String requestId,
+                                           LocalDate fromNight,
+                                           LocalDate toNight,
+                                           LocalDateTime heldUntil,
+                                           Long hotelId) {
+
+    public enum Type {
+        ROOM_UPDATED,
+        HELD,
+        CONFIRMED,
+        RELEASED,
+        REQUEST_RELEASED,
+        EXPIRED,
+        TIMES_BOOKED_INCREMENTED,
+        // Массовая операция затронула неизвестное заранее множество номеров: индексы строятся заново
+        CATALOG_CHANGED
+    }
+
+    public static RoomAvailabilityChangedEvent roomUpdated(RoomDto room) {
+        return new RoomAvailabilityChangedEvent(Type.ROOM_UPDATED, room.getId(), room, null, null, null, null, null);
+    }
+
+    public static RoomAvailabilityChangedEvent held(Long roomId, String requestId, LocalDate fromNight,
+                                                    LocalDate toNight, LocalDateTime heldUntil) {
+        return new RoomAvailabilityChangedEvent(Type.HELD, roomId, null, requestId, fromNight, toNight, heldUntil, null);
+    }
+
+    public static RoomAvailabilityChangedEvent confirmed(Long roomId, String requestId) {
+        return new RoomAvailabilityChangedEvent(Type.CONFIRMED, roomId, null, requestId, null, null, null, null);
+    }
+
+    public static RoomAvailabilityChangedEvent released(Long roomId, String requestId) {
+        return new RoomAvailabilityChangedEvent(Type.RELEASED, roomId, null, requestId, null, null, null, null);
+    }
+
+    public static RoomAvailabilityChangedEvent expired(Long roomId, String requestId) {
+        return new RoomAvailabilityChangedEvent(Type.EXPIRED, roomId, null, requestId, null, null, null, null);
+    }
+
+    public static RoomAvailabilityChangedEvent requestReleased(String requestId) {
+        return new RoomAvailabilityChangedEvent(Type.REQUEST_RELEASED, null, null, requestId, null, null, null, null);
+    }
+
+    public static RoomAvailabilityChangedEvent timesBookedIncremented(Long roomId) {
+        return new RoomAvailabilityChangedEvent(Type.TIMES_BOOKED_INCREMENTED, roomId, null, null, null, null, null, null);
+    }
+
+    /**
+     * @param hotelId the only hotel whose rooms changed, or null if the change is not limited to one hotel
+     */
+    public static RoomAvailabilityChangedEvent catalogChanged(Long hotelId) {
+        return new RoomAvailabilityChangedEvent(Type.CATALOG_CHANGED, null, null, null, null, null, null, hotelId);
+    }
+}
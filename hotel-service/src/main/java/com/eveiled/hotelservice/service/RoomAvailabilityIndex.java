@@ -0,0 +1,225 @@
+package com.eveiled.hotelservice.service;
+
+import com.eveiled.hotelservice.dto.RoomDto;
+import com.eveiled.hotelservice.repository.ReservationNightRepository;
+import com.eveiled.hotelservice.repository.ReservationNightRepository.ReservationSpan;
+import com.eveiled.hotelservice.repository.RoomRepository;
+import com.eveiled.hotelservice.util.IntervalTree;
+import com.eveiled.hotelservice.util.IntervalTree.Interval;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory copy of the reservation ledger: one interval tree of stays per room.
+ * Answers "is the room free for these nights" and "which rooms are free" without a query.
+ * <p>
+ * Loaded from the database before the web server starts accepting requests and then kept in sync
+ * by {@link RoomAvailabilityChangedEvent}s applied after commit. The ledger stays authoritative:
+ * the index may briefly lag behind a commit, so it is only used to reject or pre-filter,
+ * never to grant a hold.
+ * <p>
+ * A rebuild loads a fresh map and swaps it in whole, replaying the events that arrived meanwhile
+ * (see {@link ReplayingRebuild}); the event handlers are idempotent for that reason.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RoomAvailabilityIndex implements SmartInitializingSingleton {
+
+    private final RoomRepository roomRepository;
+    private final ReservationNightRepository reservationNightRepository;
+
+    private final ReplayingRebuild<RoomAvailabilityChangedEvent> rebuilds = new ReplayingRebuild<>(this::apply);
+    private volatile Map<Long, RoomTimeline> timelines = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        rebuilds.rebuild(this::load, loaded -> timelines = loaded);
+    }
+
+    private Map<Long, RoomTimeline> load() {
+        Map<Long, RoomTimeline> loaded = new ConcurrentHashMap<>();
+        for (RoomDto room : roomRepository.findAllRoomDtos()) {
+            loaded.put(room.getId(), new RoomTimeline(room.getHotelId(), room.getAvailable()));
+        }
+        int stays = 0;
+        for (ReservationSpan span : reservationNightRepository.findAllSpans()) {
+            RoomTimeline timeline = loaded.get(span.getRoomId());
+            if (timeline != null) {
+                timeline.put(span.getRequestId(), span.getFirstNight(), span.getLastNight().plusDays(1), span.getHeldUntil());
+                stays++;
+            }
+        }
+        log.info("ROOM_AVAILABILITY_INDEX_REBUILT: {} rooms, {} stays", loaded.size(), stays);
+        return loaded;
+    }
+
+    /**
+     * True if another request holds or has booked any night of {@code [fromNight, toNight)}.
+     * Unknown rooms report no conflict and are left to the database.
+     */
+    public boolean hasConflict(Long roomId, LocalDate fromNight, LocalDate toNight, String requestId) {
+        RoomTimeline timeline = timelines.get(roomId);
+        return timeline != null && timeline.hasConflict(fromNight, toNight, requestId, LocalDateTime.now());
+    }
+
+    /**
+     * Ids of available rooms, optionally within one hotel, with no active stay in {@code [fromNight, toNight)}.
+     */
+    public List<Long> findFreeRooms(Long hotelId, LocalDate fromNight, LocalDate toNight) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> free = new ArrayList<>();
+        timelines.forEach((roomId, timeline) -> {
+            if ((hotelId == null || hotelId.equals(timeline.hotelId)) && timeline.available
+                    && !timeline.hasConflict(fromNight, toNight, null, now)) {
+                free.add(roomId);
+            }
+        });
+        free.sort(null);
+        return free;
+    }
+
+    /**
+     * Hotel of an indexed room, or null if the room is not indexed.
+     */
+    public Long hotelOf(Long roomId) {
+        RoomTimeline timeline = timelines.get(roomId);
+        return timeline != null ? timeline.hotelId : null;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onAvailabilityChanged(RoomAvailabilityChangedEvent event) {
+        switch (event.type()) {
+            case CATALOG_CHANGED -> rebuild();
+            case TIMES_BOOKED_INCREMENTED -> {
+            }
+            default -> rebuilds.apply(event);
+        }
+    }
+
+    private void apply(RoomAvailabilityChangedEvent event) {
+        switch (event.type()) {
+            case ROOM_UPDATED -> timelines.compute(event.roomId(), (roomId, timeline) -> {
+                if (timeline == null) {
+                    return new RoomTimeline(event.room().getHotelId(), event.room().getAvailable());
+                }
+                timeline.available = Boolean.TRUE.equals(event.room().getAvailable());
+                return timeline;
+            });
+            case HELD -> withTimeline(event, timeline ->
+                    timeline.hold(event.requestId(), event.fromNight(), event.toNight(), event.heldUntil(), LocalDateTime.now()));
+            case CONFIRMED -> withTimeline(event, timeline -> timeline.confirm(event.requestId()));
+            case RELEASED, EXPIRED -> withTimeline(event, timeline -> timeline.remove(event.requestId()));
+            case REQUEST_RELEASED -> timelines.values().forEach(timeline -> timeline.remove(event.requestId()));
+            default -> {
+            }
+        }
+    }
+
+    private void withTimeline(RoomAvailabilityChangedEvent event, Consumer<RoomTimeline> action) {
+        RoomTimeline timeline = timelines.get(event.roomId());
+        if (timeline == null) {
+            log.warn("ROOM_AVAILABILITY_INDEX_MISS: Room {} is not indexed, ignoring {} for request {}",
+                    event.roomId(), event.type(), event.requestId());
+            return;
+        }
+        action.accept(timeline);
+    }
+
+    private record Stay(String requestId, LocalDateTime heldUntil) {
+
+        boolean isActive(LocalDateTime now) {
+            return heldUntil == null || !heldUntil.isBefore(now);
+        }
+    }
+
+    private static final class RoomTimeline {
+        private final Long hotelId;
+        private volatile boolean available;
+        private final IntervalTree<Stay> stays = new IntervalTree<>();
+        private final Map<String, Interval<Stay>> byRequest = new HashMap<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private RoomTimeline(Long hotelId, Boolean available) {
+            this.hotelId = hotelId;
+            this.available = Boolean.TRUE.equals(available);
+        }
+
+        boolean hasConflict(LocalDate fromNight, LocalDate toNight, String requestId, LocalDateTime now) {
+            lock.readLock().lock();
+            try {
+                return stays.anyOverlapping(fromNight, toNight, interval ->
+                        !interval.value().requestId().equals(requestId) && interval.value().isActive(now));
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        // Повторяет RoomService.holdNights: истекшие блокировки на этих ночах и прежняя блокировка запроса снимаются
+        void hold(String requestId, LocalDate fromNight, LocalDate toNight, LocalDateTime heldUntil, LocalDateTime now) {
+            lock.writeLock().lock();
+            try {
+                for (Interval<Stay> interval : stays.findOverlapping(fromNight, toNight)) {
+                    if (!interval.value().isActive(now)) {
+                        stays.remove(interval);
+                        byRequest.remove(interval.value().requestId(), interval);
+                    }
+                }
+                put(requestId, fromNight, toNight, heldUntil);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void confirm(String requestId) {
+            lock.writeLock().lock();
+            try {
+                Interval<Stay> held = byRequest.get(requestId);
+                if (held != null) {
+                    put(requestId, held.start(), held.end(), null);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(String requestId) {
+            lock.writeLock().lock();
+            try {
+                Interval<Stay> interval = byRequest.remove(requestId);
+                if (interval != null) {
+                    stays.remove(interval);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void put(String requestId, LocalDate fromNight, LocalDate toNight, LocalDateTime heldUntil) {
+            Interval<Stay> previous = byRequest.remove(requestId);
+            if (previous != null) {
+                stays.remove(previous);
+            }
+            byRequest.put(requestId, stays.insert(fromNight, toNight, new Stay(requestId, heldUntil)));
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.eveiled.hotelservice.service;
+
+import com.eveiled.hotelservice.dto.RoomChangeEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes committed availability changes to Server-Sent Events subscribers instead of having them
+ * poll the room lists. Every change gets a sequence number, used as the SSE event id; the last
+ * {@code hotel.events.replay-size} changes are kept so a reconnecting client can resume after
+ * the id it saw last. A client too far behind, or one whose changes were dropped, gets a
+ * {@code reset} event and should reload the lists it shows.
+ * <p>
+ * Each subscriber has a bounded queue drained by its own sender task, so a slow connection
+ * never blocks the committing thread. When the queue is full the oldest change is dropped,
+ * or with {@code DISCONNECT} the subscriber is disconnected.
+ */
+@Component
+@Slf4j
+public class RoomEventStream implements DisposableBean {
+
+    public static final String CHANGE_EVENT = "room-change";
+    public static final String RESET_EVENT = "reset";
+
+    public enum OverflowPolicy {
+        DROP_OLDEST,
+        DISCONNECT
+    }
+
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final Counter droppedCounter;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Deque<RoomChangeEvent> recent = new ArrayDeque<>();
+    private final ExecutorService sender;
+    private long sequence;
+
+    @Value("${hotel.events.replay-size:1024}")
+    private int replaySize;
+
+    @Value("${hotel.events.subscriber-buffer:256}")
+    private int subscriberBuffer;
+
+    @Value("${hotel.events.overflow-policy:DROP_OLDEST}")
+    private OverflowPolicy overflowPolicy;
+
+    @Value("${hotel.events.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Autowired
+    public RoomEventStream(RoomAvailabilityIndex availabilityIndex, MeterRegistry meterRegistry) {
+        this(availabilityIndex, meterRegistry, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    RoomEventStream(RoomAvailabilityIndex availabilityIndex, MeterRegistry meterRegistry, ExecutorService sender) {
+        this.availabilityIndex = availabilityIndex;
+        this.sender = sender;
+        this.droppedCounter = Counter.builder("hotel.events.dropped")
+                .description("Room changes dropped or subscribers disconnected because a subscriber fell behind")
+                .register(meterRegistry);
+        Gauge.builder("hotel.events.subscribers", subscribers, Set::size)
+                .description("Open room event stream subscriptions")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream of changes, only of {@code hotelId} if it is given, starting after {@code lastEventId}
+     * if the client is resuming.
+     */
+    public SseEmitter subscribe(Long hotelId, Long lastEventId) {
+        return register(new SseEmitter(timeoutMs), hotelId, lastEventId);
+    }
+
+    SseEmitter register(SseEmitter emitter, Long hotelId, Long lastEventId) {
+        Subscriber subscriber = new Subscriber(emitter, hotelId, subscriberBuffer);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        // Пропущенные события и новая подписка фиксируются под одной блокировкой - ни потерь, ни повторов
+        synchronized (this) {
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+            subscribers.add(subscriber);
+        }
+        log.info("ROOM_EVENTS_SUBSCRIBED: hotelId={}, lastEventId={}, subscribers={}", hotelId, lastEventId, subscribers.size());
+        return emitter;
+    }
+
+    @Override
+    public void destroy() {
+        // Клиенты получают завершение потока, а не обрыв соединения, и переподключаются к другому экземпляру
+        subscribers.forEach(Subscriber::close);
+        sender.shutdown();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onAvailabilityChanged(RoomAvailabilityChangedEvent event) {
+        if (event.type() == RoomAvailabilityChangedEvent.Type.TIMES_BOOKED_INCREMENTED) {
+            return;
+        }
+        publish(event);
+    }
+
+    @Scheduled(fixedDelayString = "${hotel.events.heartbeat-ms:15000}")
+    public void sendHeartbeats() {
+        // Комментарий SSE не виден клиенту, но обрывает соединение, которое уже закрыто на той стороне
+        subscribers.forEach(subscriber -> subscriber.offerIfRoom(SseEmitter.event().comment("keep-alive")));
+    }
+
+    private synchronized void publish(RoomAvailabilityChangedEvent event) {
+        RoomChangeEvent change = new RoomChangeEvent(++sequence, event.type().name(), hotelOf(event), event.roomId(),
+                event.requestId(), event.fromNight(), event.toNight(),
+                event.room() != null ? event.room().getAvailable() : null);
+        recent.addLast(change);
+        while (recent.size() > replaySize) {
+            recent.removeFirst();
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.accepts(change)) {
+                subscriber.offer(toSse(change));
+            }
+        }
+    }
+
+    private void replay(Subscriber subscriber, long lastEventId) {
+        long oldest = recent.isEmpty() ? sequence + 1 : recent.getFirst().getSequence();
+        List<RoomChangeEvent> missed = new ArrayList<>();
+        for (RoomChangeEvent change : recent) {
+            if (change.getSequence() > lastEventId && subscriber.accepts(change)) {
+                missed.add(change);
+            }
+        }
+        // Id из будущего значит, что сервис перезапускался, а счетчик начался заново
+        if (lastEventId > sequence || lastEventId < oldest - 1 || missed.size() > subscriberBuffer) {
+            subscriber.offer(reset(lastEventId));
+            return;
+        }
+        missed.forEach(change -> subscriber.offer(toSse(change)));
+    }
+
+    private Long hotelOf(RoomAvailabilityChangedEvent event) {
+        if (event.room() != null) {
+            return event.room().getHotelId();
+        }
+        return event.roomId() != null ? availabilityIndex.hotelOf(event.roomId()) : event.hotelId();
+    }
+
+    private SseEventBuilder toSse(RoomChangeEvent change) {
+        return SseEmitter.event()
+                .id(String.valueOf(change.getSequence()))
+                .name(CHANGE_EVENT)
+                .data(change, MediaType.APPLICATION_JSON);
+    }
+
+    private SseEventBuilder reset(long afterSequence) {
+        return SseEmitter.event().name(RESET_EVENT).data("Changes after " + afterSequence + " are no longer available");
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Long hotelId;
+        private final BlockingQueue<SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicInteger dropped = new AtomicInteger();
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, Long hotelId, int capacity) {
+            this.emitter = emitter;
+            this.hotelId = hotelId;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        boolean accepts(RoomChangeEvent change) {
+            return hotelId == null || change.getHotelId() == null || hotelId.equals(change.getHotelId());
+        }
+
+        void offer(SseEventBuilder message) {
+            if (closed) {
+                return;
+            }
+            while (!queue.offer(message)) {
+                droppedCounter.increment();
+                if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+                    log.warn("ROOM_EVENTS_SUBSCRIBER_DISCONNECTED: Subscriber for hotel {} fell {} changes behind",
+                            hotelId, queue.size());
+                    close();
+                    return;
+                }
+                if (queue.poll() != null) {
+                    dropped.incrementAndGet();
+                }
+            }
+            schedule();
+        }
+
+        void offerIfRoom(SseEventBuilder message) {
+            if (!closed && queue.offer(message)) {
+                schedule();
+            }
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+            queue.clear();
+            emitter.complete();
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // Контекст закрывается - отправлять уже некому
+                    draining.set(false);
+                    close();
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEventBuilder message;
+                while (!closed && (message = queue.poll()) != null) {
+                    int lost = dropped.getAndSet(0);
+                    if (lost > 0) {
+                        emitter.send(SseEmitter.event().name(RESET_EVENT).data(lost + " changes were dropped"));
+                    }
+                    emitter.send(message);
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("ROOM_EVENTS_SEND_FAILED: Subscriber for hotel {} is gone: {}", hotelId, e.getMessage());
+                close();
+            } finally {
+                draining.set(false);
+            }
+            // Событие могло встать в очередь между последним poll и сбросом флага
+            if (!closed && !queue.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
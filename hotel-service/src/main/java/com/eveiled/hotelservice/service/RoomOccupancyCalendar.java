@@ -0,0 +1,317 @@
+package com.eveiled.hotelservice.service;
+
+import com.eveiled.hotelservice.dto.NightAvailability;
+import com.eveiled.hotelservice.dto.RoomDto;
+import com.eveiled.hotelservice.repository.ReservationNightRepository;
+import com.eveiled.hotelservice.repository.ReservationNightRepository.ReservationSpan;
+import com.eveiled.hotelservice.repository.RoomRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-hotel occupancy bitmaps: every room of a hotel gets a dense bit position, and each night keeps
+ * a {@link BitSet} of the rooms held or booked on it. A calendar of free-room counts is then one
+ * AND and cardinality per night, and the rooms free for a whole stay are the open rooms with the
+ * stay's nights OR-ed away, independent of the number of reservation rows.
+ * <p>
+ * Kept in sync like {@link RoomAvailabilityIndex}, by {@link RoomAvailabilityChangedEvent}s after commit.
+ * An expired hold keeps its bits until {@link HoldExpiryReaper} deletes it, so for that moment
+ * the calendar reports the room as taken.
+ * <p>
+ * A reload builds new calendars and swaps them in whole through {@link ReplayingRebuild}; every
+ * change event goes through the same lock, so nothing committed during the reload is lost.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RoomOccupancyCalendar implements SmartInitializingSingleton {
+
+    private final RoomRepository roomRepository;
+    private final ReservationNightRepository reservationNightRepository;
+
+    private final ReplayingRebuild<RoomAvailabilityChangedEvent> rebuilds = new ReplayingRebuild<>(this::apply);
+    private volatile Calendars current = new Calendars(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        rebuilds.rebuild(this::load, loaded -> current = loaded);
+        log.info("ROOM_OCCUPANCY_CALENDAR_REBUILT: {} hotels, {} rooms",
+                current.hotels().size(), current.hotelOfRoom().size());
+    }
+
+    /**
+     * Number of open rooms of the hotel with nobody on each night of {@code [fromNight, fromNight + days)}.
+     */
+    public List<NightAvailability> freeRoomCounts(Long hotelId, LocalDate fromNight, int days) {
+        HotelCalendar calendar = current.hotels().get(hotelId);
+        List<NightAvailability> result = new ArrayList<>(days);
+        for (LocalDate night = fromNight; night.isBefore(fromNight.plusDays(days)); night = night.plusDays(1)) {
+            result.add(new NightAvailability(night, calendar != null ? calendar.freeRooms(night) : 0));
+        }
+        return result;
+    }
+
+    /**
+     * Ids of open rooms of the hotel free for every night of {@code [fromNight, toNight)}, ascending.
+     */
+    public List<Long> findFreeRooms(Long hotelId, LocalDate fromNight, LocalDate toNight) {
+        HotelCalendar calendar = current.hotels().get(hotelId);
+        return calendar != null ? calendar.freeForStay(fromNight, toNight) : List.of();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onAvailabilityChanged(RoomAvailabilityChangedEvent event) {
+        switch (event.type()) {
+            case ROOM_UPDATED, HELD, RELEASED, EXPIRED, REQUEST_RELEASED -> rebuilds.apply(event);
+            case CATALOG_CHANGED -> rebuild();
+            default -> {
+                // Подтверждение и счетчик бронирований занятость ночей не меняют
+            }
+        }
+    }
+
+    // Прошедшие ночи больше не запрашиваются - их битовые карты только занимают память
+    @Scheduled(cron = "${hotel.calendar.prune-cron:0 5 0 * * *}")
+    public void pruneNightsBeforeToday() {
+        LocalDate tonight = LocalDate.now();
+        current.hotels().values().forEach(calendar -> calendar.pruneBefore(tonight));
+    }
+
+    private Calendars load() {
+        Map<Long, HotelCalendar> loaded = new ConcurrentHashMap<>();
+        Map<Long, HotelCalendar> byRoom = new ConcurrentHashMap<>();
+        for (RoomDto room : roomRepository.findAllRoomDtos()) {
+            HotelCalendar calendar = loaded.computeIfAbsent(room.getHotelId(), hotelId -> new HotelCalendar());
+            calendar.putRoom(room.getId(), room.getAvailable());
+            byRoom.put(room.getId(), calendar);
+        }
+        LocalDate tonight = LocalDate.now();
+        for (ReservationSpan span : reservationNightRepository.findAllSpans()) {
+            HotelCalendar calendar = byRoom.get(span.getRoomId());
+            if (calendar != null && !span.getLastNight().isBefore(tonight)) {
+                calendar.hold(span.getRoomId(), span.getRequestId(), span.getFirstNight(),
+                        span.getLastNight().plusDays(1), span.getHeldUntil(), LocalDateTime.now());
+            }
+        }
+        return new Calendars(loaded, byRoom);
+    }
+
+    // Блокировки повторяются при перестройке: hold вытесняет прежнюю запись того же запроса, снятие идемпотентно
+    private void apply(RoomAvailabilityChangedEvent event) {
+        Calendars calendars = current;
+        switch (event.type()) {
+            case ROOM_UPDATED -> {
+                RoomDto room = event.room();
+                HotelCalendar calendar = calendars.hotelOfRoom().computeIfAbsent(room.getId(),
+                        roomId -> calendars.hotels().computeIfAbsent(room.getHotelId(), hotelId -> new HotelCalendar()));
+                calendar.putRoom(room.getId(), room.getAvailable());
+            }
+            case HELD -> {
+                HotelCalendar calendar = calendars.hotelOfRoom().get(event.roomId());
+                if (calendar != null) {
+                    calendar.hold(event.roomId(), event.requestId(), event.fromNight(), event.toNight(),
+                            event.heldUntil(), LocalDateTime.now());
+                }
+            }
+            case RELEASED, EXPIRED -> {
+                HotelCalendar calendar = calendars.hotelOfRoom().get(event.roomId());
+                if (calendar != null) {
+                    calendar.release(event.roomId(), event.requestId());
+                }
+            }
+            case REQUEST_RELEASED -> calendars.hotels().values().forEach(calendar -> calendar.releaseRequest(event.requestId()));
+            default -> {
+            }
+        }
+    }
+
+    private record Calendars(Map<Long, HotelCalendar> hotels, Map<Long, HotelCalendar> hotelOfRoom) {
+    }
+
+    private record Stay(String requestId, LocalDate fromNight, LocalDate toNight, LocalDateTime heldUntil) {
+
+        boolean covers(LocalDate night) {
+            return !night.isBefore(fromNight) && night.isBefore(toNight);
+        }
+
+        boolean isActive(LocalDateTime now) {
+            return heldUntil == null || !heldUntil.isBefore(now);
+        }
+    }
+
+    private static final class HotelCalendar {
+        private final Map<Long, Integer> slots = new HashMap<>();
+        private final List<Long> roomIds = new ArrayList<>();
+        private final BitSet open = new BitSet();
+        private final TreeMap<LocalDate, BitSet> occupied = new TreeMap<>();
+        private final Map<Integer, List<Stay>> stays = new HashMap<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        void putRoom(Long roomId, Boolean available) {
+            lock.writeLock().lock();
+            try {
+                Integer slot = slots.get(roomId);
+                if (slot == null) {
+                    slot = roomIds.size();
+                    slots.put(roomId, slot);
+                    roomIds.add(roomId);
+                }
+                open.set(slot, Boolean.TRUE.equals(available));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        int freeRooms(LocalDate night) {
+            lock.readLock().lock();
+            try {
+                BitSet taken = occupied.get(night);
+                if (taken == null) {
+                    return open.cardinality();
+                }
+                BitSet free = (BitSet) open.clone();
+                free.andNot(taken);
+                return free.cardinality();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        List<Long> freeForStay(LocalDate fromNight, LocalDate toNight) {
+            lock.readLock().lock();
+            try {
+                BitSet free = (BitSet) open.clone();
+                for (BitSet taken : occupied.subMap(fromNight, toNight).values()) {
+                    free.andNot(taken);
+                }
+                List<Long> result = new ArrayList<>(free.cardinality());
+                free.stream().forEach(slot -> result.add(roomIds.get(slot)));
+                result.sort(null);
+                return result;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        // Как RoomAvailabilityIndex: новая блокировка вытесняет прежнюю блокировку запроса и истекшие блокировки на своих ночах
+        void hold(Long roomId, String requestId, LocalDate fromNight, LocalDate toNight,
+                  LocalDateTime heldUntil, LocalDateTime now) {
+            lock.writeLock().lock();
+            try {
+                Integer slot = slots.get(roomId);
+                if (slot == null) {
+                    return;
+                }
+                List<Stay> roomStays = stays.computeIfAbsent(slot, s -> new ArrayList<>());
+                List<Stay> displaced = new ArrayList<>();
+                for (Stay stay : roomStays) {
+                    boolean overlaps = stay.fromNight().isBefore(toNight) && fromNight.isBefore(stay.toNight());
+                    if (stay.requestId().equals(requestId) || (overlaps && !stay.isActive(now))) {
+                        displaced.add(stay);
+                    }
+                }
+                roomStays.removeAll(displaced);
+                Stay stay = new Stay(requestId, fromNight, toNight, heldUntil);
+                roomStays.add(stay);
+                displaced.forEach(previous -> clearUncovered(slot, previous, roomStays));
+                for (LocalDate night = fromNight; night.isBefore(toNight); night = night.plusDays(1)) {
+                    occupied.computeIfAbsent(night, n -> new BitSet()).set(slot);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void release(Long roomId, String requestId) {
+            lock.writeLock().lock();
+            try {
+                Integer slot = slots.get(roomId);
+                if (slot != null) {
+                    removeStays(slot, requestId);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void releaseRequest(String requestId) {
+            lock.writeLock().lock();
+            try {
+                List<Integer> slotsOfRequest = stays.entrySet().stream()
+                        .filter(entry -> entry.getValue().stream().anyMatch(stay -> stay.requestId().equals(requestId)))
+                        .map(Map.Entry::getKey)
+                        .toList();
+                slotsOfRequest.forEach(slot -> removeStays(slot, requestId));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void pruneBefore(LocalDate tonight) {
+            lock.writeLock().lock();
+            try {
+                occupied.headMap(tonight).clear();
+                for (Iterator<List<Stay>> it = stays.values().iterator(); it.hasNext(); ) {
+                    List<Stay> roomStays = it.next();
+                    roomStays.removeIf(stay -> !stay.toNight().isAfter(tonight));
+                    if (roomStays.isEmpty()) {
+                        it.remove();
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void removeStays(int slot, String requestId) {
+            List<Stay> roomStays = stays.get(slot);
+            if (roomStays == null) {
+                return;
+            }
+            List<Stay> removed = roomStays.stream().filter(stay -> stay.requestId().equals(requestId)).toList();
+            roomStays.removeAll(removed);
+            removed.forEach(stay -> clearUncovered(slot, stay, roomStays));
+            if (roomStays.isEmpty()) {
+                stays.remove(slot);
+            }
+        }
+
+        // Ночь освобождается, только если ее не держит другая запись того же номера
+        private void clearUncovered(int slot, Stay removed, List<Stay> remaining) {
+            for (LocalDate night = removed.fromNight(); night.isBefore(removed.toNight()); night = night.plusDays(1)) {
+                LocalDate current = night;
+                if (remaining.stream().noneMatch(stay -> stay.covers(current))) {
+                    BitSet taken = occupied.get(night);
+                    if (taken != null) {
+                        taken.clear(slot);
+                        if (taken.isEmpty()) {
+                            occupied.remove(night);
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.eveiled.hotelservice.service;
+
+import com.eveiled.hotelservice.dto.RoomDto;
+import com.eveiled.hotelservice.repository.RoomRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Available rooms kept sorted by {@code (timesBooked, id)} in a skip list, so the top K
+ * recommendations cost O(K) plus the rooms skipped because they are taken tonight.
+ * <p>
+ * Entries are immutable snapshots: a change replaces the room's entry instead of mutating it.
+ * Loaded before the web server starts and updated by {@link RoomAvailabilityChangedEvent}s after commit.
+ * <p>
+ * timesBooked of an entry is the count in the database at the last full load plus every increment
+ * {@link TimesBookedBuffer} has counted since startup, so increments not yet flushed still rank the room.
+ * A reload builds a new ranking and swaps it in whole through {@link ReplayingRebuild}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RoomRecommendationIndex implements SmartInitializingSingleton {
+
+    private static final Comparator<RoomDto> RANKING = Comparator
+            .comparing(RoomDto::getTimesBooked)
+            .thenComparing(RoomDto::getId);
+
+    private final RoomRepository roomRepository;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final TimesBookedBuffer timesBookedBuffer;
+
+    private final ReplayingRebuild<RoomAvailabilityChangedEvent> rebuilds = new ReplayingRebuild<>(this::apply);
+    private volatile Ranking current = new Ranking();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        rebuilds.rebuild(this::load, loaded -> current = loaded);
+        log.info("ROOM_RECOMMENDATION_INDEX_REBUILT: {} rooms, {} available", current.rooms.size(), current.ranked.size());
+    }
+
+    /**
+     * Up to {@code limit} least booked available rooms that nobody holds or occupies tonight,
+     * ranked strictly after {@code after} (only its timesBooked and id are used), or from the top if it is null.
+     */
+    public List<RoomDto> topAvailable(RoomDto after, int limit) {
+        NavigableSet<RoomDto> ranked = current.ranked;
+        LocalDate tonight = LocalDate.now();
+        List<RoomDto> result = new ArrayList<>(limit);
+        // Во время замены записи обход может встретить номер дважды
+        Set<Long> seen = new HashSet<>();
+        for (RoomDto room : after == null ? ranked : ranked.tailSet(after, false)) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (seen.add(room.getId()) && !availabilityIndex.hasConflict(room.getId(), tonight, tonight.plusDays(1), null)) {
+                result.add(room);
+            }
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onAvailabilityChanged(RoomAvailabilityChangedEvent event) {
+        switch (event.type()) {
+            case ROOM_UPDATED, TIMES_BOOKED_INCREMENTED -> rebuilds.apply(event);
+            case CATALOG_CHANGED -> rebuild();
+            default -> {
+                // Блокировки учитываются при обходе через RoomAvailabilityIndex
+            }
+        }
+    }
+
+    private Ranking load() {
+        // Пока идет чтение, сброс буфера не переносит приращения в times_booked, и разность остается точной
+        return timesBookedBuffer.withoutFlush(() -> {
+            Ranking loaded = new Ranking();
+            roomRepository.findAllRoomDtos().forEach(room -> loaded.put(room, baseOf(room)));
+            return loaded;
+        });
+    }
+
+    private void apply(RoomAvailabilityChangedEvent event) {
+        Ranking ranking = current;
+        switch (event.type()) {
+            case ROOM_UPDATED -> {
+                Entry previous = ranking.rooms.get(event.room().getId());
+                ranking.put(event.room(), previous != null ? previous.base() : baseOf(event.room()));
+            }
+            case TIMES_BOOKED_INCREMENTED -> {
+                Entry previous = ranking.rooms.get(event.roomId());
+                if (previous == null) {
+                    log.warn("ROOM_RECOMMENDATION_INDEX_MISS: Room {} is not indexed", event.roomId());
+                    return;
+                }
+                // Итог берется из буфера, поэтому повтор события после перестройки ничего не удваивает
+                ranking.put(previous.room(), previous.base());
+            }
+            default -> {
+            }
+        }
+    }
+
+    private long baseOf(RoomDto room) {
+        long timesBooked = room.getTimesBooked() != null ? room.getTimesBooked() : 0;
+        return timesBooked - timesBookedBuffer.flushedFor(room.getId());
+    }
+
+    private record Entry(RoomDto room, long base) {
+    }
+
+    private final class Ranking {
+        private final Map<Long, Entry> rooms = new ConcurrentHashMap<>();
+        private final NavigableSet<RoomDto> ranked = new ConcurrentSkipListSet<>(RANKING);
+
+        void put(RoomDto room, long base) {
+            RoomDto snapshot = new RoomDto(room.getId(), room.getHotelId(), room.getNumber(), room.getAvailable(),
+                    Math.toIntExact(base + timesBookedBuffer.countedFor(room.getId())));
+            Entry previous = rooms.put(snapshot.getId(), new Entry(snapshot, base));
+            if (previous != null) {
+                ranked.remove(previous.room());
+            }
+            if (Boolean.TRUE.equals(snapshot.getAvailable())) {
+                ranked.add(snapshot);
+            }
+        }
+    }
+}
@@ -1,18 +1,45 @@
 package com.eveiled.hotelservice.service;
 
+import com.eveiled.hotelservice.config.PaginationProperties;
 import com.eveiled.hotelservice.dto.AvailabilityRequest;
+import com.eveiled.hotelservice.dto.BatchHoldRequest;
+import com.eveiled.hotelservice.dto.BatchHoldResponse;
+import com.eveiled.hotelservice.dto.CursorPage;
+import com.eveiled.hotelservice.dto.ReserveRoomRequest;
+import com.eveiled.hotelservice.dto.RoomHoldResult;
 import com.eveiled.hotelservice.dto.RoomDto;
+import com.eveiled.hotelservice.entity.ReservationNight;
 import com.eveiled.hotelservice.entity.Room;
 import com.eveiled.hotelservice.mapper.HotelMapper;
+import com.eveiled.hotelservice.repository.ReservationNightRepository;
+import com.eveiled.hotelservice.repository.ReservationNightRepositoryCustom.HoldRef;
 import com.eveiled.hotelservice.repository.RoomRepository;
 import com.eveiled.hotelservice.util.CorrelationIdUtil;
+import com.eveiled.hotelservice.util.CursorUtil;
+import com.eveiled.hotelservice.util.StayNightsUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -21,8 +48,17 @@ import java.util.List;
 public class RoomService {
     
     private final RoomRepository roomRepository;
+    private final ReservationNightRepository reservationNightRepository;
     private final HotelService hotelService;
     private final HotelMapper hotelMapper;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final RoomRecommendationIndex recommendationIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PaginationProperties paginationProperties;
+    private final TimesBookedBuffer timesBookedBuffer;
+
+    @Value("${hotel.reserve-any.max-attempts:3}")
+    private int reserveAnyMaxAttempts;
     
     public RoomDto createRoom(RoomDto roomDto) {
         Room room = new Room();
@@ -31,25 +67,59 @@ public class RoomService {
         room.setTimesBooked(roomDto.getTimesBooked() != null ? roomDto.getTimesBooked() : 0);
         room.setHotel(hotelMapper.toEntity(hotelService.getHotelById(roomDto.getHotelId())));
         Room savedRoom = roomRepository.save(room);
-        return hotelMapper.toRoomDto(savedRoom);
+        RoomDto createdRoom = hotelMapper.toRoomDto(savedRoom);
+        eventPublisher.publishEvent(RoomAvailabilityChangedEvent.roomUpdated(createdRoom));
+        return createdRoom;
     }
     
     @Transactional(readOnly = true)
-    public List<RoomDto> getAllAvailableRooms() {
-        List<Room> rooms = roomRepository.findByAvailableTrue();
-        return hotelMapper.toRoomDtoList(rooms);
+    public CursorPage<RoomDto> getAllAvailableRooms(String cursor, Integer size) {
+        int pageSize = paginationProperties.resolvePageSize(size);
+        List<RoomDto> rooms = roomRepository.findAvailableRoomDtos(
+                CursorUtil.decodeId(cursor), PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rooms, pageSize, page -> {
+            timesBookedBuffer.applyPending(page);
+            return page;
+        }, room -> CursorUtil.encode(room.getId()));
     }
     
-    @Transactional(readOnly = true)
-    public List<RoomDto> getRecommendedRooms() {
-        List<Room> rooms = roomRepository.findAvailableRoomsOrderedByTimesBooked();
-        return hotelMapper.toRoomDtoList(rooms);
+    /**
+     * Least booked rooms that are free tonight, served from {@link RoomRecommendationIndex}.
+     * The cursor carries the {@code (timesBooked, id)} of the last room of the previous page.
+     * Runs outside a transaction, so serving it never takes a database connection.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CursorPage<RoomDto> getRecommendedRooms(String cursor, Integer limit) {
+        int pageSize = paginationProperties.resolvePageSize(limit);
+        RoomDto after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] keys = CursorUtil.decode(cursor, 2);
+            try {
+                after = new RoomDto(Long.parseLong(keys[1]), null, null, null, Integer.parseInt(keys[0]));
+            } catch (NumberFormatException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+        }
+        List<RoomDto> rooms = recommendationIndex.topAvailable(after, pageSize + 1);
+        return CursorPage.of(rooms, pageSize, page -> page,
+                room -> CursorUtil.encode(room.getTimesBooked(), room.getId()));
     }
     
     @Transactional(readOnly = true)
     public List<RoomDto> getAvailableRoomsNotBlocked() {
-        List<Room> rooms = roomRepository.findAvailableRoomsNotBlocked(LocalDateTime.now());
-        return hotelMapper.toRoomDtoList(rooms);
+        LocalDate tonight = LocalDate.now();
+        return loadRooms(availabilityIndex.findFreeRooms(null, tonight, tonight.plusDays(1)));
+    }
+    
+    /**
+     * Rooms free for the whole stay, least booked first. The date-range check runs against
+     * {@link RoomAvailabilityIndex}; only the matching rooms are loaded from the database.
+     */
+    @Transactional(readOnly = true)
+    public List<RoomDto> searchAvailableRooms(Long hotelId, LocalDateTime startDate, LocalDateTime endDate) {
+        LocalDate fromNight = StayNightsUtil.firstNight(startDate, endDate);
+        LocalDate toNight = StayNightsUtil.endNight(startDate, endDate);
+        return loadRooms(availabilityIndex.findFreeRooms(hotelId, fromNight, toNight));
     }
     
     public boolean confirmAvailability(Long roomId, AvailabilityRequest request) {
@@ -59,35 +129,136 @@ public class RoomService {
         log.info("HOTEL_AVAILABILITY_CHECK: Confirming availability for room {} with requestId {} [roomId={}, correlationId={}]", 
                 roomId, request.getRequestId(), roomId, correlationId);
         
+        List<LocalDate> nights = StayNightsUtil.nightsOf(request.getStartDate(), request.getEndDate());
+        LocalDate toNight = nights.get(nights.size() - 1).plusDays(1);
+        // Индекс может отставать от БД лишь на незавершенные коммиты - отказ по нему безопасен, согласие проверяет БД
+        if (availabilityIndex.hasConflict(roomId, nights.get(0), toNight, request.getRequestId())) {
+            log.warn("HOTEL_ROOM_BLOCKED: Room {} is already taken for some of the nights {} - {} [roomId={}, correlationId={}]", 
+                    roomId, nights.get(0), nights.get(nights.size() - 1), roomId, correlationId);
+            return false;
+        }
+        
         Room room = roomRepository.findById(roomId)
                 .orElseThrow(() -> new RuntimeException("Room not found with id: " + roomId));
-        
         if (!room.getAvailable()) {
             log.warn("HOTEL_ROOM_UNAVAILABLE: Room {} is not available [roomId={}, correlationId={}]", 
                     roomId, roomId, correlationId);
             return false;
         }
-
-        //Поддержка идемпотентности
-        if (room.getBlockedUntil() != null && room.getBlockedUntil().isAfter(LocalDateTime.now())) {
-            if (request.getRequestId().equals(room.getBlockedByRequestId())) {
-                log.info("HOTEL_ROOM_ALREADY_BLOCKED_BY_SAME_REQUEST: Room {} already blocked by same requestId {} - idempotent operation [roomId={}, correlationId={}]", 
-                        roomId, request.getRequestId(), roomId, correlationId);
-                return true;
+        
+        LocalDateTime heldUntil = request.getEndDate().plusHours(1);
+        if (holdNights(roomId, request.getRequestId(), nights, heldUntil)) {
+            log.info("HOTEL_ROOM_BLOCKED_SUCCESS: Room {} held for request {} for nights {} - {} until {} [roomId={}, correlationId={}]", 
+                    roomId, request.getRequestId(), nights.get(0), nights.get(nights.size() - 1), heldUntil, roomId, correlationId);
+            return true;
+        }
+        
+        log.warn("HOTEL_ROOM_BLOCKED: Room {} is already taken for some of the nights {} - {} [roomId={}, correlationId={}]", 
+                roomId, nights.get(0), nights.get(nights.size() - 1), roomId, correlationId);
+        return false;
+    }
+    
+    /**
+     * Picks and holds the best room free for the whole stay in one transaction. A retry with the same
+     * requestId returns the room already held for it instead of taking a second one.
+     */
+    public Optional<RoomDto> reserveAnyAvailableRoom(ReserveRoomRequest request) {
+        String correlationId = CorrelationIdUtil.getCorrelationId();
+        
+        Optional<ReservationNight> alreadyHeld = reservationNightRepository.findFirstByRequestId(request.getRequestId());
+        if (alreadyHeld.isPresent()) {
+            Long roomId = alreadyHeld.get().getRoomId();
+            log.info("HOTEL_ROOM_ALREADY_RESERVED: Room {} already held for request {} [roomId={}, correlationId={}]", 
+                    roomId, request.getRequestId(), roomId, correlationId);
+            return roomRepository.findById(roomId).map(this::toRoomDto);
+        }
+        
+        List<LocalDate> nights = StayNightsUtil.nightsOf(request.getStartDate(), request.getEndDate());
+        LocalDate toNight = nights.get(nights.size() - 1).plusDays(1);
+        LocalDateTime heldUntil = request.getEndDate().plusHours(1);
+        List<Long> conflicted = new ArrayList<>();
+        for (int attempt = 1; attempt <= reserveAnyMaxAttempts; attempt++) {
+            Optional<Room> candidate = roomRepository.lockBestAvailableRoom(request.getHotelId(), nights.get(0), toNight,
+                    LocalDateTime.now(), conflicted.isEmpty() ? RoomRepository.NO_ROOMS : conflicted);
+            if (candidate.isEmpty()) {
+                log.warn("HOTEL_NO_ROOMS_AVAILABLE: No free room for request {} [hotelId={}, correlationId={}]", 
+                        request.getRequestId(), request.getHotelId(), correlationId);
+                return Optional.empty();
+            }
+            
+            Room room = candidate.get();
+            CorrelationIdUtil.setRoomId(room.getId());
+            // Строка номера заблокирована FOR UPDATE, но confirm-availability по номеру ее не берет - гонка решается
+            // уникальным ключом; неудачная попытка откатывается до точки сохранения, и берется следующий номер
+            TransactionStatus transaction = TransactionAspectSupport.currentTransactionStatus();
+            Object savepoint = transaction.createSavepoint();
+            if (insertHoldNights(room.getId(), request.getRequestId(), nights, heldUntil)) {
+                transaction.releaseSavepoint(savepoint);
+                log.info("HOTEL_ROOM_RESERVED: Room {} reserved for request {} until {} [roomId={}, correlationId={}]", 
+                        room.getId(), request.getRequestId(), heldUntil, room.getId(), correlationId);
+                return Optional.of(toRoomDto(room));
+            }
+            transaction.rollbackToSavepoint(savepoint);
+            conflicted.add(room.getId());
+            log.warn("HOTEL_ROOM_RESERVE_CONFLICT: Room {} could not be held for request {}, attempt {} of {} [roomId={}, correlationId={}]", 
+                    room.getId(), request.getRequestId(), attempt, reserveAnyMaxAttempts, room.getId(), correlationId);
+        }
+        log.warn("HOTEL_ROOM_RESERVE_GAVE_UP: Rooms {} were all taken concurrently for request {} [correlationId={}]", 
+                conflicted, request.getRequestId(), correlationId);
+        return Optional.empty();
+    }
+    
+    /**
+     * Holds every room of a group for the same stay, all or nothing. Rooms are locked in id order
+     * and all nights go in one transaction; if any room cannot be held the transaction is rolled back
+     * and the response tells which rooms failed and why.
+     */
+    public BatchHoldResponse holdRooms(BatchHoldRequest request) {
+        String correlationId = CorrelationIdUtil.getCorrelationId();
+        if (request.getRoomIds() == null || request.getRoomIds().isEmpty()) {
+            throw new IllegalArgumentException("No rooms to hold");
+        }
+        List<Long> roomIds = request.getRoomIds().stream().distinct().sorted().toList();
+        List<LocalDate> nights = StayNightsUtil.nightsOf(request.getStartDate(), request.getEndDate());
+        LocalDate toNight = nights.get(nights.size() - 1).plusDays(1);
+        
+        log.info("HOTEL_BATCH_HOLD: Holding rooms {} for request {} for nights {} - {} [correlationId={}]", 
+                roomIds, request.getRequestId(), nights.get(0), nights.get(nights.size() - 1), correlationId);
+        
+        Map<Long, Room> rooms = new HashMap<>();
+        roomRepository.lockAllByIdOrderById(roomIds).forEach(room -> rooms.put(room.getId(), room));
+        
+        // Сначала проверяем все номера без записи в БД, чтобы вернуть полный список причин отказа
+        Map<Long, RoomHoldResult.Status> statuses = new LinkedHashMap<>();
+        for (Long roomId : roomIds) {
+            Room room = rooms.get(roomId);
+            if (room == null) {
+                statuses.put(roomId, RoomHoldResult.Status.NOT_FOUND);
+            } else if (!room.getAvailable()) {
+                statuses.put(roomId, RoomHoldResult.Status.UNAVAILABLE);
+            } else if (availabilityIndex.hasConflict(roomId, nights.get(0), toNight, request.getRequestId())) {
+                statuses.put(roomId, RoomHoldResult.Status.TAKEN);
             } else {
-                log.warn("HOTEL_ROOM_BLOCKED: Room {} is already blocked until {} by different request {} [roomId={}, correlationId={}]", 
-                        roomId, room.getBlockedUntil(), room.getBlockedByRequestId(), roomId, correlationId);
-                return false;
+                statuses.put(roomId, RoomHoldResult.Status.HELD);
             }
         }
-
-        room.setBlockedUntil(request.getEndDate().plusHours(1));
-        room.setBlockedByRequestId(request.getRequestId());
-        roomRepository.save(room);
         
-        log.info("HOTEL_ROOM_BLOCKED_SUCCESS: Room {} blocked successfully for request {} until {} [roomId={}, correlationId={}]", 
-                roomId, request.getRequestId(), room.getBlockedUntil(), roomId, correlationId);
-        return true;
+        if (statuses.values().stream().anyMatch(status -> status != RoomHoldResult.Status.HELD)) {
+            return batchHoldFailed(request.getRequestId(), statuses, correlationId);
+        }
+        
+        LocalDateTime heldUntil = request.getEndDate().plusHours(1);
+        for (Long roomId : roomIds) {
+            if (!holdNights(roomId, request.getRequestId(), nights, heldUntil)) {
+                // holdNights уже пометил транзакцию на откат - блокировки остальных номеров группы не сохранятся
+                statuses.put(roomId, RoomHoldResult.Status.TAKEN);
+                return batchHoldFailed(request.getRequestId(), statuses, correlationId);
+            }
+        }
+        
+        log.info("HOTEL_BATCH_HOLD_SUCCESS: Held {} rooms for request {} until {} [correlationId={}]", 
+                roomIds.size(), request.getRequestId(), heldUntil, correlationId);
+        return new BatchHoldResponse(true, toResults(statuses));
     }
     
     public void releaseRoom(Long roomId, String requestId) {
@@ -97,53 +268,145 @@ public class RoomService {
         log.info("HOTEL_ROOM_RELEASE: Releasing room {} for requestId {} [roomId={}, correlationId={}]", 
                 roomId, requestId, roomId, correlationId);
         
-        Room room = roomRepository.findById(roomId)
-                .orElseThrow(() -> new RuntimeException("Room not found with id: " + roomId));
-        
-        if (requestId.equals(room.getBlockedByRequestId())) {
-            room.setBlockedUntil(null);
-            room.setBlockedByRequestId(null);
-            roomRepository.save(room);
-            log.info("HOTEL_ROOM_RELEASE_SUCCESS: Room {} released successfully for request {} [roomId={}, correlationId={}]", 
+        int released = reservationNightRepository.release(roomId, requestId);
+        if (released > 0) {
+            eventPublisher.publishEvent(RoomAvailabilityChangedEvent.released(roomId, requestId));
+            log.info("HOTEL_ROOM_RELEASE_SUCCESS: Released {} nights of room {} for request {} [roomId={}, correlationId={}]", 
+                    released, roomId, requestId, roomId, correlationId);
+        } else {
+            log.warn("HOTEL_ROOM_RELEASE_MISMATCH: Room {} holds no nights for request {} [roomId={}, correlationId={}]", 
                     roomId, requestId, roomId, correlationId);
+        }
+    }
+    
+    public void incrementTimesBooked(Long roomId, String requestId) {
+        if (requestId == null) {
+            incrementTimesBooked(roomId);
+            return;
+        }
+        CorrelationIdUtil.setRoomId(roomId);
+        String correlationId = CorrelationIdUtil.getCorrelationId();
+
+        int confirmedNights = reservationNightRepository.confirmHolds(roomId, requestId);
+        if (confirmedNights > 0) {
+            // Сам счетчик пишет TimesBookedBuffer пачкой после коммита
+            eventPublisher.publishEvent(RoomAvailabilityChangedEvent.confirmed(roomId, requestId));
+            eventPublisher.publishEvent(RoomAvailabilityChangedEvent.timesBookedIncremented(roomId));
+            log.info("HOTEL_ROOM_BOOKING_FINALIZED: Confirmed {} nights and incremented times booked for room {} for request {} [roomId={}, correlationId={}]", 
+                    confirmedNights, roomId, requestId, roomId, correlationId);
         } else {
-            log.warn("HOTEL_ROOM_RELEASE_MISMATCH: Request {} does not match blocked request {} for room {} [roomId={}, correlationId={}]", 
-                    requestId, room.getBlockedByRequestId(), roomId, roomId, correlationId);
+            log.info("HOTEL_ROOM_BOOKING_ALREADY_FINALIZED: Room {} holds nothing for request {} - idempotent operation [roomId={}, correlationId={}]", 
+                    roomId, requestId, roomId, correlationId);
         }
     }
     
+    /**
+     * Legacy call without a requestId: there is no hold to match it against, so the counter
+     * is incremented unconditionally and repeated calls are not deduplicated.
+     */
     public void incrementTimesBooked(Long roomId) {
         CorrelationIdUtil.setRoomId(roomId);
         String correlationId = CorrelationIdUtil.getCorrelationId();
         
-        Room room = roomRepository.findById(roomId)
-                .orElseThrow(() -> new RuntimeException("Room not found with id: " + roomId));
-
-        if (room.getBlockedUntil() != null && room.getBlockedByRequestId() != null) {
-            int previousTimesBooked = room.getTimesBooked();
-            room.setTimesBooked(room.getTimesBooked() + 1);
-            room.setBlockedUntil(null);
-            room.setBlockedByRequestId(null);
-            roomRepository.save(room);
-            
-            log.info("HOTEL_ROOM_BOOKING_FINALIZED: Incremented times booked for room {} from {} to {} [roomId={}, correlationId={}]", 
-                    roomId, previousTimesBooked, room.getTimesBooked(), roomId, correlationId);
-        } else {
-            log.info("HOTEL_ROOM_BOOKING_ALREADY_FINALIZED: Room {} booking already finalized - idempotent operation [roomId={}, correlationId={}]", 
-                    roomId, roomId, correlationId);
+        if (!roomRepository.existsById(roomId)) {
+            throw new RuntimeException("Room not found with id: " + roomId);
         }
+        eventPublisher.publishEvent(RoomAvailabilityChangedEvent.timesBookedIncremented(roomId));
+        log.info("HOTEL_ROOM_BOOKING_FINALIZED: Incremented times booked for room {} [roomId={}, correlationId={}]", 
+                roomId, roomId, correlationId);
     }
     
     public void releaseRoomsByRequestId(String requestId) {
         log.info("Releasing all rooms for requestId {}", requestId);
         
-        List<Room> blockedRooms = roomRepository.findByBlockedByRequestId(requestId);
-        for (Room room : blockedRooms) {
-            room.setBlockedUntil(null);
-            room.setBlockedByRequestId(null);
-            roomRepository.save(room);
+        int released = reservationNightRepository.releaseByRequestId(requestId);
+        if (released > 0) {
+            eventPublisher.publishEvent(RoomAvailabilityChangedEvent.requestReleased(requestId));
         }
         
-        log.info("Released {} rooms for request {}", blockedRooms.size(), requestId);
+        log.info("Released {} nights for request {}", released, requestId);
+    }
+    
+    /**
+     * Releases every night held or booked by any of {@code requestIds} in a single statement.
+     * Returns the number of nights freed.
+     */
+    public int releaseRequests(Collection<String> requestIds) {
+        if (requestIds.isEmpty()) {
+            return 0;
+        }
+        int released = reservationNightRepository.releaseByRequestIds(requestIds);
+        if (released > 0) {
+            requestIds.forEach(requestId -> eventPublisher.publishEvent(RoomAvailabilityChangedEvent.requestReleased(requestId)));
+        }
+        log.info("HOTEL_REQUESTS_RELEASED: Released {} nights for {} requests", released, requestIds.size());
+        return released;
+    }
+    
+    /**
+     * Deletes the given holds if they are still unconfirmed and past their heldUntil, and publishes
+     * an EXPIRED event for each one removed. Called by {@link HoldExpiryReaper}.
+     */
+    public List<HoldRef> expireHolds(List<HoldRef> holds) {
+        List<HoldRef> expired = reservationNightRepository.deleteExpiredHolds(holds, LocalDateTime.now());
+        for (HoldRef hold : expired) {
+            eventPublisher.publishEvent(RoomAvailabilityChangedEvent.expired(hold.roomId(), hold.requestId()));
+        }
+        log.info("HOTEL_HOLDS_EXPIRED: {} of {} due holds expired", expired.size(), holds.size());
+        return expired;
+    }
+    
+    private BatchHoldResponse batchHoldFailed(String requestId, Map<Long, RoomHoldResult.Status> statuses, String correlationId) {
+        statuses.replaceAll((roomId, status) ->
+                status == RoomHoldResult.Status.HELD ? RoomHoldResult.Status.NOT_HELD : status);
+        log.warn("HOTEL_BATCH_HOLD_FAILED: Nothing held for request {}: {} [correlationId={}]", 
+                requestId, statuses, correlationId);
+        return new BatchHoldResponse(false, toResults(statuses));
+    }
+    
+    private static List<RoomHoldResult> toResults(Map<Long, RoomHoldResult.Status> statuses) {
+        return statuses.entrySet().stream()
+                .map(entry -> new RoomHoldResult(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+    
+    private List<RoomDto> loadRooms(List<Long> roomIds) {
+        List<RoomDto> rooms = new ArrayList<>(toRoomDtos(roomRepository.loadAllById(roomIds)));
+        rooms.sort(Comparator.comparing(RoomDto::getTimesBooked).thenComparing(RoomDto::getId));
+        return rooms;
+    }
+    
+    private RoomDto toRoomDto(Room room) {
+        RoomDto roomDto = hotelMapper.toRoomDto(room);
+        timesBookedBuffer.applyPending(roomDto);
+        return roomDto;
+    }
+    
+    private List<RoomDto> toRoomDtos(List<Room> rooms) {
+        List<RoomDto> roomDtos = hotelMapper.toRoomDtoList(rooms);
+        timesBookedBuffer.applyPending(roomDtos);
+        return roomDtos;
+    }
+    
+    // Все ночи проживания вставляются одним пакетом: либо бронь встает целиком, либо транзакция откатывается
+    private boolean holdNights(Long roomId, String requestId, List<LocalDate> nights, LocalDateTime heldUntil) {
+        if (insertHoldNights(roomId, requestId, nights, heldUntil)) {
+            return true;
+        }
+        TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        return false;
+    }
+
+    // Часть ночей могла записаться до конфликта - вызывающий откатывает транзакцию или точку сохранения
+    private boolean insertHoldNights(Long roomId, String requestId, List<LocalDate> nights, LocalDateTime heldUntil) {
+        LocalDate toNight = nights.get(nights.size() - 1).plusDays(1);
+        reservationNightRepository.deleteExpiredHolds(roomId, nights.get(0), toNight, LocalDateTime.now());
+        // Повтор того же запроса заменяет собственные ночи, а не конфликтует с ними
+        reservationNightRepository.deleteHolds(roomId, requestId);
+        if (reservationNightRepository.insertHolds(roomId, requestId, nights, heldUntil)) {
+            eventPublisher.publishEvent(RoomAvailabilityChangedEvent.held(roomId, requestId, nights.get(0), toNight, heldUntil));
+            return true;
+        }
+        return false;
     }
 }
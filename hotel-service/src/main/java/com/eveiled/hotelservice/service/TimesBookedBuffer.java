@@ -0,0 +1,178 @@
+package com.eveiled.hotelservice.service;
+
+import com.eveiled.hotelservice.dto.RoomDto;
+import com.eveiled.hotelservice.repository.RoomRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Write-behind buffer for {@code rooms.times_booked}. Committed increments are counted per room in a
+ * {@link LongAdder} and written periodically, or as soon as {@code flush-threshold} increments pile up,
+ * with one batched {@code UPDATE ... SET times_booked = times_booked + ?}. A failed flush keeps its
+ * deltas for the next one; the remaining deltas are flushed on shutdown. Flushed rooms are evicted from
+ * the second-level cache after commit.
+ * <p>
+ * Room reads add the pending delta via {@link #applyPending}. While a flush commits, a read
+ * may count its delta twice for a moment.
+ * <p>
+ * {@link RoomRecommendationIndex} keeps exact counts from {@link #countedFor} and {@link #flushedFor}
+ * instead: {@code times_booked - flushedFor} read under {@link #withoutFlush} does not change when
+ * later flushes move deltas into the column.
+ */
+@Component
+@Slf4j
+public class TimesBookedBuffer implements DisposableBean {
+
+    private final RoomRepository roomRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, PendingCount> counts = new ConcurrentHashMap<>();
+    private final AtomicLong unflushed = new AtomicLong();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Lock flushLock = new ReentrantLock();
+    private final ExecutorService flushExecutor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "times-booked-flush"));
+
+    @Value("${hotel.times-booked.flush-threshold:100}")
+    private long flushThreshold;
+
+    public TimesBookedBuffer(RoomRepository roomRepository, PlatformTransactionManager transactionManager) {
+        this.roomRepository = roomRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Счетчик растет только после коммита: подтверждение, откатившееся вместе с транзакцией, не учитывается.
+    // Слушатель идет первым - индекс рекомендаций берет итог из буфера для того же события
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Order(0)
+    public void onAvailabilityChanged(RoomAvailabilityChangedEvent event) {
+        if (event.type() == RoomAvailabilityChangedEvent.Type.TIMES_BOOKED_INCREMENTED) {
+            increment(event.roomId());
+        }
+    }
+
+    public long pendingFor(Long roomId) {
+        PendingCount count = counts.get(roomId);
+        return count != null ? count.pending() : 0;
+    }
+
+    /**
+     * Increments of the room counted since startup, flushed or not.
+     */
+    public long countedFor(Long roomId) {
+        PendingCount count = counts.get(roomId);
+        return count != null ? count.added.sum() : 0;
+    }
+
+    /**
+     * Increments of the room already written to {@code times_booked} since startup.
+     */
+    public long flushedFor(Long roomId) {
+        PendingCount count = counts.get(roomId);
+        return count != null ? count.flushed.get() : 0;
+    }
+
+    /**
+     * Runs {@code read} with no flush in progress, so the {@code times_booked} it reads matches {@link #flushedFor}.
+     */
+    public <T> T withoutFlush(Supplier<T> read) {
+        flushLock.lock();
+        try {
+            return read.get();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public void applyPending(RoomDto room) {
+        long pending = pendingFor(room.getId());
+        if (pending > 0 && room.getTimesBooked() != null) {
+            room.setTimesBooked(room.getTimesBooked() + (int) pending);
+        }
+    }
+
+    public void applyPending(Collection<RoomDto> rooms) {
+        if (rooms != null && !counts.isEmpty()) {
+            rooms.forEach(this::applyPending);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${hotel.times-booked.flush-interval-ms:1000}")
+    public void flush() {
+        flushRequested.set(false);
+        flushLock.lock();
+        try {
+            Map<Long, Long> deltas = new TreeMap<>();
+            counts.forEach((roomId, count) -> {
+                long pending = count.pending();
+                if (pending > 0) {
+                    deltas.put(roomId, pending);
+                }
+            });
+            if (deltas.isEmpty()) {
+                return;
+            }
+
+            transactionTemplate.executeWithoutResult(status -> roomRepository.addTimesBooked(deltas));
+            // UPDATE прошел мимо Hibernate - закэшированные номера хранят старое значение
+            roomRepository.evictFromCache(deltas.keySet());
+
+            long flushed = 0;
+            for (Map.Entry<Long, Long> delta : deltas.entrySet()) {
+                counts.get(delta.getKey()).flushed.addAndGet(delta.getValue());
+                flushed += delta.getValue();
+            }
+            unflushed.addAndGet(-flushed);
+            log.debug("TIMES_BOOKED_FLUSHED: {} increments for {} rooms", flushed, deltas.size());
+        } catch (RuntimeException e) {
+            log.error("TIMES_BOOKED_FLUSH_FAILED: Keeping {} increments for the next flush: {}", unflushed.get(), e.getMessage());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        flushExecutor.shutdown();
+        flush();
+    }
+
+    void increment(Long roomId) {
+        counts.computeIfAbsent(roomId, id -> new PendingCount()).added.increment();
+        if (unflushed.incrementAndGet() >= flushThreshold && !flushExecutor.isShutdown()
+                && flushRequested.compareAndSet(false, true)) {
+            flushExecutor.execute(this::flush);
+        }
+    }
+
+    // added только растет, flushed меняет лишь flush под блокировкой - поэтому инкременты во время сброса не теряются
+    private static final class PendingCount {
+        private final LongAdder added = new LongAdder();
+        private final AtomicLong flushed = new AtomicLong();
+
+        long pending() {
+            return added.sum() - flushed.get();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.eveiled.hotelservice.util;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * AVL tree of half-open date intervals {@code [start, end)}, augmented with the maximum end
+ * of each subtree so that overlap queries skip whole branches. Not thread-safe.
+ */
+public class IntervalTree<V> {
+
+    public record Interval<V>(LocalDate start, LocalDate end, V value, long sequence) {
+
+        public boolean overlaps(LocalDate from, LocalDate to) {
+            return start.isBefore(to) && from.isBefore(end);
+        }
+    }
+
+    private static final Comparator<Interval<?>> ORDER = Comparator
+            .comparing((Interval<?> interval) -> interval.start())
+            .thenComparing(Interval::end)
+            .thenComparingLong(Interval::sequence);
+
+    private Node<V> root;
+    private int size;
+    private long nextSequence;
+    private boolean removed;
+
+    /**
+     * Adds an interval and returns its handle; the handle is what {@link #remove} expects.
+     */
+    public Interval<V> insert(LocalDate start, LocalDate end, V value) {
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("Empty interval: " + start + " - " + end);
+        }
+        Interval<V> interval = new Interval<>(start, end, value, nextSequence++);
+        root = insert(root, interval);
+        size++;
+        return interval;
+    }
+
+    public boolean remove(Interval<V> interval) {
+        removed = false;
+        root = remove(root, interval);
+        if (removed) {
+            size--;
+        }
+        return removed;
+    }
+
+    public boolean anyOverlapping(LocalDate from, LocalDate to, Predicate<Interval<V>> filter) {
+        return anyOverlapping(root, from, to, filter);
+    }
+
+    public List<Interval<V>> findOverlapping(LocalDate from, LocalDate to) {
+        List<Interval<V>> result = new ArrayList<>();
+        collectOverlapping(root, from, to, result);
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private Node<V> insert(Node<V> node, Interval<V> interval) {
+        if (node == null) {
+            return new Node<>(interval);
+        }
+        if (ORDER.compare(interval, node.interval) < 0) {
+            node.left = insert(node.left, interval);
+        } else {
+            node.right = insert(node.right, interval);
+        }
+        return rebalance(node);
+    }
+
+    private Node<V> remove(Node<V> node, Interval<V> interval) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = ORDER.compare(interval, node.interval);
+        if (cmp < 0) {
+            node.left = remove(node.left, interval);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, interval);
+        } else {
+            removed = true;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node<V> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.interval = successor.interval;
+            node.right = remove(node.right, successor.interval);
+        }
+        return rebalance(node);
+    }
+
+    private boolean anyOverlapping(Node<V> node, LocalDate from, LocalDate to, Predicate<Interval<V>> filter) {
+        // Ни один интервал поддерева не заканчивается после from - перекрытий там нет
+        if (node == null || !node.maxEnd.isAfter(from)) {
+            return false;
+        }
+        if (anyOverlapping(node.left, from, to, filter)) {
+            return true;
+        }
+        if (node.interval.overlaps(from, to) && filter.test(node.interval)) {
+            return true;
+        }
+        // Правое поддерево начинается не раньше текущего узла
+        return node.interval.start().isBefore(to) && anyOverlapping(node.right, from, to, filter);
+    }
+
+    private void collectOverlapping(Node<V> node, LocalDate from, LocalDate to, List<Interval<V>> result) {
+        if (node == null || !node.maxEnd.isAfter(from)) {
+            return;
+        }
+        collectOverlapping(node.left, from, to, result);
+        if (node.interval.overlaps(from, to)) {
+            result.add(node.interval);
+        }
+        if (node.interval.start().isBefore(to)) {
+            collectOverlapping(node.right, from, to, result);
+        }
+    }
+
+    private Node<V> rebalance(Node<V> node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node<V> rotateRight(Node<V> node) {
+        Node<V> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node<V> rotateLeft(Node<V> node) {
+        Node<V> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static <V> void update(Node<V> node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        LocalDate maxEnd = node.interval.end();
+        if (node.left != null && node.left.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static final class Node<V> {
+        private Interval<V> interval;
+        private LocalDate maxEnd;
+        private int height = 1;
+        private Node<V> left;
+        private Node<V> right;
+
+        private Node(Interval<V> interval) {
+            this.interval = interval;
+            this.maxEnd = interval.end();
+        }
+    }
+}
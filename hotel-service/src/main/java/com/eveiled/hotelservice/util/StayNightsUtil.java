@@ -0,0 +1,33 @@
+package com.eveiled.hotelservice.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Maps a stay to the nights it occupies: from the check-in date inclusive
+ * to the check-out date exclusive. A same-day stay still takes one night.
+ */
+public class StayNightsUtil {
+
+    public static List<LocalDate> nightsOf(LocalDateTime startDate, LocalDateTime endDate) {
+        LocalDate firstNight = firstNight(startDate, endDate);
+        return firstNight.datesUntil(endNight(startDate, endDate)).toList();
+    }
+
+    public static LocalDate firstNight(LocalDateTime startDate, LocalDateTime endDate) {
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("Invalid stay dates: " + startDate + " - " + endDate);
+        }
+        return startDate.toLocalDate();
+    }
+
+    /**
+     * Exclusive upper bound of the occupied nights.
+     */
+    public static LocalDate endNight(LocalDateTime startDate, LocalDateTime endDate) {
+        LocalDate firstNight = firstNight(startDate, endDate);
+        LocalDate checkOut = endDate.toLocalDate();
+        return checkOut.isAfter(firstNight) ? checkOut : firstNight.plusDays(1);
+    }
+}
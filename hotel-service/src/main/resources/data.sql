@@ -9,3 +9,7 @@ INSERT INTO rooms (id, hotel_id, number, available, times_booked) VALUES (3, 1,
 INSERT INTO rooms (id, hotel_id, number, available, times_booked) VALUES (4, 2, '301', true, 0);
 INSERT INTO rooms (id, hotel_id, number, available, times_booked) VALUES (5, 2, '302', true, 0);
 INSERT INTO rooms (id, hotel_id, number, available, times_booked) VALUES (6, 3, '401', true, 0);
+
+-- id заданы явно, поэтому последовательности сдвигаются за них (блоки Hibernate выдаются по 50)
+ALTER SEQUENCE hotels_seq RESTART WITH 101;
+ALTER SEQUENCE rooms_seq RESTART WITH 101;
@@ -0,0 +1,34 @@
+-- Исходная схема hotel-service в том виде, в каком ее создавал Hibernate (ddl-auto)
+
+-- Hibernate берет id блоками по 50 (allocationSize); 1-100 оставлены под явные id начальных данных
+CREATE SEQUENCE hotels_seq START WITH 101 INCREMENT BY 50;
+CREATE SEQUENCE rooms_seq START WITH 101 INCREMENT BY 50;
+
+CREATE TABLE hotels (
+    id      BIGINT       NOT NULL PRIMARY KEY,
+    name    VARCHAR(255) NOT NULL,
+    address VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE rooms (
+    id           BIGINT       NOT NULL PRIMARY KEY,
+    hotel_id     BIGINT       NOT NULL,
+    number       VARCHAR(255) NOT NULL,
+    available    BOOLEAN      NOT NULL,
+    times_booked INTEGER      NOT NULL,
+    CONSTRAINT fk_rooms_hotel FOREIGN KEY (hotel_id) REFERENCES hotels (id)
+);
+
+CREATE INDEX idx_rooms_available_id ON rooms (available, id);
+
+CREATE TABLE reservation_nights (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    room_id    BIGINT       NOT NULL,
+    night      DATE         NOT NULL,
+    request_id VARCHAR(255) NOT NULL,
+    status     VARCHAR(16)  NOT NULL CHECK (status IN ('HELD', 'CONFIRMED')),
+    held_until TIMESTAMP(6),
+    CONSTRAINT uk_reservation_nights_room_night UNIQUE (room_id, night)
+);
+
+CREATE INDEX idx_reservation_nights_request ON reservation_nights (request_id);
@@ -0,0 +1,3 @@
+-- Выбор наименее загруженного свободного номера (reserve-any) и перестройка рекомендаций
+-- идут по available и times_booked: индекс отдает номера уже в нужном порядке, без сортировки всей таблицы
+CREATE INDEX idx_rooms_available_times_booked ON rooms (available, times_booked, id);
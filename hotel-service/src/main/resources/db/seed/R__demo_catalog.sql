@@ -0,0 +1,11 @@
+-- Демонстрационные отели и номера; подключаются через FLYWAY_LOCATIONS=classpath:db/migration,classpath:db/seed
+MERGE INTO hotels (id, name, address) KEY (id) VALUES (1, 'Grand Hotel', '123 Main Street, New York');
+MERGE INTO hotels (id, name, address) KEY (id) VALUES (2, 'Luxury Resort', '456 Ocean Drive, Miami');
+MERGE INTO hotels (id, name, address) KEY (id) VALUES (3, 'Business Hotel', '789 Corporate Plaza, Chicago');
+
+MERGE INTO rooms (id, hotel_id, number, available, times_booked) KEY (id) VALUES (1, 1, '101', true, 0);
+MERGE INTO rooms (id, hotel_id, number, available, times_booked) KEY (id) VALUES (2, 1, '102', true, 0);
+MERGE INTO rooms (id, hotel_id, number, available, times_booked) KEY (id) VALUES (3, 1, '201', true, 0);
+MERGE INTO rooms (id, hotel_id, number, available, times_booked) KEY (id) VALUES (4, 2, '301', true, 0);
+MERGE INTO rooms (id, hotel_id, number, available, times_booked) KEY (id) VALUES (5, 2, '302', true, 0);
+MERGE INTO rooms (id, hotel_id, number, available, times_booked) KEY (id) VALUES (6, 3, '401', true, 0);
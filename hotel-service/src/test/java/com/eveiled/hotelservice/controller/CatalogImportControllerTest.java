@@ -0,0 +1,68 @@
+package com.eveiled.hotelservice.controller;
+
+import com.eveiled.hotelservice.dto.ImportLineError;
+import com.eveiled.hotelservice.dto.ImportReport;
+import com.eveiled.hotelservice.service.CatalogImportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CatalogImportController.class)
+@TestPropertySource(properties = {
+    "eureka.client.enabled=false",
+    "spring.cloud.discovery.enabled=false"
+})
+class CatalogImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CatalogImportService catalogImportService;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void importRooms_AsAdmin_ShouldStreamErrorsProgressAndReport() throws Exception {
+        when(catalogImportService.importRooms(any(), eq(CatalogImportService.Format.CSV), any())).thenAnswer(invocation -> {
+            CatalogImportService.Listener listener = invocation.getArgument(2);
+            listener.onError(new ImportLineError(3, "Room number is required"));
+            listener.onProgress(new ImportReport(3, 1, 0, 1, false));
+            return new ImportReport(3, 1, 0, 1, true);
+        });
+
+        mockMvc.perform(post("/api/hotels/import")
+                .with(csrf())
+                .contentType("text/csv")
+                .content("hotel_id,number\n1,101\n1,\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        "{\"line\":3,\"error\":\"Room number is required\"}\n"
+                        + "{\"lines\":3,\"roomsImported\":1,\"hotelsCreated\":0,\"failedLines\":1,\"done\":false}\n"
+                        + "{\"lines\":3,\"roomsImported\":1,\"hotelsCreated\":0,\"failedLines\":1,\"done\":true}\n"));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void importRooms_AsUser_ShouldReturnForbidden() throws Exception {
+        mockMvc.perform(post("/api/hotels/import")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("{\"hotelId\":1,\"number\":\"101\"}\n"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(catalogImportService);
+    }
+}
@@ -1,7 +1,11 @@
 package com.eveiled.hotelservice.controller;
 
+import com.eveiled.hotelservice.dto.CursorPage;
 import com.eveiled.hotelservice.dto.HotelDto;
+import com.eveiled.hotelservice.dto.NightAvailability;
+import com.eveiled.hotelservice.dto.RoomDto;
 import com.eveiled.hotelservice.service.HotelService;
+import com.eveiled.hotelservice.util.CursorUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,6 +16,7 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 
@@ -105,17 +110,18 @@ class HotelControllerTest {
         hotel2.setAddress("Address 2");
 
         List<HotelDto> hotels = Arrays.asList(hotel1, hotel2);
-        when(hotelService.getAllHotels()).thenReturn(hotels);
+        when(hotelService.getAllHotels(null, null)).thenReturn(new CursorPage<>(hotels, "next-page"));
 
         mockMvc.perform(get("/api/hotels"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(CursorUtil.NEXT_CURSOR_HEADER, "next-page"))
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$[0].id").value(1))
                 .andExpect(jsonPath("$[0].name").value("Hotel 1"))
                 .andExpect(jsonPath("$[1].id").value(2))
                 .andExpect(jsonPath("$[1].name").value("Hotel 2"));
 
-        verify(hotelService).getAllHotels();
+        verify(hotelService).getAllHotels(null, null);
     }
 
     @Test
@@ -138,6 +144,20 @@ class HotelControllerTest {
         verify(hotelService).getHotelById(hotelId);
     }
 
+    @Test
+    @WithMockUser
+    void getHotelRooms_ShouldReturnRoomsOfHotel() throws Exception {
+        when(hotelService.getHotelRooms(1L)).thenReturn(List.of(
+                new RoomDto(1L, 1L, "101", true, 2),
+                new RoomDto(2L, 1L, "102", false, 0)));
+
+        mockMvc.perform(get("/api/hotels/{id}/rooms", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].number").value("101"))
+                .andExpect(jsonPath("$[1].hotelId").value(1));
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void updateHotel_AsAdmin_ShouldReturnUpdatedHotel() throws Exception {
@@ -164,4 +184,54 @@ class HotelControllerTest {
 
         verify(hotelService).updateHotel(eq(hotelId), any(HotelDto.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void updateRoomsAvailability_AsAdmin_ShouldReturnNumberOfRoomsChanged() throws Exception {
+        when(hotelService.updateRoomsAvailability(1L, "3", false)).thenReturn(12);
+
+        mockMvc.perform(put("/api/hotels/{id}/rooms/availability", 1L)
+                .with(csrf())
+                .param("available", "false")
+                .param("numberPrefix", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(12));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void updateRoomsAvailability_AsUser_ShouldReturnForbidden() throws Exception {
+        mockMvc.perform(put("/api/hotels/{id}/rooms/availability", 1L)
+                .with(csrf())
+                .param("available", "false"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(hotelService);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void deleteHotel_AsAdmin_ShouldReturnNoContent() throws Exception {
+        mockMvc.perform(delete("/api/hotels/{id}", 1L)
+                .with(csrf()))
+                .andExpect(status().isNoContent());
+
+        verify(hotelService).deleteHotel(1L);
+    }
+
+    @Test
+    @WithMockUser
+    void getCalendar_ShouldReturnFreeRoomsPerNight() throws Exception {
+        LocalDate from = LocalDate.of(2030, 1, 1);
+        when(hotelService.getCalendar(1L, from, 2)).thenReturn(List.of(
+                new NightAvailability(from, 4), new NightAvailability(from.plusDays(1), 3)));
+
+        mockMvc.perform(get("/api/hotels/{id}/calendar", 1L)
+                .param("from", "2030-01-01")
+                .param("days", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].night").value("2030-01-01"))
+                .andExpect(jsonPath("$[0].freeRooms").value(4))
+                .andExpect(jsonPath("$[1].freeRooms").value(3));
+    }
+}
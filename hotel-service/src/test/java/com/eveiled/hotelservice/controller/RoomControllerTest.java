@@ -1,8 +1,12 @@
 package com.eveiled.hotelservice.controller;
 
 import com.eveiled.hotelservice.dto.AvailabilityRequest;
+import com.eveiled.hotelservice.dto.BatchHoldRequest;
+import com.eveiled.hotelservice.dto.CursorPage;
 import com.eveiled.hotelservice.dto.RoomDto;
 import com.eveiled.hotelservice.service.RoomService;
+import com.eveiled.hotelservice.util.CursorUtil;
+import com.eveiled.hotelservice.util.DeadlineUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,6 +22,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -90,7 +95,7 @@ class RoomControllerTest {
         room2.setHotelId(1L);
 
         List<RoomDto> rooms = Arrays.asList(room1, room2);
-        when(roomService.getAllAvailableRooms()).thenReturn(rooms);
+        when(roomService.getAllAvailableRooms(null, null)).thenReturn(new CursorPage<>(rooms, null));
 
         mockMvc.perform(get("/api/rooms"))
                 .andExpect(status().isOk())
@@ -102,7 +107,48 @@ class RoomControllerTest {
                 .andExpect(jsonPath("$[1].number").value("102"))
                 .andExpect(jsonPath("$[1].available").value(true));
 
-        verify(roomService).getAllAvailableRooms();
+        verify(roomService).getAllAvailableRooms(null, null);
+    }
+
+    @Test
+    @WithMockUser
+    void searchAvailableRooms_ShouldPassStayDatesAndHotel() throws Exception {
+        RoomDto room = new RoomDto(4L, 2L, "301", true, 0);
+        when(roomService.searchAvailableRooms(2L, LocalDateTime.of(2024, 1, 1, 14, 0), LocalDateTime.of(2024, 1, 3, 12, 0)))
+                .thenReturn(List.of(room));
+
+        mockMvc.perform(get("/api/rooms/available")
+                .param("startDate", "2024-01-01T14:00:00")
+                .param("endDate", "2024-01-03T12:00:00")
+                .param("hotelId", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(4))
+                .andExpect(jsonPath("$[0].hotelId").value(2));
+    }
+
+    @Test
+    @WithMockUser
+    void getRecommendedRooms_ShouldPassLimit() throws Exception {
+        when(roomService.getRecommendedRooms("cursor-token", 3))
+                .thenReturn(new CursorPage<>(List.of(new RoomDto(2L, 1L, "102", true, 0)), "next-token"));
+
+        mockMvc.perform(get("/api/rooms/recommend").param("limit", "3").param("cursor", "cursor-token"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorUtil.NEXT_CURSOR_HEADER, "next-token"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(2));
+    }
+
+    @Test
+    @WithMockUser
+    void getRecommendedRooms_WhenDeadlineExceeded_ShouldReturnGatewayTimeout() throws Exception {
+        String expiredDeadline = String.valueOf(System.currentTimeMillis() - 1_000);
+
+        mockMvc.perform(get("/api/rooms/recommend")
+                .header(DeadlineUtil.DEADLINE_HEADER, expiredDeadline))
+                .andExpect(status().isGatewayTimeout());
+
+        verify(roomService, never()).getRecommendedRooms(any(), anyInt());
     }
 
     @Test
@@ -122,6 +168,20 @@ class RoomControllerTest {
         verify(roomService, never()).confirmAvailability(anyLong(), any());
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void holdRooms_ShouldReturnForbidden() throws Exception {
+        BatchHoldRequest request = new BatchHoldRequest("test-request-id",
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(3), List.of(1L, 2L));
+
+        mockMvc.perform(post("/api/rooms/hold-batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isForbidden());
+
+        verify(roomService, never()).holdRooms(any());
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void releaseRoom_ShouldReturnForbidden() throws Exception {
@@ -143,6 +203,31 @@ class RoomControllerTest {
         mockMvc.perform(post("/api/rooms/{id}/increment-bookings", roomId))
                 .andExpect(status().isForbidden());
 
-        verify(roomService, never()).incrementTimesBooked(anyLong());
+        verify(roomService, never()).incrementTimesBooked(anyLong(), any());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void releaseRequests_AsAdmin_ShouldReturnNumberOfNightsFreed() throws Exception {
+        when(roomService.releaseRequests(List.of("req-1", "req-2"))).thenReturn(5);
+
+        mockMvc.perform(post("/api/rooms/release-batch")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of("req-1", "req-2"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(5));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void releaseRequests_AsUser_ShouldReturnForbidden() throws Exception {
+        mockMvc.perform(post("/api/rooms/release-batch")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of("req-1"))))
+                .andExpect(status().isForbidden());
+
+        verify(roomService, never()).releaseRequests(any());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,58 @@
+package com.eveiled.hotelservice.controller;
+
+import com.eveiled.hotelservice.service.RoomEventStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(RoomEventController.class)
+@TestPropertySource(properties = {
+    "eureka.client.enabled=false",
+    "spring.cloud.discovery.enabled=false"
+})
+class RoomEventControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RoomEventStream roomEventStream;
+
+    @Test
+    @WithMockUser
+    void streamEvents_ShouldResumeAfterLastEventIdHeader() throws Exception {
+        when(roomEventStream.subscribe(1L, 7L)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/rooms/events")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .param("hotelId", "1")
+                .param("since", "3")
+                .header("Last-Event-ID", "7"))
+                .andExpect(request().asyncStarted());
+
+        verify(roomEventStream).subscribe(1L, 7L);
+    }
+
+    @Test
+    @WithMockUser
+    void streamEvents_WithoutHeader_ShouldResumeAfterSince() throws Exception {
+        when(roomEventStream.subscribe(null, 3L)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/rooms/events")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .param("since", "3"))
+                .andExpect(request().asyncStarted());
+
+        verify(roomEventStream).subscribe(null, 3L);
+    }
+}
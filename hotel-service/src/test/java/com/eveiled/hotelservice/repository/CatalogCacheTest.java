@@ -0,0 +1,115 @@
+package com.eveiled.hotelservice.repository;
+
+import com.eveiled.hotelservice.dto.RoomDto;
+import com.eveiled.hotelservice.entity.Hotel;
+import com.eveiled.hotelservice.entity.Room;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that repeated catalog reads (seeded by data.sql) are served from the second-level
+ * and query caches without a single statement.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CatalogCacheTest {
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @Test
+    void loadAllById_WhenRoomsAreCached_ShouldNotQueryDatabase() {
+        transactionTemplate.execute(status -> roomRepository.loadAllById(List.of(1L, 2L)));
+        statistics.clear();
+
+        List<Room> rooms = transactionTemplate.execute(status -> roomRepository.loadAllById(List.of(1L, 2L, 999L)));
+
+        assertEquals(List.of(1L, 2L), rooms.stream().map(Room::getId).toList());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findByIdGreaterThan_WhenRepeated_ShouldServeHotelsAndRoomsFromCache() {
+        transactionTemplate.execute(status -> countRooms(hotelRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 10))));
+        statistics.clear();
+
+        Integer rooms = transactionTemplate.execute(status ->
+                countRooms(hotelRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 10))));
+
+        assertEquals(6, rooms);
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void evictFromCache_AfterAddTimesBooked_ShouldExposeNewCount() {
+        int before = transactionTemplate.execute(status -> roomRepository.findById(1L).orElseThrow().getTimesBooked());
+
+        transactionTemplate.executeWithoutResult(status -> roomRepository.addTimesBooked(Map.of(1L, 5L)));
+        roomRepository.evictFromCache(Set.of(1L));
+        int after = transactionTemplate.execute(status -> roomRepository.findById(1L).orElseThrow().getTimesBooked());
+
+        transactionTemplate.executeWithoutResult(status -> roomRepository.addTimesBooked(Map.of(1L, -5L)));
+        roomRepository.evictFromCache(Set.of(1L));
+        assertEquals(before + 5, after);
+    }
+
+    @Test
+    void findAvailableRoomDtos_ShouldBeCachedUntilTimesBookedIsFlushed() {
+        transactionTemplate.execute(status -> roomRepository.findAvailableRoomDtos(0L, PageRequest.of(0, 10)));
+        statistics.clear();
+
+        RoomDto cached = transactionTemplate.execute(status ->
+                roomRepository.findAvailableRoomDtos(0L, PageRequest.of(0, 10)).get(0));
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        transactionTemplate.executeWithoutResult(status -> roomRepository.addTimesBooked(Map.of(cached.getId(), 2L)));
+        roomRepository.evictFromCache(Set.of(cached.getId()));
+        RoomDto reloaded = transactionTemplate.execute(status ->
+                roomRepository.findAvailableRoomDtos(0L, PageRequest.of(0, 10)).get(0));
+
+        transactionTemplate.executeWithoutResult(status -> roomRepository.addTimesBooked(Map.of(cached.getId(), -2L)));
+        roomRepository.evictFromCache(Set.of(cached.getId()));
+        assertEquals(cached.getTimesBooked() + 2, reloaded.getTimesBooked());
+    }
+
+    private int countRooms(List<Hotel> hotels) {
+        return hotels.stream().mapToInt(hotel -> hotel.getRooms().size()).sum();
+    }
+}
@@ -0,0 +1,121 @@
+package com.eveiled.hotelservice.repository;
+
+import com.eveiled.hotelservice.entity.Hotel;
+import com.eveiled.hotelservice.entity.Room;
+import com.eveiled.hotelservice.repository.RoomRepositoryCustom.NewRoom;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Insert throughput of rooms: through JPA with JDBC batching switched off for the session (one
+ * statement per row, as the former IDENTITY ids forced), through JPA with {@code hibernate.jdbc.batch_size},
+ * and through the JDBC batch used by the catalog import. Run with {@code ./gradlew :hotel-service:benchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "spring.jpa.show-sql=false")
+class RoomInsertBenchmarkTest {
+
+    private static final long SEEDED_ROOMS = 6;
+    private static final int ROOMS = 50_000;
+    private static final int PER_TRANSACTION = 1_000;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        deleteInsertedRooms();
+    }
+
+    @Test
+    void insertRooms_UnbatchedVsBatchedVsImport() {
+        insertRooms("warm-up", ROOMS / 10, rooms -> saveAll(rooms, 1));
+
+        InsertResult unbatched = insertRooms("jpa", ROOMS, rooms -> saveAll(rooms, 1));
+        InsertResult batched = insertRooms("jpa-batched", ROOMS, rooms -> saveAll(rooms, null));
+        InsertResult imported = insertRooms("import", ROOMS, rooms -> roomRepository.insertAll(rooms.stream()
+                .map(room -> new NewRoom(room.getHotel().getId(), room.getNumber(), room.getAvailable()))
+                .toList()));
+
+        System.out.printf("Room inserts, %d rows, %d per transaction%n", ROOMS, PER_TRANSACTION);
+        System.out.println(unbatched);
+        System.out.println(batched);
+        System.out.println(imported);
+
+        assertEquals(ROOMS, unbatched.rows());
+        assertEquals(ROOMS, batched.rows());
+        assertEquals(ROOMS, imported.rows());
+    }
+
+    private void saveAll(List<Room> rooms, Integer jdbcBatchSize) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+        roomRepository.saveAll(rooms);
+    }
+
+    private InsertResult insertRooms(String mode, int count, Consumer<List<Room>> insert) {
+        deleteInsertedRooms();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Hotel hotel = new Hotel();
+        hotel.setId(1L);
+
+        long startedAt = System.nanoTime();
+        for (int offset = 0; offset < count; offset += PER_TRANSACTION) {
+            int first = offset;
+            int size = Math.min(PER_TRANSACTION, count - offset);
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Room> rooms = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    rooms.add(new Room(null, hotel, "bench-" + (first + i), true, 0));
+                }
+                insert.accept(rooms);
+            });
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM rooms WHERE id > ?", Integer.class, SEEDED_ROOMS);
+        return new InsertResult(mode, rows, elapsedMillis);
+    }
+
+    private void deleteInsertedRooms() {
+        jdbcTemplate.update("DELETE FROM rooms WHERE id > ?", SEEDED_ROOMS);
+        roomRepository.evictCatalogFromCache();
+    }
+
+    private record InsertResult(String mode, int rows, long elapsedMillis) {
+
+        @Override
+        public String toString() {
+            return String.format("%-12s rows=%d elapsed=%d ms throughput=%.0f rows/s",
+                    mode, rows, elapsedMillis, rows / Math.max(elapsedMillis / 1000.0, 0.001));
+        }
+    }
+}
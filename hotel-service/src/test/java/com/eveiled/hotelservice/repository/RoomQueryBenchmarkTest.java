@@ -0,0 +1,116 @@
+package com.eveiled.hotelservice.repository;
+
+import com.eveiled.hotelservice.repository.RoomRepositoryCustom.NewRoom;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Picking the least booked free room over 1M rooms with and without {@code idx_rooms_available_times_booked}
+ * from V2__add_room_ranking_index.sql. Run with {@code ./gradlew :hotel-service:benchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "spring.jpa.show-sql=false")
+class RoomQueryBenchmarkTest {
+
+    private static final long SEEDED_ROOMS = 6;
+    private static final int ROOMS = 1_000_000;
+    private static final int PER_TRANSACTION = 10_000;
+    private static final int QUERIES = 100;
+    private static final LocalDate CHECK_IN = LocalDate.now().plusDays(30);
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_rooms_available_times_booked ON rooms (available, times_booked, id)");
+        jdbcTemplate.update("DELETE FROM rooms WHERE id > ?", SEEDED_ROOMS);
+        roomRepository.evictCatalogFromCache();
+    }
+
+    @Test
+    void lockBestAvailableRoom_WithAndWithoutIndex() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        insertRooms(transactionTemplate);
+
+        List<QueryResult> results = new ArrayList<>();
+        results.addAll(runQueries(transactionTemplate, "indexed"));
+        jdbcTemplate.execute("DROP INDEX idx_rooms_available_times_booked");
+        results.addAll(runQueries(transactionTemplate, "no index"));
+
+        System.out.printf("Least booked room over %d rows, %d queries each%n", ROOMS, QUERIES);
+        results.forEach(System.out::println);
+
+        assertEquals(4, results.size());
+    }
+
+    private List<QueryResult> runQueries(TransactionTemplate transactionTemplate, String mode) {
+        QueryResult any = measure("any-hotel", mode, () -> transactionTemplate.execute(status ->
+                roomRepository.lockBestAvailableRoom(null, CHECK_IN, CHECK_IN.plusDays(2), LocalDateTime.now()).isPresent()));
+        QueryResult scoped = measure("one-hotel", mode, () -> transactionTemplate.execute(status ->
+                roomRepository.lockBestAvailableRoom(2L, CHECK_IN, CHECK_IN.plusDays(2), LocalDateTime.now()).isPresent()));
+        return List.of(any, scoped);
+    }
+
+    private QueryResult measure(String query, String mode, Supplier<Boolean> run) {
+        for (int i = 0; i < QUERIES / 10; i++) {
+            assertTrue(run.get());
+        }
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) {
+            assertTrue(run.get());
+        }
+        long elapsedMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startedAt);
+        return new QueryResult(query, mode, elapsedMicros / QUERIES);
+    }
+
+    private void insertRooms(TransactionTemplate transactionTemplate) {
+        for (int offset = 0; offset < ROOMS; offset += PER_TRANSACTION) {
+            int first = offset;
+            transactionTemplate.executeWithoutResult(status -> {
+                List<NewRoom> rooms = new ArrayList<>(PER_TRANSACTION);
+                for (int i = first; i < first + PER_TRANSACTION; i++) {
+                    rooms.add(new NewRoom(i % 3 + 1L, "bench-" + i, true));
+                }
+                roomRepository.insertAll(rooms);
+            });
+        }
+        // Импорт создает номера без бронирований; разброс счетчика и закрытые номера делают выборку похожей на рабочую
+        jdbcTemplate.update("UPDATE rooms SET times_booked = MOD(id * 7919, 1000) + 1, available = MOD(id, 10) <> 0 WHERE id > ?",
+                SEEDED_ROOMS);
+    }
+
+    private record QueryResult(String query, String mode, long micros) {
+
+        @Override
+        public String toString() {
+            return String.format("%-10s %-9s avg=%d us", query, mode, micros);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.eveiled.hotelservice.repository;
+
+import com.eveiled.hotelservice.dto.RoomDto;
+import com.eveiled.hotelservice.entity.Hotel;
+import com.eveiled.hotelservice.entity.ReservationNight;
+import com.eveiled.hotelservice.repository.RoomRepositoryCustom.NewRoom;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bulk statements behind hotel deletion and availability toggles, including the cached listings they must invalidate.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RoomRepositoryBulkTest {
+
+    private static final long SEEDED_HOTELS = 3;
+    private static final long SEEDED_ROOMS = 6;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private ReservationNightRepository reservationNightRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Long hotelId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        hotelId = transactionTemplate.execute(status ->
+                hotelRepository.save(new Hotel(null, "Bulk Hotel", "1 Bulk Street", null)).getId());
+        transactionTemplate.executeWithoutResult(status -> roomRepository.insertAll(IntStream.range(0, 20)
+                .mapToObj(i -> new NewRoom(hotelId, String.valueOf((i < 10 ? 100 : 190) + i), true))
+                .toList()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM reservation_nights WHERE request_id = 'bulk-request'");
+        jdbcTemplate.update("DELETE FROM rooms WHERE id > ?", SEEDED_ROOMS);
+        jdbcTemplate.update("DELETE FROM hotels WHERE id > ?", SEEDED_HOTELS);
+        roomRepository.evictCatalogFromCache();
+    }
+
+    @Test
+    void deleteByHotelId_ShouldRemoveRoomsNightsAndHotel() {
+        Long roomId = roomIdsOfHotel().get(0);
+        reservationNightRepository.save(new ReservationNight(null, roomId, LocalDate.now().plusDays(1),
+                "bulk-request", ReservationNight.Status.CONFIRMED, null));
+
+        int[] deleted = transactionTemplate.execute(status -> new int[] {
+                reservationNightRepository.deleteByHotelId(hotelId),
+                roomRepository.deleteByHotelId(hotelId),
+                hotelRepository.deleteHotelById(hotelId)
+        });
+
+        assertArrayEquals(new int[] {1, 20, 1}, deleted);
+        assertTrue(roomIdsOfHotel().isEmpty());
+        assertFalse(hotelRepository.existsById(hotelId));
+        assertEquals(SEEDED_ROOMS, roomRepository.count());
+    }
+
+    @Test
+    void updateAvailabilityByHotelId_ShouldTouchOnlyRoomsWithPrefixAndInvalidateListings() {
+        assertTrue(availableRoomsOfHotel().contains("205"));
+
+        int updated = transactionTemplate.execute(status -> roomRepository.updateAvailabilityByHotelId(hotelId, "2", false));
+
+        assertEquals(10, updated);
+        List<String> available = availableRoomsOfHotel();
+        assertEquals(10, available.size());
+        assertTrue(available.stream().allMatch(number -> number.startsWith("1")));
+    }
+
+    private List<Long> roomIdsOfHotel() {
+        return jdbcTemplate.queryForList("SELECT id FROM rooms WHERE hotel_id = ? ORDER BY id", Long.class, hotelId);
+    }
+
+    private List<String> availableRoomsOfHotel() {
+        return transactionTemplate.execute(status -> roomRepository.findAvailableRoomDtos(0L, PageRequest.of(0, 100)).stream()
+                .filter(room -> hotelId.equals(room.getHotelId()))
+                .map(RoomDto::getNumber)
+                .toList());
+    }
+}
@@ -0,0 +1,201 @@
+package com.eveiled.hotelservice.repository;
+
+import com.eveiled.hotelservice.entity.Room;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hammers a single room (seeded by data.sql) from many threads to verify that
+ * the per-night ledger never grants the same night to two requests.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RoomRepositoryConcurrencyTest {
+
+    private static final Long HOT_ROOM_ID = 1L;
+    private static final LocalDate CHECK_IN = LocalDate.now().plusDays(10);
+    private static final int THREADS = 32;
+    private static final int ITERATIONS_PER_THREAD = 50;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private ReservationNightRepository reservationNightRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        reservationNightRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void insertHolds_WhenManyRequestsRaceForSameNights_ShouldGrantExactlyOneHold() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            String requestId = "race-request-" + i;
+            results.add(executor.submit(() -> {
+                start.await();
+                return hold(requestId, CHECK_IN, 3);
+            }));
+        }
+        start.countDown();
+
+        int granted = 0;
+        for (Future<Boolean> result : results) {
+            granted += result.get(30, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        executor.shutdown();
+
+        assertEquals(1, granted);
+        assertEquals(3, reservationNightRepository.findByRoomIdOrderByNight(HOT_ROOM_ID).size());
+    }
+
+    @Test
+    void insertHolds_WhenStaysDoNotOverlap_ShouldHoldBoth() {
+        assertTrue(hold("first-week", CHECK_IN, 7));
+        assertTrue(hold("second-week", CHECK_IN.plusDays(7), 7));
+
+        assertEquals(14, reservationNightRepository.findByRoomIdOrderByNight(HOT_ROOM_ID).size());
+    }
+
+    @Test
+    void insertHolds_WhenOneNightOverlaps_ShouldInsertNothing() {
+        assertTrue(hold("first-stay", CHECK_IN, 3));
+
+        assertFalse(hold("overlapping-stay", CHECK_IN.plusDays(2), 3));
+
+        assertTrue(reservationNightRepository.findByRoomIdOrderByNight(HOT_ROOM_ID).stream()
+                .allMatch(night -> night.getRequestId().equals("first-stay")));
+    }
+
+    @Test
+    void holdReleaseCycle_UnderContention_ShouldNeverGrantOverlappingHolds() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger currentHolders = new AtomicInteger();
+        AtomicInteger maxHolders = new AtomicInteger();
+        AtomicInteger holds = new AtomicInteger();
+        List<Future<?>> workers = new ArrayList<>();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        for (int i = 0; i < THREADS; i++) {
+            int worker = i;
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (int n = 0; n < ITERATIONS_PER_THREAD; n++) {
+                    String requestId = "cycle-" + worker + "-" + n;
+                    if (hold(requestId, CHECK_IN, 3)) {
+                        maxHolders.accumulateAndGet(currentHolders.incrementAndGet(), Math::max);
+                        holds.incrementAndGet();
+                        currentHolders.decrementAndGet();
+                        transactionTemplate.executeWithoutResult(status ->
+                                reservationNightRepository.release(HOT_ROOM_ID, requestId));
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertTrue(holds.get() > 0);
+        assertEquals(1, maxHolders.get());
+        assertTrue(reservationNightRepository.findByRoomIdOrderByNight(HOT_ROOM_ID).isEmpty());
+    }
+
+    @Test
+    void lockBestAvailableRoom_WhenBestRoomIsLocked_ShouldSkipToNextRoom() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch firstLocked = new CountDownLatch(1);
+        CountDownLatch secondDone = new CountDownLatch(1);
+
+        Future<Long> first = executor.submit(() -> transactionTemplate.execute(status -> {
+            Long roomId = roomRepository.lockBestAvailableRoom(null, CHECK_IN, CHECK_IN.plusDays(3), LocalDateTime.now())
+                    .orElseThrow().getId();
+            firstLocked.countDown();
+            await(secondDone);
+            return roomId;
+        }));
+
+        assertTrue(firstLocked.await(10, TimeUnit.SECONDS));
+        Long secondRoomId = transactionTemplate.execute(status ->
+                roomRepository.lockBestAvailableRoom(null, CHECK_IN, CHECK_IN.plusDays(3), LocalDateTime.now()).orElseThrow().getId());
+        secondDone.countDown();
+        Long firstRoomId = first.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertNotEquals(firstRoomId, secondRoomId);
+    }
+
+    @Test
+    void lockBestAvailableRoom_WhenScopedToHotel_ShouldOnlyReturnRoomsOfThatHotel() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Room room = transactionTemplate.execute(status ->
+                roomRepository.lockBestAvailableRoom(2L, CHECK_IN, CHECK_IN.plusDays(3), LocalDateTime.now()).orElseThrow());
+
+        assertEquals(2L, room.getHotel().getId());
+    }
+
+    @Test
+    void lockBestAvailableRoom_WhenRoomIsHeldForPartOfStay_ShouldPickAnotherRoom() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        assertTrue(hold("overlapping-stay", CHECK_IN.plusDays(1), 1));
+
+        Room room = transactionTemplate.execute(status ->
+                roomRepository.lockBestAvailableRoom(1L, CHECK_IN, CHECK_IN.plusDays(3), LocalDateTime.now()).orElseThrow());
+
+        assertNotEquals(HOT_ROOM_ID, room.getId());
+    }
+
+    // Та же последовательность, что и в RoomService: при конфликте откатываем всю транзакцию
+    private boolean hold(String requestId, LocalDate checkIn, int nights) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<LocalDate> stay = checkIn.datesUntil(checkIn.plusDays(nights)).toList();
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (reservationNightRepository.insertHolds(HOT_ROOM_ID, requestId, stay, LocalDateTime.now().plusDays(30))) {
+                return true;
+            }
+            status.setRollbackOnly();
+            return false;
+        }));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
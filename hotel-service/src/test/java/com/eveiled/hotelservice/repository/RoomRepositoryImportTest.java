@@ -0,0 +1,70 @@
+package com.eveiled.hotelservice.repository;
+
+import com.eveiled.hotelservice.entity.Hotel;
+import com.eveiled.hotelservice.entity.Room;
+import com.eveiled.hotelservice.repository.RoomRepositoryCustom.NewRoom;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rooms inserted by the batch import and rooms saved through JPA share {@code rooms_seq};
+ * neither may reuse an id handed to the other or to the rooms seeded by data.sql.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RoomRepositoryImportTest {
+
+    private static final long SEEDED_ROOMS = 6;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM rooms WHERE id > ?", SEEDED_ROOMS);
+        roomRepository.evictCatalogFromCache();
+    }
+
+    @Test
+    void insertAll_ShouldNotCollideWithIdsTakenThroughJpa() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<NewRoom> imported = IntStream.range(0, 120)
+                .mapToObj(i -> new NewRoom(1L, "imp-" + i, true))
+                .toList();
+
+        transactionTemplate.executeWithoutResult(status -> roomRepository.insertAll(imported.subList(0, 60)));
+        Long savedId = transactionTemplate.execute(status -> {
+            Hotel hotel = new Hotel();
+            hotel.setId(1L);
+            return roomRepository.save(new Room(null, hotel, "jpa-1", true, 0)).getId();
+        });
+        transactionTemplate.executeWithoutResult(status -> roomRepository.insertAll(imported.subList(60, 120)));
+
+        List<Long> importedIds = jdbcTemplate.queryForList("SELECT id FROM rooms WHERE number LIKE 'imp-%'", Long.class);
+        Set<Long> ids = new HashSet<>(importedIds);
+        assertEquals(120, ids.size());
+        assertFalse(ids.contains(savedId));
+        assertTrue(ids.stream().allMatch(id -> id > SEEDED_ROOMS));
+        assertTrue(savedId > SEEDED_ROOMS);
+    }
+}
@@ -0,0 +1,82 @@
+package com.eveiled.hotelservice.repository;
+
+import com.eveiled.hotelservice.dto.RoomDto;
+import com.eveiled.hotelservice.entity.ReservationNight;
+import com.eveiled.hotelservice.repository.RoomRepositoryCustom.NewRoom;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The schema of the prod profile: built by the Flyway migrations instead of Hibernate, seeded by the repeatable demo script.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=true",
+        "spring.flyway.locations=classpath:db/migration,classpath:db/seed",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.defer-datasource-initialization=false",
+        "spring.sql.init.mode=never"
+})
+class SchemaMigrationTest {
+
+    private static final long SEEDED_ROOMS = 6;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private ReservationNightRepository reservationNightRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM reservation_nights");
+        jdbcTemplate.update("DELETE FROM rooms WHERE id > ?", SEEDED_ROOMS);
+        roomRepository.evictCatalogFromCache();
+    }
+
+    @Test
+    void migrate_ShouldApplyVersionsAndCreateIndexes() {
+        assertEquals(List.of("1", "2"), jdbcTemplate.queryForList(
+                "SELECT \"version\" FROM \"flyway_schema_history\" WHERE \"version\" IS NOT NULL AND \"success\" ORDER BY \"installed_rank\"",
+                String.class));
+        assertTrue(jdbcTemplate.queryForList("SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_NAME = 'ROOMS'",
+                String.class).containsAll(List.of("idx_rooms_available_id", "idx_rooms_available_times_booked")));
+    }
+
+    @Test
+    void repositories_ShouldWorkAgainstMigratedSchema() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        assertEquals(SEEDED_ROOMS, roomRepository.findAllRoomDtos().size());
+
+        transactionTemplate.executeWithoutResult(status -> roomRepository.insertAll(List.of(new NewRoom(3L, "402", true))));
+        RoomDto imported = roomRepository.findAllRoomDtos().get((int) SEEDED_ROOMS);
+        assertTrue(imported.getId() > 100);
+
+        LocalDate night = LocalDate.now().plusDays(1);
+        reservationNightRepository.save(new ReservationNight(null, 6L, night, "migrated", ReservationNight.Status.HELD,
+                LocalDateTime.now().plusMinutes(15)));
+        assertEquals(imported.getId(), transactionTemplate.execute(status ->
+                roomRepository.lockBestAvailableRoom(3L, night, night.plusDays(1), LocalDateTime.now()).orElseThrow().getId()));
+    }
+}
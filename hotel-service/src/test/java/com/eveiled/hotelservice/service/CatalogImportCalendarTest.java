@@ -0,0 +1,80 @@
+package com.eveiled.hotelservice.service;
+
+import com.eveiled.hotelservice.dto.ImportLineError;
+import com.eveiled.hotelservice.dto.ImportReport;
+import com.eveiled.hotelservice.dto.NightAvailability;
+import com.eveiled.hotelservice.repository.RoomRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Imported rooms bypass Hibernate; the calendar must still see them once the import has committed.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({CatalogImportService.class, RoomOccupancyCalendar.class, JacksonAutoConfiguration.class})
+class CatalogImportCalendarTest {
+
+    private static final long SEEDED_ROOMS = 6;
+
+    @Autowired
+    private CatalogImportService importService;
+
+    @Autowired
+    private RoomOccupancyCalendar occupancyCalendar;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM rooms WHERE id > ?", SEEDED_ROOMS);
+        roomRepository.evictCatalogFromCache();
+        occupancyCalendar.rebuild();
+    }
+
+    @Test
+    void importRooms_ShouldShowImportedRoomsInCalendar() throws Exception {
+        LocalDate night = LocalDate.now().plusDays(30);
+        int freeBefore = occupancyCalendar.freeRoomCounts(1L, night, 1).get(0).getFreeRooms();
+
+        ImportReport report = importService.importRooms(new ByteArrayInputStream((
+                "{\"hotelId\":1,\"number\":\"imp-1\"}\n" +
+                "{\"hotelId\":1,\"number\":\"imp-2\"}\n" +
+                "{\"hotelId\":1,\"number\":\"imp-3\",\"available\":false}\n").getBytes(StandardCharsets.UTF_8)),
+                CatalogImportService.Format.NDJSON, new CatalogImportService.Listener() {
+                    @Override
+                    public void onError(ImportLineError error) {
+                        fail(error.getError());
+                    }
+
+                    @Override
+                    public void onProgress(ImportReport progress) {
+                    }
+                });
+
+        assertEquals(3, report.getRoomsImported());
+        List<Long> importedOpen = jdbcTemplate.queryForList(
+                "SELECT id FROM rooms WHERE number IN ('imp-1', 'imp-2')", Long.class);
+        assertEquals(List.of(new NightAvailability(night, freeBefore + 2)),
+                occupancyCalendar.freeRoomCounts(1L, night, 1));
+        assertTrue(occupancyCalendar.findFreeRooms(1L, night, night.plusDays(2)).containsAll(importedOpen));
+    }
+}
@@ -0,0 +1,151 @@
+package com.eveiled.hotelservice.service;
+
+import com.eveiled.hotelservice.dto.ImportLineError;
+import com.eveiled.hotelservice.dto.ImportReport;
+import com.eveiled.hotelservice.entity.Hotel;
+import com.eveiled.hotelservice.repository.HotelRepository;
+import com.eveiled.hotelservice.repository.RoomRepository;
+import com.eveiled.hotelservice.repository.RoomRepositoryCustom.NewRoom;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogImportServiceTest {
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private HotelRepository hotelRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CatalogImportService importService;
+    private final List<ImportLineError> errors = new ArrayList<>();
+    private final List<ImportReport> progress = new ArrayList<>();
+    private final List<List<NewRoom>> batches = new ArrayList<>();
+
+    private final CatalogImportService.Listener listener = new CatalogImportService.Listener() {
+        @Override
+        public void onError(ImportLineError error) {
+            errors.add(error);
+        }
+
+        @Override
+        public void onProgress(ImportReport report) {
+            progress.add(report);
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        importService = new CatalogImportService(roomRepository, hotelRepository, eventPublisher,
+                new ObjectMapper(), transactionManager);
+        ReflectionTestUtils.setField(importService, "batchSize", 2);
+    }
+
+    @Test
+    void importRooms_FromNdjson_ShouldBatchValidRowsAndReportBadLines() throws Exception {
+        recordBatches();
+        when(hotelRepository.existsById(1L)).thenReturn(true);
+        when(hotelRepository.existsById(99L)).thenReturn(false);
+        when(hotelRepository.findFirstByNameAndAddress("Sea View", "1 Beach Road")).thenReturn(Optional.empty());
+        when(hotelRepository.save(any(Hotel.class))).thenReturn(new Hotel(10L, "Sea View", "1 Beach Road", null));
+
+        ImportReport report = importService.importRooms(input(
+                "{\"hotelId\":1,\"number\":\"101\"}",
+                "{\"hotelId\":1,\"number\":",
+                "{\"hotelId\":99,\"number\":\"102\"}",
+                "",
+                "{\"hotelId\":1,\"number\":\" \"}",
+                "{\"hotelName\":\"Sea View\",\"hotelAddress\":\"1 Beach Road\",\"number\":\"1\",\"available\":false}",
+                "{\"hotelName\":\"Sea View\",\"hotelAddress\":\"1 Beach Road\",\"number\":\"2\"}"),
+                CatalogImportService.Format.NDJSON, listener);
+
+        assertEquals(new ImportReport(7, 3, 1, 3, true), report);
+        assertEquals(List.of(2L, 3L, 5L), errors.stream().map(ImportLineError::getLine).toList());
+        assertEquals("Hotel not found with id: 99", errors.get(1).getError());
+        assertEquals(List.of(
+                List.of(new NewRoom(1L, "101", true), new NewRoom(10L, "1", false)),
+                List.of(new NewRoom(10L, "2", true))), batches);
+        assertEquals(2, progress.size());
+        verify(hotelRepository, times(1)).save(any(Hotel.class));
+        verify(hotelRepository, times(1)).existsById(1L);
+        verify(roomRepository).evictCatalogFromCache();
+        verify(eventPublisher).publishEvent(RoomAvailabilityChangedEvent.catalogChanged(null));
+    }
+
+    @Test
+    void importRooms_FromCsv_ShouldMapColumnsByHeader() throws Exception {
+        recordBatches();
+        when(hotelRepository.findFirstByNameAndAddress("Grand Hotel", "123 Main Street, New York"))
+                .thenReturn(Optional.of(new Hotel(1L, "Grand Hotel", "123 Main Street, New York", null)));
+
+        ImportReport report = importService.importRooms(input(
+                "number,hotel_name,hotel_address,available",
+                "501,Grand Hotel,\"123 Main Street, New York\",false",
+                "502,Grand Hotel,\"123 Main Street, New York\","),
+                CatalogImportService.Format.CSV, listener);
+
+        assertEquals(new ImportReport(3, 2, 0, 0, true), report);
+        assertEquals(List.of(List.of(new NewRoom(1L, "501", false), new NewRoom(1L, "502", true))), batches);
+        verify(hotelRepository, never()).save(any());
+    }
+
+    @Test
+    void importRooms_WhenCsvHeaderHasNoNumber_ShouldRejectRequest() {
+        assertThrows(ResponseStatusException.class, () -> importService.importRooms(
+                input("hotel_id,room"), CatalogImportService.Format.CSV, listener));
+        verifyNoInteractions(roomRepository);
+    }
+
+    @Test
+    void importRooms_WhenBatchFails_ShouldReportItsLinesAndPublishNoChange() throws Exception {
+        when(hotelRepository.existsById(1L)).thenReturn(true);
+        doThrow(new RuntimeException("Database is down")).when(roomRepository).insertAll(anyList());
+
+        ImportReport report = importService.importRooms(input(
+                "{\"hotelId\":1,\"number\":\"101\"}",
+                "{\"hotelId\":1,\"number\":\"102\"}"),
+                CatalogImportService.Format.NDJSON, listener);
+
+        assertEquals(new ImportReport(2, 0, 0, 2, true), report);
+        assertEquals(1, errors.size());
+        assertEquals("Lines 1-2 were not imported: Database is down", errors.get(0).getError());
+        verify(roomRepository, never()).evictCatalogFromCache();
+        verifyNoInteractions(eventPublisher);
+    }
+
+    private void recordBatches() {
+        doAnswer(invocation -> batches.add(List.copyOf(invocation.getArgument(0))))
+                .when(roomRepository).insertAll(anyList());
+    }
+
+    private InputStream input(String... lines) {
+        return new ByteArrayInputStream((String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+}
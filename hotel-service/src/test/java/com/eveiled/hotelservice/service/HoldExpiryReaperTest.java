@@ -0,0 +1,89 @@
+package com.eveiled.hotelservice.service;
+
+import com.eveiled.hotelservice.repository.ReservationNightRepository;
+import com.eveiled.hotelservice.repository.ReservationNightRepositoryCustom.HoldRef;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HoldExpiryReaperTest {
+
+    @Mock
+    private RoomService roomService;
+
+    @Mock
+    private ReservationNightRepository reservationNightRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private HoldExpiryReaper reaper;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        reaper = new HoldExpiryReaper(roomService, reservationNightRepository, meterRegistry);
+        ReflectionTestUtils.setField(reaper, "batchSize", 500);
+    }
+
+    @Test
+    void reapExpiredHolds_WhenNothingIsDue_ShouldNotTouchDatabase() {
+        reaper.schedule(1L, "future-request", LocalDateTime.now().plusHours(1));
+
+        reaper.reapExpiredHolds();
+
+        verifyNoInteractions(roomService);
+        assertEquals(1, reaper.pendingCount());
+    }
+
+    @Test
+    void reapExpiredHolds_ShouldExpireDueHoldsInOneBatchAndCountThem() {
+        HoldRef first = new HoldRef(1L, "expired-1");
+        HoldRef second = new HoldRef(2L, "expired-2");
+        reaper.schedule(1L, "expired-1", LocalDateTime.now().minusMinutes(5));
+        reaper.schedule(2L, "expired-2", LocalDateTime.now().minusMinutes(1));
+        reaper.schedule(3L, "future-request", LocalDateTime.now().plusHours(1));
+        when(roomService.expireHolds(List.of(first, second))).thenReturn(List.of(first));
+
+        reaper.reapExpiredHolds();
+
+        verify(roomService).expireHolds(List.of(first, second));
+        assertEquals(1.0, meterRegistry.get("hotel.holds.expired").counter().count());
+        assertEquals(1, reaper.pendingCount());
+    }
+
+    @Test
+    void reapExpiredHolds_WhenDeleteFails_ShouldRetryOnNextTick() {
+        HoldRef hold = new HoldRef(1L, "expired-1");
+        reaper.schedule(1L, "expired-1", LocalDateTime.now().minusMinutes(1));
+        when(roomService.expireHolds(List.of(hold)))
+                .thenThrow(new RuntimeException("Database unavailable"))
+                .thenReturn(List.of(hold));
+
+        reaper.reapExpiredHolds();
+        reaper.reapExpiredHolds();
+
+        verify(roomService, times(2)).expireHolds(List.of(hold));
+        assertEquals(1.0, meterRegistry.get("hotel.holds.expired").counter().count());
+        assertEquals(0, reaper.pendingCount());
+    }
+
+    @Test
+    void onAvailabilityChanged_ShouldQueueOnlyNewHolds() {
+        reaper.onAvailabilityChanged(RoomAvailabilityChangedEvent.held(1L, "request-1",
+                LocalDate.now(), LocalDate.now().plusDays(2), LocalDateTime.now().plusDays(2)));
+        reaper.onAvailabilityChanged(RoomAvailabilityChangedEvent.confirmed(1L, "request-1"));
+
+        assertEquals(1, reaper.pendingCount());
+    }
+}
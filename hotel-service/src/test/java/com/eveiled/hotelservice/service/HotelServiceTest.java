@@ -1,16 +1,32 @@
 package com.eveiled.hotelservice.service;
 
+import com.eveiled.hotelservice.config.PaginationProperties;
+import com.eveiled.hotelservice.dto.CursorPage;
 import com.eveiled.hotelservice.dto.HotelDto;
+import com.eveiled.hotelservice.dto.NightAvailability;
+import com.eveiled.hotelservice.dto.RoomDto;
 import com.eveiled.hotelservice.entity.Hotel;
+import com.eveiled.hotelservice.entity.Room;
 import com.eveiled.hotelservice.mapper.HotelMapper;
 import com.eveiled.hotelservice.repository.HotelRepository;
+import com.eveiled.hotelservice.repository.ReservationNightRepository;
+import com.eveiled.hotelservice.repository.RoomRepository;
+import com.eveiled.hotelservice.util.CursorUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -26,9 +42,27 @@ class HotelServiceTest {
     @Mock
     private HotelRepository hotelRepository;
 
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private ReservationNightRepository reservationNightRepository;
+
     @Mock
     private HotelMapper hotelMapper;
 
+    @Mock
+    private TimesBookedBuffer timesBookedBuffer;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private RoomOccupancyCalendar occupancyCalendar;
+
+    @Spy
+    private PaginationProperties paginationProperties = new PaginationProperties();
+
     @InjectMocks
     private HotelService hotelService;
 
@@ -50,6 +84,8 @@ class HotelServiceTest {
         savedHotel.setId(1L);
         savedHotel.setName("Test Hotel");
         savedHotel.setAddress("Test Address");
+
+        ReflectionTestUtils.setField(hotelService, "calendarMaxDays", 366);
     }
 
     @Test
@@ -70,21 +106,48 @@ class HotelServiceTest {
     }
 
     @Test
-    void getAllHotels_ShouldReturnAllHotels() {
+    void getAllHotels_WhenSinglePage_ShouldReturnHotelsWithoutNextCursor() {
         List<Hotel> hotels = Arrays.asList(savedHotel);
         List<HotelDto> hotelDtos = Arrays.asList(hotelDto);
         
-        when(hotelRepository.findAll()).thenReturn(hotels);
+        when(hotelRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 51))).thenReturn(hotels);
         when(hotelMapper.toDtoList(hotels)).thenReturn(hotelDtos);
 
-        List<HotelDto> result = hotelService.getAllHotels();
+        CursorPage<HotelDto> result = hotelService.getAllHotels(null, null);
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(hotelDto.getName(), result.get(0).getName());
+        assertEquals(1, result.getItems().size());
+        assertEquals(hotelDto.getName(), result.getItems().get(0).getName());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getAllHotels_WhenMoreRowsThanPage_ShouldReturnCursorAfterLastHotel() {
+        Hotel nextHotel = new Hotel(2L, "Next Hotel", "Next Address", null);
+        Hotel extraHotel = new Hotel(3L, "Extra Hotel", "Extra Address", null);
         
-        verify(hotelRepository).findAll();
-        verify(hotelMapper).toDtoList(hotels);
+        when(hotelRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(savedHotel, nextHotel, extraHotel));
+        when(hotelMapper.toDtoList(List.of(savedHotel, nextHotel))).thenReturn(List.of(hotelDto, hotelDto));
+
+        CursorPage<HotelDto> first = hotelService.getAllHotels(null, 2);
+        assertEquals(2, first.getItems().size());
+        assertEquals(2L, CursorUtil.decodeId(first.getNextCursor()));
+
+        when(hotelRepository.findByIdGreaterThanOrderByIdAsc(2L, PageRequest.of(0, 3))).thenReturn(List.of(extraHotel));
+        when(hotelMapper.toDtoList(List.of(extraHotel))).thenReturn(List.of(hotelDto));
+
+        CursorPage<HotelDto> second = hotelService.getAllHotels(first.getNextCursor(), 2);
+        assertEquals(1, second.getItems().size());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void getAllHotels_WhenCursorIsMalformed_ShouldRejectWithBadRequest() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> hotelService.getAllHotels("not a cursor!", null));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(hotelRepository);
     }
 
     @Test
@@ -115,6 +178,28 @@ class HotelServiceTest {
         verify(hotelMapper, never()).toDto(any());
     }
 
+    @Test
+    void getHotelRooms_ShouldMapRoomsAndApplyPendingIncrements() {
+        Room room = new Room(1L, savedHotel, "101", true, 2);
+        savedHotel.setRooms(List.of(room));
+        List<RoomDto> rooms = List.of(new RoomDto(1L, 1L, "101", true, 2));
+
+        when(hotelRepository.findWithRoomsById(1L)).thenReturn(Optional.of(savedHotel));
+        when(hotelMapper.toRoomDtoList(List.of(room))).thenReturn(rooms);
+
+        List<RoomDto> result = hotelService.getHotelRooms(1L);
+
+        assertEquals(rooms, result);
+        verify(timesBookedBuffer).applyPending(rooms);
+    }
+
+    @Test
+    void getHotelRooms_WhenHotelNotExists_ShouldThrowException() {
+        when(hotelRepository.findWithRoomsById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(RuntimeException.class, () -> hotelService.getHotelRooms(99L));
+    }
+
     @Test
     void updateHotel_WhenHotelExists_ShouldReturnUpdatedHotel() {
         Long hotelId = 1L;
@@ -136,4 +221,88 @@ class HotelServiceTest {
         verify(hotelRepository).save(savedHotel);
         verify(hotelMapper).toDto(savedHotel);
     }
+
+    @Test
+    void deleteHotel_ShouldDeleteNightsRoomsAndHotelInBulk() {
+        when(reservationNightRepository.deleteByHotelId(1L)).thenReturn(4);
+        when(roomRepository.deleteByHotelId(1L)).thenReturn(5000);
+        when(hotelRepository.deleteHotelById(1L)).thenReturn(1);
+
+        hotelService.deleteHotel(1L);
+
+        verify(hotelRepository, never()).deleteById(anyLong());
+        verify(eventPublisher).publishEvent(RoomAvailabilityChangedEvent.catalogChanged(1L));
+    }
+
+    @Test
+    void deleteHotel_WhenHotelNotExists_ShouldThrowException() {
+        when(hotelRepository.deleteHotelById(99L)).thenReturn(0);
+
+        assertThrows(RuntimeException.class, () -> hotelService.deleteHotel(99L));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void updateRoomsAvailability_ShouldUpdateMatchingRoomsInOneStatement() {
+        when(hotelRepository.existsById(1L)).thenReturn(true);
+        when(roomRepository.updateAvailabilityByHotelId(1L, "3", false)).thenReturn(12);
+
+        int updated = hotelService.updateRoomsAvailability(1L, " 3 ", false);
+
+        assertEquals(12, updated);
+        verify(eventPublisher).publishEvent(RoomAvailabilityChangedEvent.catalogChanged(1L));
+    }
+
+    @Test
+    void updateRoomsAvailability_WithBlankPrefix_ShouldUpdateWholeHotel() {
+        when(hotelRepository.existsById(1L)).thenReturn(true);
+        when(roomRepository.updateAvailabilityByHotelId(1L, null, true)).thenReturn(0);
+
+        assertEquals(0, hotelService.updateRoomsAvailability(1L, "", true));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void updateRoomsAvailability_WhenHotelNotExists_ShouldThrowException() {
+        when(hotelRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(RuntimeException.class, () -> hotelService.updateRoomsAvailability(99L, null, false));
+        verifyNoInteractions(roomRepository, eventPublisher);
+    }
+
+    @Test
+    void getCalendar_ShouldStartTonightByDefault() {
+        List<NightAvailability> nights = List.of(new NightAvailability(LocalDate.now(), 3));
+        when(hotelRepository.findById(1L)).thenReturn(Optional.of(savedHotel));
+        when(occupancyCalendar.freeRoomCounts(1L, LocalDate.now(), 90)).thenReturn(nights);
+
+        assertEquals(nights, hotelService.getCalendar(1L, null, 90));
+    }
+
+    @Test
+    void getCalendar_WhenTooManyDays_ShouldRejectRequest() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> hotelService.getCalendar(1L, null, 367));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(hotelRepository, occupancyCalendar);
+    }
+
+    @Test
+    void getCalendar_WhenHotelNotExists_ShouldThrowException() {
+        when(hotelRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(RuntimeException.class, () -> hotelService.getCalendar(99L, null, 90));
+        verifyNoInteractions(occupancyCalendar);
+    }
+
+    @Test
+    void getRoomsFreeForStay_ShouldAskCalendarForStayNights() {
+        LocalDateTime checkIn = LocalDate.now().plusDays(3).atTime(14, 0);
+        when(hotelRepository.findById(1L)).thenReturn(Optional.of(savedHotel));
+        when(occupancyCalendar.findFreeRooms(1L, checkIn.toLocalDate(), checkIn.toLocalDate().plusDays(2)))
+                .thenReturn(List.of(2L, 5L));
+
+        assertEquals(List.of(2L, 5L), hotelService.getRoomsFreeForStay(1L, checkIn, checkIn.plusDays(2).withHour(12)));
+    }
 }
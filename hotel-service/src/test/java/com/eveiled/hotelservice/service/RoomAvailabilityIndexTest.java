@@ -0,0 +1,112 @@
+package com.eveiled.hotelservice.service;
+
+import com.eveiled.hotelservice.dto.RoomDto;
+import com.eveiled.hotelservice.repository.ReservationNightRepository;
+import com.eveiled.hotelservice.repository.ReservationNightRepository.ReservationSpan;
+import com.eveiled.hotelservice.repository.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomAvailabilityIndexTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.now().plusDays(10);
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private ReservationNightRepository reservationNightRepository;
+
+    @InjectMocks
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(roomRepository.findAllRoomDtos()).thenReturn(List.of(
+                new RoomDto(1L, 1L, "101", true, 0),
+                new RoomDto(2L, 1L, "102", true, 0),
+                new RoomDto(3L, 2L, "301", false, 0)));
+        ReservationSpan confirmedStay = span(1L, "confirmed-stay", CHECK_IN, CHECK_IN.plusDays(2), null);
+        when(reservationNightRepository.findAllSpans()).thenReturn(List.of(confirmedStay));
+
+        availabilityIndex.rebuild();
+    }
+
+    @Test
+    void rebuild_ShouldLoadStaysFromLedger() {
+        assertTrue(availabilityIndex.hasConflict(1L, CHECK_IN.plusDays(2), CHECK_IN.plusDays(4), "other-request"));
+        assertFalse(availabilityIndex.hasConflict(1L, CHECK_IN.plusDays(3), CHECK_IN.plusDays(5), "other-request"));
+        assertFalse(availabilityIndex.hasConflict(1L, CHECK_IN, CHECK_IN.plusDays(3), "confirmed-stay"));
+    }
+
+    @Test
+    void findFreeRooms_ShouldSkipBookedAndUnavailableRooms() {
+        assertEquals(List.of(2L), availabilityIndex.findFreeRooms(null, CHECK_IN, CHECK_IN.plusDays(1)));
+        assertEquals(List.of(1L, 2L), availabilityIndex.findFreeRooms(1L, CHECK_IN.plusDays(5), CHECK_IN.plusDays(7)));
+    }
+
+    @Test
+    void onAvailabilityChanged_ShouldFollowHoldConfirmAndRelease() {
+        availabilityIndex.onAvailabilityChanged(RoomAvailabilityChangedEvent.held(
+                2L, "new-stay", CHECK_IN, CHECK_IN.plusDays(1), LocalDateTime.now().plusHours(1)));
+        assertTrue(availabilityIndex.hasConflict(2L, CHECK_IN, CHECK_IN.plusDays(1), "other-request"));
+
+        availabilityIndex.onAvailabilityChanged(RoomAvailabilityChangedEvent.confirmed(2L, "new-stay"));
+        assertTrue(availabilityIndex.hasConflict(2L, CHECK_IN, CHECK_IN.plusDays(1), "other-request"));
+
+        availabilityIndex.onAvailabilityChanged(RoomAvailabilityChangedEvent.released(2L, "new-stay"));
+        assertFalse(availabilityIndex.hasConflict(2L, CHECK_IN, CHECK_IN.plusDays(1), "other-request"));
+    }
+
+    @Test
+    void hasConflict_WhenHoldExpired_ShouldIgnoreIt() {
+        availabilityIndex.onAvailabilityChanged(RoomAvailabilityChangedEvent.held(
+                2L, "expired-hold", CHECK_IN, CHECK_IN.plusDays(1), LocalDateTime.now().minusMinutes(1)));
+
+        assertFalse(availabilityIndex.hasConflict(2L, CHECK_IN, CHECK_IN.plusDays(1), "other-request"));
+    }
+
+    @Test
+    void onAvailabilityChanged_WhenRoomAdded_ShouldIndexIt() {
+        availabilityIndex.onAvailabilityChanged(RoomAvailabilityChangedEvent.roomUpdated(new RoomDto(7L, 2L, "303", true, 0)));
+
+        assertEquals(List.of(7L), availabilityIndex.findFreeRooms(2L, CHECK_IN, CHECK_IN.plusDays(1)));
+    }
+
+    @Test
+    void rebuild_WhenReleaseCommitsAfterSnapshot_ShouldReplayItOnFreshIndex() {
+        ReservationSpan staleStay = span(1L, "confirmed-stay", CHECK_IN, CHECK_IN.plusDays(2), null);
+        when(reservationNightRepository.findAllSpans()).thenAnswer(invocation -> {
+            availabilityIndex.onAvailabilityChanged(RoomAvailabilityChangedEvent.released(1L, "confirmed-stay"));
+            return List.of(staleStay);
+        });
+
+        availabilityIndex.onAvailabilityChanged(RoomAvailabilityChangedEvent.catalogChanged(1L));
+
+        assertFalse(availabilityIndex.hasConflict(1L, CHECK_IN, CHECK_IN.plusDays(1), "other-request"));
+        assertEquals(List.of(1L, 2L), availabilityIndex.findFreeRooms(1L, CHECK_IN, CHECK_IN.plusDays(1)));
+    }
+
+    private static ReservationSpan span(Long roomId, String requestId, LocalDate firstNight, LocalDate lastNight,
+                                        LocalDateTime heldUntil) {
+        ReservationSpan span = mock(ReservationSpan.class);
+        when(span.getRoomId()).thenReturn(roomId);
+        when(span.getRequestId()).thenReturn(requestId);
+        when(span.getFirstNight()).thenReturn(firstNight);
+        when(span.getLastNight()).thenReturn(lastNight);
+        when(span.getHeldUntil()).thenReturn(heldUntil);
+        return span;
+    }
+}
@@ -0,0 +1,246 @@
+package com.eveiled.hotelservice.service;
+
+import com.eveiled.hotelservice.dto.RoomChangeEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomEventStreamTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.now().plusDays(10);
+
+    @Mock
+    private RoomAvailabilityIndex availabilityIndex;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RoomEventStream stream;
+
+    private SenderExecutor sender;
+
+    @BeforeEach
+    void setUp() {
+        createStream(Runnable::run);
+    }
+
+    @Test
+    void onAvailabilityChanged_ShouldPushChangesOfSubscribedHotelAndUnscopedOnes() {
+        when(availabilityIndex.hotelOf(2L)).thenReturn(1L);
+        when(availabilityIndex.hotelOf(4L)).thenReturn(2L);
+        RecordingEmitter emitter = new RecordingEmitter();
+        stream.register(emitter, 1L, null);
+
+        stream.onAvailabilityChanged(held(2L, "stay-1"));
+        stream.onAvailabilityChanged(held(4L, "stay-2"));
+        stream.onAvailabilityChanged(RoomAvailabilityChangedEvent.requestReleased("stay-1"));
+        stream.onAvailabilityChanged(RoomAvailabilityChangedEvent.timesBookedIncremented(2L));
+
+        assertEquals(List.of(
+                new RoomChangeEvent(1, "HELD", 1L, 2L, "stay-1", CHECK_IN, CHECK_IN.plusDays(2), null),
+                new RoomChangeEvent(3, "REQUEST_RELEASED", null, null, "stay-1", null, null, null)),
+                emitter.changes());
+    }
+
+    @Test
+    void register_WithLastEventId_ShouldReplayMissedChanges() {
+        when(availabilityIndex.hotelOf(2L)).thenReturn(1L);
+        stream.onAvailabilityChanged(held(2L, "stay-1"));
+        stream.onAvailabilityChanged(RoomAvailabilityChangedEvent.confirmed(2L, "stay-1"));
+        stream.onAvailabilityChanged(RoomAvailabilityChangedEvent.released(2L, "stay-1"));
+
+        RecordingEmitter emitter = new RecordingEmitter();
+        stream.register(emitter, null, 1L);
+
+        assertEquals(List.of(2L, 3L), emitter.changes().stream().map(RoomChangeEvent::getSequence).toList());
+    }
+
+    @Test
+    void register_WhenChangesAfterLastEventIdAreGone_ShouldSendReset() {
+        when(availabilityIndex.hotelOf(2L)).thenReturn(1L);
+        for (int i = 0; i < 5; i++) {
+            stream.onAvailabilityChanged(held(2L, "stay-" + i));
+        }
+
+        RecordingEmitter tooOld = new RecordingEmitter();
+        stream.register(tooOld, null, 1L);
+        RecordingEmitter fromFuture = new RecordingEmitter();
+        stream.register(fromFuture, null, 42L);
+
+        assertEquals(List.of(RoomEventStream.RESET_EVENT), tooOld.names());
+        assertEquals(List.of(RoomEventStream.RESET_EVENT), fromFuture.names());
+    }
+
+    @Test
+    void onAvailabilityChanged_WhenSubscriberFallsBehind_ShouldDropOldestAndSendReset() {
+        List<Runnable> pendingSends = new ArrayList<>();
+        createStream(pendingSends::add);
+        when(availabilityIndex.hotelOf(2L)).thenReturn(1L);
+        RecordingEmitter emitter = new RecordingEmitter();
+        stream.register(emitter, null, null);
+
+        for (int i = 0; i < 4; i++) {
+            stream.onAvailabilityChanged(held(2L, "stay-" + i));
+        }
+        pendingSends.forEach(Runnable::run);
+
+        assertEquals(List.of(RoomEventStream.RESET_EVENT, RoomEventStream.CHANGE_EVENT, RoomEventStream.CHANGE_EVENT),
+                emitter.names());
+        assertEquals(List.of(3L, 4L), emitter.changes().stream().map(RoomChangeEvent::getSequence).toList());
+        assertEquals(2.0, meterRegistry.counter("hotel.events.dropped").count());
+    }
+
+    @Test
+    void onAvailabilityChanged_WithDisconnectPolicy_ShouldCloseSlowSubscriber() {
+        createStream(task -> { });
+        ReflectionTestUtils.setField(stream, "overflowPolicy", RoomEventStream.OverflowPolicy.DISCONNECT);
+        when(availabilityIndex.hotelOf(2L)).thenReturn(1L);
+        RecordingEmitter emitter = new RecordingEmitter();
+        stream.register(emitter, null, null);
+
+        for (int i = 0; i < 3; i++) {
+            stream.onAvailabilityChanged(held(2L, "stay-" + i));
+        }
+
+        assertTrue(emitter.completed);
+        assertEquals(0.0, meterRegistry.get("hotel.events.subscribers").gauge().value());
+    }
+
+    @Test
+    void onAvailabilityChanged_WhenSendFails_ShouldCompleteEmitterAndForgetSubscriber() {
+        when(availabilityIndex.hotelOf(2L)).thenReturn(1L);
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.failSends = true;
+        stream.register(emitter, null, null);
+
+        stream.onAvailabilityChanged(held(2L, "stay-1"));
+
+        assertTrue(emitter.completed);
+        assertEquals(0.0, meterRegistry.get("hotel.events.subscribers").gauge().value());
+    }
+
+    @Test
+    void destroy_ShouldCompleteSubscribersAndShutDownSender() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        stream.register(emitter, null, null);
+
+        stream.destroy();
+        stream.onAvailabilityChanged(RoomAvailabilityChangedEvent.requestReleased("stay-1"));
+
+        assertTrue(emitter.completed);
+        assertTrue(sender.isShutdown());
+        assertTrue(emitter.sent.isEmpty());
+    }
+
+    private void createStream(Executor executor) {
+        meterRegistry = new SimpleMeterRegistry();
+        sender = new SenderExecutor(executor);
+        stream = new RoomEventStream(availabilityIndex, meterRegistry, sender);
+        ReflectionTestUtils.setField(stream, "replaySize", 3);
+        ReflectionTestUtils.setField(stream, "subscriberBuffer", 2);
+        ReflectionTestUtils.setField(stream, "overflowPolicy", RoomEventStream.OverflowPolicy.DROP_OLDEST);
+    }
+
+    private static RoomAvailabilityChangedEvent held(Long roomId, String requestId) {
+        return RoomAvailabilityChangedEvent.held(roomId, requestId, CHECK_IN, CHECK_IN.plusDays(2),
+                LocalDateTime.now().plusMinutes(15));
+    }
+
+    // Отправка идет тем Executor, который задал тест; shutdown только запоминается
+    private static final class SenderExecutor extends AbstractExecutorService {
+        private final Executor delegate;
+        private volatile boolean shutdown;
+
+        private SenderExecutor(Executor delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            delegate.execute(command);
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown = true;
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return shutdown;
+        }
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<Set<DataWithMediaType>> sent = new ArrayList<>();
+        private boolean completed;
+        private boolean failSends;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failSends) {
+                throw new IOException("Broken pipe");
+            }
+            sent.add(builder.build());
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+
+        List<RoomChangeEvent> changes() {
+            return sent.stream()
+                    .flatMap(Set::stream)
+                    .map(DataWithMediaType::getData)
+                    .filter(RoomChangeEvent.class::isInstance)
+                    .map(RoomChangeEvent.class::cast)
+                    .toList();
+        }
+
+        List<String> names() {
+            return sent.stream()
+                    .map(parts -> parts.stream()
+                            .map(DataWithMediaType::getData)
+                            .filter(String.class::isInstance)
+                            .map(String.class::cast)
+                            .reduce("", String::concat))
+                    .map(text -> text.substring(text.indexOf("event:") + "event:".length(), text.indexOf('\n', text.indexOf("event:"))))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.eveiled.hotelservice.service;
+
+import com.eveiled.hotelservice.dto.NightAvailability;
+import com.eveiled.hotelservice.dto.RoomDto;
+import com.eveiled.hotelservice.repository.ReservationNightRepository;
+import com.eveiled.hotelservice.repository.ReservationNightRepository.ReservationSpan;
+import com.eveiled.hotelservice.repository.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomOccupancyCalendarTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.now().plusDays(10);
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private ReservationNightRepository reservationNightRepository;
+
+    @InjectMocks
+    private RoomOccupancyCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        when(roomRepository.findAllRoomDtos()).thenReturn(List.of(
+                new RoomDto(1L, 1L, "101", true, 0),
+                new RoomDto(2L, 1L, "102", true, 0),
+                new RoomDto(3L, 1L, "103", false, 0),
+                new RoomDto(4L, 2L, "201", true, 0)));
+        ReservationSpan confirmedStay = span(1L, "confirmed-stay", CHECK_IN, CHECK_IN.plusDays(2), null);
+        when(reservationNightRepository.findAllSpans()).thenReturn(List.of(confirmedStay));
+
+        calendar.rebuild();
+    }
+
+    @Test
+    void freeRoomCounts_ShouldCountOpenRoomsWithNobodyOnTheNight() {
+        assertEquals(List.of(
+                new NightAvailability(CHECK_IN.minusDays(1), 2),
+                new NightAvailability(CHECK_IN, 1),
+                new NightAvailability(CHECK_IN.plusDays(1), 1),
+                new NightAvailability(CHECK_IN.plusDays(2), 1),
+                new NightAvailability(CHECK_IN.plusDays(3), 2)),
+                calendar.freeRoomCounts(1L, CHECK_IN.minusDays(1), 5));
+        assertEquals(List.of(new NightAvailability(CHECK_IN, 0)), calendar.freeRoomCounts(99L, CHECK_IN, 1));
+    }
+
+    @Test
+    void findFreeRooms_ShouldRequireEveryNightOfTheStay() {
+        assertEquals(List.of(2L), calendar.findFreeRooms(1L, CHECK_IN.minusDays(1), CHECK_IN.plusDays(1)));
+        assertEquals(List.of(1L, 2L), calendar.findFreeRooms(1L, CHECK_IN.plusDays(3), CHECK_IN.plusDays(5)));
+        assertEquals(List.of(4L), calendar.findFreeRooms(2L, CHECK_IN, CHECK_IN.plusDays(3)));
+        assertEquals(List.of(), calendar.findFreeRooms(99L, CHECK_IN, CHECK_IN.plusDays(1)));
+    }
+
+    @Test
+    void onAvailabilityChanged_ShouldFollowHoldConfirmAndRelease() {
+        calendar.onAvailabilityChanged(RoomAvailabilityChangedEvent.held(
+                2L, "new-stay", CHECK_IN, CHECK_IN.plusDays(1), LocalDateTime.now().plusHours(1)));
+        assertEquals(0, calendar.freeRoomCounts(1L, CHECK_IN, 1).get(0).getFreeRooms());
+
+        calendar.onAvailabilityChanged(RoomAvailabilityChangedEvent.confirmed(2L, "new-stay"));
+        assertEquals(List.of(), calendar.findFreeRooms(1L, CHECK_IN, CHECK_IN.plusDays(1)));
+
+        calendar.onAvailabilityChanged(RoomAvailabilityChangedEvent.released(2L, "new-stay"));
+        assertEquals(List.of(2L), calendar.findFreeRooms(1L, CHECK_IN, CHECK_IN.plusDays(1)));
+    }
+
+    @Test
+    void onAvailabilityChanged_WhenHoldDisplacesExpiredOne_ShouldKeepNightsOfTheNewHold() {
+        calendar.onAvailabilityChanged(RoomAvailabilityChangedEvent.held(
+                2L, "expired-hold", CHECK_IN, CHECK_IN.plusDays(3), LocalDateTime.now().minusMinutes(1)));
+        calendar.onAvailabilityChanged(RoomAvailabilityChangedEvent.held(
+                2L, "new-stay", CHECK_IN.plusDays(1), CHECK_IN.plusDays(2), LocalDateTime.now().plusHours(1)));
+        calendar.onAvailabilityChanged(RoomAvailabilityChangedEvent.expired(2L, "expired-hold"));
+
+        assertEquals(List.of(2L), calendar.findFreeRooms(1L, CHECK_IN, CHECK_IN.plusDays(1)));
+        assertEquals(List.of(), calendar.findFreeRooms(1L, CHECK_IN.plusDays(1), CHECK_IN.plusDays(2)));
+        assertEquals(List.of(2L), calendar.findFreeRooms(1L, CHECK_IN.plusDays(2), CHECK_IN.plusDays(3)));
+    }
+
+    @Test
+    void onAvailabilityChanged_WhenRequestReleased_ShouldFreeAllItsRooms() {
+        calendar.onAvailabilityChanged(RoomAvailabilityChangedEvent.held(
+                2L, "group", CHECK_IN.plusDays(5), CHECK_IN.plusDays(6), LocalDateTime.now().plusHours(1)));
+        calendar.onAvailabilityChanged(RoomAvailabilityChangedEvent.held(
+                4L, "group", CHECK_IN.plusDays(5), CHECK_IN.plusDays(6), LocalDateTime.now().plusHours(1)));
+
+        calendar.onAvailabilityChanged(RoomAvailabilityChangedEvent.requestReleased("group"));
+
+        assertEquals(List.of(1L, 2L), calendar.findFreeRooms(1L, CHECK_IN.plusDays(5), CHECK_IN.plusDays(6)));
+        assertEquals(List.of(4L), calendar.findFreeRooms(2L, CHECK_IN.plusDays(5), CHECK_IN.plusDays(6)));
+    }
+
+    @Test
+    void onAvailabilityChanged_WhenRoomClosedOrAdded_ShouldUpdateOpenRooms() {
+        calendar.onAvailabilityChanged(RoomAvailabilityChangedEvent.roomUpdated(new RoomDto(2L, 1L, "102", false, 0)));
+        calendar.onAvailabilityChanged(RoomAvailabilityChangedEvent.roomUpdated(new RoomDto(7L, 3L, "301", true, 0)));
+
+        assertEquals(List.of(1L), calendar.findFreeRooms(1L, CHECK_IN.plusDays(3), CHECK_IN.plusDays(4)));
+        assertEquals(List.of(7L), calendar.findFreeRooms(3L, CHECK_IN, CHECK_IN.plusDays(1)));
+    }
+
+    @Test
+    void onAvailabilityChanged_WhenCatalogChanged_ShouldRebuild() {
+        calendar.onAvailabilityChanged(RoomAvailabilityChangedEvent.catalogChanged(1L));
+
+        verify(roomRepository, times(2)).findAllRoomDtos();
+        verify(reservationNightRepository, times(2)).findAllSpans();
+    }
+
+    @Test
+    void rebuild_WhenChangesCommitDuringLoad_ShouldReplayThemOnFreshCalendars() {
+        ReservationSpan staleStay = span(1L, "confirmed-stay", CHECK_IN, CHECK_IN.plusDays(2), null);
+        when(reservationNightRepository.findAllSpans()).thenAnswer(invocation -> {
+            calendar.onAvailabilityChanged(RoomAvailabilityChangedEvent.released(1L, "confirmed-stay"));
+            calendar.onAvailabilityChanged(RoomAvailabilityChangedEvent.held(
+                    2L, "new-stay", CHECK_IN, CHECK_IN.plusDays(1), LocalDateTime.now().plusHours(1)));
+            return List.of(staleStay);
+        });
+
+        calendar.onAvailabilityChanged(RoomAvailabilityChangedEvent.catalogChanged(1L));
+
+        assertEquals(List.of(1L), calendar.findFreeRooms(1L, CHECK_IN, CHECK_IN.plusDays(1)));
+        assertEquals(List.of(1L, 2L), calendar.findFreeRooms(1L, CHECK_IN.plusDays(1), CHECK_IN.plusDays(2)));
+    }
+
+    @Test
+    void pruneNightsBeforeToday_ShouldKeepUpcomingNights() {
+        calendar.pruneNightsBeforeToday();
+
+        assertEquals(List.of(2L), calendar.findFreeRooms(1L, CHECK_IN, CHECK_IN.plusDays(1)));
+    }
+
+    private static ReservationSpan span(Long roomId, String requestId, LocalDate firstNight, LocalDate lastNight,
+                                        LocalDateTime heldUntil) {
+        ReservationSpan span = mock(ReservationSpan.class);
+        when(span.getRoomId()).thenReturn(roomId);
+        when(span.getRequestId()).thenReturn(requestId);
+        when(span.getFirstNight()).thenReturn(firstNight);
+        when(span.getLastNight()).thenReturn(lastNight);
+        when(span.getHeldUntil()).thenReturn(heldUntil);
+        return span;
+    }
+}
@@ -0,0 +1,147 @@
+package com.eveiled.hotelservice.service;
+
+import com.eveiled.hotelservice.dto.RoomDto;
+import com.eveiled.hotelservice.repository.RoomRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomRecommendationIndexTest {
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TimesBookedBuffer timesBookedBuffer;
+    private RoomRecommendationIndex recommendationIndex;
+
+    @BeforeEach
+    void setUp() {
+        timesBookedBuffer = new TimesBookedBuffer(roomRepository, transactionManager);
+        ReflectionTestUtils.setField(timesBookedBuffer, "flushThreshold", 100L);
+        recommendationIndex = new RoomRecommendationIndex(roomRepository, availabilityIndex, timesBookedBuffer);
+        when(roomRepository.findAllRoomDtos()).thenReturn(List.of(
+                new RoomDto(1L, 1L, "101", true, 5),
+                new RoomDto(2L, 1L, "102", true, 3),
+                new RoomDto(3L, 1L, "201", true, 3),
+                new RoomDto(4L, 2L, "301", false, 0)));
+
+        recommendationIndex.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        timesBookedBuffer.destroy();
+    }
+
+    @Test
+    void topAvailable_ShouldOrderByTimesBookedThenIdAndSkipUnavailable() {
+        assertEquals(List.of(2L, 3L), ids(recommendationIndex.topAvailable(null, 2)));
+        assertEquals(List.of(2L, 3L, 1L), ids(recommendationIndex.topAvailable(null, 10)));
+    }
+
+    @Test
+    void topAvailable_ShouldContinueStrictlyAfterGivenRank() {
+        RoomDto after = new RoomDto(2L, null, null, null, 3);
+
+        assertEquals(List.of(3L, 1L), ids(recommendationIndex.topAvailable(after, 10)));
+    }
+
+    @Test
+    void topAvailable_ShouldSkipRoomsTakenTonight() {
+        LocalDate tonight = LocalDate.now();
+        when(availabilityIndex.hasConflict(eq(2L), eq(tonight), eq(tonight.plusDays(1)), isNull())).thenReturn(true);
+
+        assertEquals(List.of(3L), ids(recommendationIndex.topAvailable(null, 1)));
+    }
+
+    @Test
+    void onAvailabilityChanged_WhenTimesBookedIncremented_ShouldReorder() {
+        increment(2L);
+
+        assertEquals(List.of(3L, 2L, 1L), ids(recommendationIndex.topAvailable(null, 10)));
+        assertEquals(4, recommendationIndex.topAvailable(null, 10).get(1).getTimesBooked());
+    }
+
+    @Test
+    void onAvailabilityChanged_WhenRoomAdded_ShouldRankIt() {
+        recommendationIndex.onAvailabilityChanged(RoomAvailabilityChangedEvent.roomUpdated(new RoomDto(7L, 2L, "303", true, 0)));
+
+        assertEquals(List.of(7L), ids(recommendationIndex.topAvailable(null, 1)));
+        verify(availabilityIndex, atLeastOnce()).hasConflict(eq(7L), any(), any(), isNull());
+    }
+
+    @Test
+    void rebuild_ShouldCountIncrementsNotYetFlushed() {
+        increment(3L);
+        increment(3L);
+
+        recommendationIndex.onAvailabilityChanged(RoomAvailabilityChangedEvent.catalogChanged(1L));
+
+        assertEquals(List.of(2L, 1L, 3L), ids(recommendationIndex.topAvailable(null, 10)));
+        assertEquals(5, recommendationIndex.topAvailable(null, 10).get(2).getTimesBooked());
+    }
+
+    @Test
+    void rebuild_WhenIncrementCommitsDuringLoad_ShouldCountItOnce() {
+        when(roomRepository.findAllRoomDtos()).thenAnswer(invocation -> {
+            increment(2L);
+            increment(2L);
+            return List.of(
+                    new RoomDto(1L, 1L, "101", true, 5),
+                    new RoomDto(2L, 1L, "102", true, 3),
+                    new RoomDto(3L, 1L, "201", true, 3));
+        });
+
+        recommendationIndex.rebuild();
+
+        assertEquals(List.of(3L, 1L, 2L), ids(recommendationIndex.topAvailable(null, 10)));
+        assertEquals(5, recommendationIndex.topAvailable(null, 10).get(2).getTimesBooked());
+    }
+
+    @Test
+    void rebuild_WhenDeltasWereFlushed_ShouldNotCountThemTwice() {
+        increment(2L);
+        timesBookedBuffer.flush();
+        when(roomRepository.findAllRoomDtos()).thenReturn(List.of(
+                new RoomDto(1L, 1L, "101", true, 5),
+                new RoomDto(2L, 1L, "102", true, 4),
+                new RoomDto(3L, 1L, "201", true, 3)));
+
+        recommendationIndex.rebuild();
+
+        assertEquals(List.of(3L, 2L, 1L), ids(recommendationIndex.topAvailable(null, 10)));
+        assertEquals(4, recommendationIndex.topAvailable(null, 10).get(1).getTimesBooked());
+    }
+
+    // Порядок слушателей как в приложении: сначала буфер, затем индекс
+    private void increment(Long roomId) {
+        RoomAvailabilityChangedEvent event = RoomAvailabilityChangedEvent.timesBookedIncremented(roomId);
+        timesBookedBuffer.onAvailabilityChanged(event);
+        recommendationIndex.onAvailabilityChanged(event);
+    }
+
+    private static List<Long> ids(List<RoomDto> rooms) {
+        return rooms.stream().map(RoomDto::getId).toList();
+    }
+}
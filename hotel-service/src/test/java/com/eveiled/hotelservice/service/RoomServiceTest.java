@@ -1,29 +1,51 @@
 package com.eveiled.hotelservice.service;
 
+import com.eveiled.hotelservice.config.PaginationProperties;
 import com.eveiled.hotelservice.dto.AvailabilityRequest;
+import com.eveiled.hotelservice.dto.BatchHoldRequest;
+import com.eveiled.hotelservice.dto.BatchHoldResponse;
+import com.eveiled.hotelservice.dto.CursorPage;
 import com.eveiled.hotelservice.dto.HotelDto;
+import com.eveiled.hotelservice.dto.ReserveRoomRequest;
+import com.eveiled.hotelservice.dto.RoomHoldResult;
 import com.eveiled.hotelservice.dto.RoomDto;
 import com.eveiled.hotelservice.entity.Hotel;
+import com.eveiled.hotelservice.entity.ReservationNight;
 import com.eveiled.hotelservice.entity.Room;
 import com.eveiled.hotelservice.mapper.HotelMapper;
+import com.eveiled.hotelservice.repository.ReservationNightRepository;
+import com.eveiled.hotelservice.repository.ReservationNightRepositoryCustom.HoldRef;
 import com.eveiled.hotelservice.repository.RoomRepository;
 import com.eveiled.hotelservice.util.CorrelationIdUtil;
+import com.eveiled.hotelservice.util.CursorUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,12 +54,30 @@ class RoomServiceTest {
     @Mock
     private RoomRepository roomRepository;
 
+    @Mock
+    private ReservationNightRepository reservationNightRepository;
+
     @Mock
     private HotelService hotelService;
 
     @Mock
     private HotelMapper hotelMapper;
 
+    @Mock
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private RoomRecommendationIndex recommendationIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private PaginationProperties paginationProperties = new PaginationProperties();
+
+    @Mock
+    private TimesBookedBuffer timesBookedBuffer;
+
     @InjectMocks
     private RoomService roomService;
 
@@ -83,6 +123,8 @@ class RoomServiceTest {
         availabilityRequest.setRequestId("test-request-id");
         availabilityRequest.setStartDate(LocalDateTime.now().plusDays(1));
         availabilityRequest.setEndDate(LocalDateTime.now().plusDays(3));
+
+        ReflectionTestUtils.setField(roomService, "reserveAnyMaxAttempts", 3);
     }
 
     @Test
@@ -105,39 +147,90 @@ class RoomServiceTest {
 
     @Test
     void getAllAvailableRooms_ShouldReturnAvailableRooms() {
-        List<Room> rooms = Arrays.asList(savedRoom);
         List<RoomDto> roomDtos = Arrays.asList(roomDto);
         
-        when(roomRepository.findByAvailableTrue()).thenReturn(rooms);
-        when(hotelMapper.toRoomDtoList(rooms)).thenReturn(roomDtos);
+        when(roomRepository.findAvailableRoomDtos(0L, PageRequest.of(0, 51))).thenReturn(roomDtos);
 
-        List<RoomDto> result = roomService.getAllAvailableRooms();
+        CursorPage<RoomDto> result = roomService.getAllAvailableRooms(null, null);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(roomDto.getNumber(), result.get(0).getNumber());
+        assertEquals(1, result.getItems().size());
+        assertEquals(roomDto.getNumber(), result.getItems().get(0).getNumber());
+        assertNull(result.getNextCursor());
         
-        verify(roomRepository).findByAvailableTrue();
-        verify(hotelMapper).toRoomDtoList(rooms);
+        verify(timesBookedBuffer).applyPending(roomDtos);
+        verifyNoInteractions(hotelMapper);
+    }
+
+    @Test
+    void getRecommendedRooms_ShouldCapLimitAndContinueAfterCursor() {
+        RoomDto after = new RoomDto(2L, null, null, null, 3);
+        List<RoomDto> ranked = new ArrayList<>();
+        for (long id = 3; id <= 203; id++) {
+            ranked.add(new RoomDto(id, 1L, String.valueOf(id), true, 3));
+        }
+        when(recommendationIndex.topAvailable(after, 201)).thenReturn(ranked);
+
+        CursorPage<RoomDto> result = roomService.getRecommendedRooms(CursorUtil.encode(3, 2L), 10_000);
+
+        assertEquals(200, result.getItems().size());
+        assertEquals(CursorUtil.encode(3, 202L), result.getNextCursor());
+        verifyNoInteractions(roomRepository);
     }
 
     @Test
-    void confirmAvailability_WhenRoomIsAvailable_ShouldReturnTrue() {
+    void confirmAvailability_WhenRoomIsAvailable_ShouldHoldEveryNightOfTheStay() {
         Long roomId = 1L;
         try (MockedStatic<CorrelationIdUtil> mockedStatic = mockStatic(CorrelationIdUtil.class)) {
             mockedStatic.when(CorrelationIdUtil::getCorrelationId).thenReturn("test-correlation-id");
             
             when(roomRepository.findById(roomId)).thenReturn(Optional.of(savedRoom));
-            when(roomRepository.save(any(Room.class))).thenReturn(savedRoom);
+            when(reservationNightRepository.insertHolds(eq(roomId), eq("test-request-id"), anyList(), any(LocalDateTime.class)))
+                    .thenReturn(true);
 
             boolean result = roomService.confirmAvailability(roomId, availabilityRequest);
 
             assertTrue(result);
-            verify(roomRepository).findById(roomId);
-            verify(roomRepository).save(savedRoom);
+            LocalDate checkIn = availabilityRequest.getStartDate().toLocalDate();
+            verify(reservationNightRepository).insertHolds(eq(roomId), eq("test-request-id"),
+                    eq(List.of(checkIn, checkIn.plusDays(1))), any(LocalDateTime.class));
+            verify(reservationNightRepository).deleteHolds(roomId, "test-request-id");
+            verify(eventPublisher).publishEvent(RoomAvailabilityChangedEvent.held(roomId, "test-request-id",
+                    checkIn, checkIn.plusDays(2), availabilityRequest.getEndDate().plusHours(1)));
+            verify(roomRepository, never()).save(any());
         }
     }
 
+    @Test
+    void confirmAvailability_WhenIndexShowsConflict_ShouldRejectWithoutTouchingDatabase() {
+        Long roomId = 1L;
+        LocalDate checkIn = availabilityRequest.getStartDate().toLocalDate();
+        
+        try (MockedStatic<CorrelationIdUtil> mockedStatic = mockStatic(CorrelationIdUtil.class)) {
+            mockedStatic.when(CorrelationIdUtil::getCorrelationId).thenReturn("test-correlation-id");
+            
+            when(availabilityIndex.hasConflict(roomId, checkIn, checkIn.plusDays(2), "test-request-id")).thenReturn(true);
+
+            assertFalse(roomService.confirmAvailability(roomId, availabilityRequest));
+            verifyNoInteractions(roomRepository, reservationNightRepository, eventPublisher);
+        }
+    }
+
+    @Test
+    void searchAvailableRooms_ShouldLoadOnlyRoomsFreeInIndex() {
+        LocalDate checkIn = availabilityRequest.getStartDate().toLocalDate();
+        List<Room> rooms = List.of(savedRoom);
+        
+        when(availabilityIndex.findFreeRooms(1L, checkIn, checkIn.plusDays(2))).thenReturn(List.of(1L));
+        when(roomRepository.loadAllById(List.of(1L))).thenReturn(rooms);
+        when(hotelMapper.toRoomDtoList(rooms)).thenReturn(List.of(roomDto));
+
+        List<RoomDto> result = roomService.searchAvailableRooms(1L,
+                availabilityRequest.getStartDate(), availabilityRequest.getEndDate());
+
+        assertEquals(List.of(roomDto), result);
+    }
+
     @Test
     void confirmAvailability_WhenRoomIsNotAvailable_ShouldReturnFalse() {
         Long roomId = 1L;
@@ -151,27 +244,288 @@ class RoomServiceTest {
             boolean result = roomService.confirmAvailability(roomId, availabilityRequest);
 
             assertFalse(result);
-            verify(roomRepository).findById(roomId);
+            verify(reservationNightRepository, never()).insertHolds(anyLong(), any(), anyList(), any());
             verify(roomRepository, never()).save(any());
         }
     }
 
     @Test
-    void releaseRoom_WhenRequestIdMatches_ShouldReleaseRoom() {
+    void confirmAvailability_WhenNightIsTaken_ShouldRollBackAndReturnFalse() {
+        Long roomId = 1L;
+        TransactionStatus transactionStatus = mock(TransactionStatus.class);
+        
+        try (MockedStatic<CorrelationIdUtil> mockedStatic = mockStatic(CorrelationIdUtil.class);
+             MockedStatic<TransactionAspectSupport> transactions = mockStatic(TransactionAspectSupport.class)) {
+            mockedStatic.when(CorrelationIdUtil::getCorrelationId).thenReturn("test-correlation-id");
+            transactions.when(TransactionAspectSupport::currentTransactionStatus).thenReturn(transactionStatus);
+            
+            when(roomRepository.findById(roomId)).thenReturn(Optional.of(savedRoom));
+            when(reservationNightRepository.insertHolds(eq(roomId), eq("test-request-id"), anyList(), any(LocalDateTime.class)))
+                    .thenReturn(false);
+
+            boolean result = roomService.confirmAvailability(roomId, availabilityRequest);
+
+            assertFalse(result);
+            verify(transactionStatus).setRollbackOnly();
+        }
+    }
+
+    @Test
+    void expireHolds_ShouldPublishEventOnlyForDeletedHolds() {
+        HoldRef expired = new HoldRef(1L, "expired-request");
+        HoldRef confirmed = new HoldRef(2L, "confirmed-request");
+        when(reservationNightRepository.deleteExpiredHolds(eq(List.of(expired, confirmed)), any(LocalDateTime.class)))
+                .thenReturn(List.of(expired));
+
+        List<HoldRef> result = roomService.expireHolds(List.of(expired, confirmed));
+
+        assertEquals(List.of(expired), result);
+        verify(eventPublisher).publishEvent(RoomAvailabilityChangedEvent.expired(1L, "expired-request"));
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void releaseRequests_ShouldDeleteAllNightsInOneStatement() {
+        List<String> requestIds = List.of("req-1", "req-2");
+        when(reservationNightRepository.releaseByRequestIds(requestIds)).thenReturn(5);
+
+        assertEquals(5, roomService.releaseRequests(requestIds));
+
+        verify(eventPublisher).publishEvent(RoomAvailabilityChangedEvent.requestReleased("req-1"));
+        verify(eventPublisher).publishEvent(RoomAvailabilityChangedEvent.requestReleased("req-2"));
+        verify(roomRepository, never()).save(any());
+    }
+
+    @Test
+    void releaseRequests_WhenEmpty_ShouldNotTouchDatabase() {
+        assertEquals(0, roomService.releaseRequests(List.of()));
+
+        verifyNoInteractions(reservationNightRepository, eventPublisher);
+    }
+
+    @Test
+    void releaseRoom_WhenRequestIdMatches_ShouldReleaseItsNights() {
         Long roomId = 1L;
         String requestId = "test-request-id";
-        savedRoom.setBlockedByRequestId(requestId);
         
         try (MockedStatic<CorrelationIdUtil> mockedStatic = mockStatic(CorrelationIdUtil.class)) {
             mockedStatic.when(CorrelationIdUtil::getCorrelationId).thenReturn("test-correlation-id");
             
-            when(roomRepository.findById(roomId)).thenReturn(Optional.of(savedRoom));
-            when(roomRepository.save(any(Room.class))).thenReturn(savedRoom);
+            when(reservationNightRepository.release(roomId, requestId)).thenReturn(2);
 
             roomService.releaseRoom(roomId, requestId);
 
-            verify(roomRepository).findById(roomId);
-            verify(roomRepository).save(savedRoom);
+            verify(reservationNightRepository).release(roomId, requestId);
+            verify(roomRepository, never()).save(any());
+        }
+    }
+
+    @Test
+    void incrementTimesBooked_WhenRepeatedForSameRequest_ShouldBeIdempotent() {
+        Long roomId = 1L;
+        String requestId = "test-request-id";
+
+        try (MockedStatic<CorrelationIdUtil> mockedStatic = mockStatic(CorrelationIdUtil.class)) {
+            mockedStatic.when(CorrelationIdUtil::getCorrelationId).thenReturn("test-correlation-id");
+
+            when(reservationNightRepository.confirmHolds(roomId, requestId)).thenReturn(2, 0);
+
+            roomService.incrementTimesBooked(roomId, requestId);
+            roomService.incrementTimesBooked(roomId, requestId);
+
+            verify(reservationNightRepository, times(2)).confirmHolds(roomId, requestId);
+            verify(eventPublisher, times(1)).publishEvent(RoomAvailabilityChangedEvent.timesBookedIncremented(roomId));
+            verifyNoInteractions(roomRepository);
+        }
+    }
+
+    @Test
+    void incrementTimesBooked_WithoutRequestIdForUnknownRoom_ShouldThrowException() {
+        try (MockedStatic<CorrelationIdUtil> mockedStatic = mockStatic(CorrelationIdUtil.class)) {
+            when(roomRepository.existsById(99L)).thenReturn(false);
+
+            assertThrows(RuntimeException.class, () -> roomService.incrementTimesBooked(99L));
+            verifyNoInteractions(eventPublisher);
+        }
+    }
+
+    @Test
+    void searchAvailableRooms_ShouldRankByTimesBookedIncludingPendingIncrements() {
+        LocalDate checkIn = availabilityRequest.getStartDate().toLocalDate();
+        Room secondRoom = new Room(2L, hotel, "102", true, 1);
+        List<Room> rooms = List.of(savedRoom, secondRoom);
+        RoomDto first = new RoomDto(1L, 1L, "101", true, 0);
+        RoomDto second = new RoomDto(2L, 1L, "102", true, 1);
+
+        when(availabilityIndex.findFreeRooms(1L, checkIn, checkIn.plusDays(2))).thenReturn(List.of(1L, 2L));
+        when(roomRepository.loadAllById(List.of(1L, 2L))).thenReturn(rooms);
+        when(hotelMapper.toRoomDtoList(rooms)).thenReturn(List.of(first, second));
+        doAnswer(invocation -> {
+            first.setTimesBooked(first.getTimesBooked() + 3);
+            return null;
+        }).when(timesBookedBuffer).applyPending(List.of(first, second));
+
+        List<RoomDto> result = roomService.searchAvailableRooms(1L,
+                availabilityRequest.getStartDate(), availabilityRequest.getEndDate());
+
+        assertEquals(List.of(2L, 1L), result.stream().map(RoomDto::getId).toList());
+        assertEquals(3, result.get(1).getTimesBooked());
+    }
+
+    @Test
+    void reserveAnyAvailableRoom_WhenRoomIsFree_ShouldHoldIt() {
+        ReserveRoomRequest request = new ReserveRoomRequest("test-request-id",
+                availabilityRequest.getStartDate(), availabilityRequest.getEndDate(), 1L);
+        RoomDto expectedDto = new RoomDto(1L, 1L, "101", true, 0);
+        LocalDate checkIn = availabilityRequest.getStartDate().toLocalDate();
+
+        TransactionStatus transactionStatus = mock(TransactionStatus.class);
+
+        when(reservationNightRepository.findFirstByRequestId("test-request-id")).thenReturn(Optional.empty());
+        when(roomRepository.lockBestAvailableRoom(eq(1L), eq(checkIn), eq(checkIn.plusDays(2)), any(LocalDateTime.class),
+                eq(RoomRepository.NO_ROOMS))).thenReturn(Optional.of(savedRoom));
+        when(reservationNightRepository.insertHolds(eq(1L), eq("test-request-id"), anyList(), any(LocalDateTime.class)))
+                .thenReturn(true);
+        when(hotelMapper.toRoomDto(savedRoom)).thenReturn(expectedDto);
+
+        try (MockedStatic<TransactionAspectSupport> transactions = mockStatic(TransactionAspectSupport.class)) {
+            transactions.when(TransactionAspectSupport::currentTransactionStatus).thenReturn(transactionStatus);
+
+            Optional<RoomDto> result = roomService.reserveAnyAvailableRoom(request);
+
+            assertTrue(result.isPresent());
+            assertEquals(1L, result.get().getId());
+            verify(transactionStatus, never()).setRollbackOnly();
+        }
+    }
+
+    @Test
+    void reserveAnyAvailableRoom_WhenBestRoomIsTakenConcurrently_ShouldRetryWithoutIt() {
+        ReserveRoomRequest request = new ReserveRoomRequest("test-request-id",
+                availabilityRequest.getStartDate(), availabilityRequest.getEndDate(), null);
+        Room secondRoom = new Room(2L, hotel, "102", true, 0);
+        RoomDto expectedDto = new RoomDto(2L, 1L, "102", true, 0);
+        TransactionStatus transactionStatus = mock(TransactionStatus.class);
+        Object firstSavepoint = new Object();
+
+        when(reservationNightRepository.findFirstByRequestId("test-request-id")).thenReturn(Optional.empty());
+        when(roomRepository.lockBestAvailableRoom(isNull(), any(LocalDate.class), any(LocalDate.class), any(LocalDateTime.class),
+                eq(RoomRepository.NO_ROOMS))).thenReturn(Optional.of(savedRoom));
+        when(roomRepository.lockBestAvailableRoom(isNull(), any(LocalDate.class), any(LocalDate.class), any(LocalDateTime.class),
+                eq(List.of(1L)))).thenReturn(Optional.of(secondRoom));
+        when(reservationNightRepository.insertHolds(eq(1L), eq("test-request-id"), anyList(), any(LocalDateTime.class)))
+                .thenReturn(false);
+        when(reservationNightRepository.insertHolds(eq(2L), eq("test-request-id"), anyList(), any(LocalDateTime.class)))
+                .thenReturn(true);
+        when(transactionStatus.createSavepoint()).thenReturn(firstSavepoint, new Object());
+        when(hotelMapper.toRoomDto(secondRoom)).thenReturn(expectedDto);
+
+        try (MockedStatic<TransactionAspectSupport> transactions = mockStatic(TransactionAspectSupport.class)) {
+            transactions.when(TransactionAspectSupport::currentTransactionStatus).thenReturn(transactionStatus);
+
+            Optional<RoomDto> result = roomService.reserveAnyAvailableRoom(request);
+
+            assertEquals(Optional.of(expectedDto), result);
+            verify(transactionStatus).rollbackToSavepoint(firstSavepoint);
+            verify(transactionStatus, never()).setRollbackOnly();
+        }
+    }
+
+    @Test
+    void reserveAnyAvailableRoom_WhenRequestAlreadyHoldsRoom_ShouldReturnItWithoutLocking() {
+        ReserveRoomRequest request = new ReserveRoomRequest("test-request-id",
+                availabilityRequest.getStartDate(), availabilityRequest.getEndDate(), null);
+        ReservationNight heldNight = new ReservationNight(10L, 1L, availabilityRequest.getStartDate().toLocalDate(),
+                "test-request-id", ReservationNight.Status.HELD, availabilityRequest.getEndDate());
+        RoomDto expectedDto = new RoomDto(1L, 1L, "101", true, 0);
+
+        when(reservationNightRepository.findFirstByRequestId("test-request-id")).thenReturn(Optional.of(heldNight));
+        when(roomRepository.findById(1L)).thenReturn(Optional.of(savedRoom));
+        when(hotelMapper.toRoomDto(savedRoom)).thenReturn(expectedDto);
+
+        Optional<RoomDto> result = roomService.reserveAnyAvailableRoom(request);
+
+        assertEquals(Optional.of(expectedDto), result);
+        verify(roomRepository, never()).lockBestAvailableRoom(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void reserveAnyAvailableRoom_WhenNothingIsFree_ShouldReturnEmpty() {
+        ReserveRoomRequest request = new ReserveRoomRequest("test-request-id",
+                availabilityRequest.getStartDate(), availabilityRequest.getEndDate(), null);
+
+        when(reservationNightRepository.findFirstByRequestId("test-request-id")).thenReturn(Optional.empty());
+        when(roomRepository.lockBestAvailableRoom(isNull(), any(LocalDate.class), any(LocalDate.class), any(LocalDateTime.class),
+                eq(RoomRepository.NO_ROOMS))).thenReturn(Optional.empty());
+
+        assertTrue(roomService.reserveAnyAvailableRoom(request).isEmpty());
+        verify(reservationNightRepository, never()).insertHolds(anyLong(), any(), anyList(), any());
+    }
+
+    @Test
+    void holdRooms_WhenAllRoomsAreFree_ShouldLockInIdOrderAndHoldEach() {
+        Room secondRoom = new Room(2L, hotel, "102", true, 0);
+        BatchHoldRequest request = new BatchHoldRequest("group-request-id",
+                availabilityRequest.getStartDate(), availabilityRequest.getEndDate(), List.of(2L, 1L, 2L));
+
+        when(roomRepository.lockAllByIdOrderById(List.of(1L, 2L))).thenReturn(List.of(savedRoom, secondRoom));
+        when(reservationNightRepository.insertHolds(anyLong(), eq("group-request-id"), anyList(), any(LocalDateTime.class)))
+                .thenReturn(true);
+
+        BatchHoldResponse response = roomService.holdRooms(request);
+
+        assertTrue(response.isHeld());
+        assertEquals(List.of(new RoomHoldResult(1L, RoomHoldResult.Status.HELD),
+                new RoomHoldResult(2L, RoomHoldResult.Status.HELD)), response.getRooms());
+        InOrder inOrder = inOrder(reservationNightRepository);
+        inOrder.verify(reservationNightRepository).insertHolds(eq(1L), eq("group-request-id"), anyList(), any(LocalDateTime.class));
+        inOrder.verify(reservationNightRepository).insertHolds(eq(2L), eq("group-request-id"), anyList(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void holdRooms_WhenOneRoomIsTaken_ShouldHoldNothingAndReportEachRoom() {
+        Room unavailableRoom = new Room(3L, hotel, "103", false, 0);
+        BatchHoldRequest request = new BatchHoldRequest("group-request-id",
+                availabilityRequest.getStartDate(), availabilityRequest.getEndDate(), List.of(1L, 2L, 3L, 4L));
+
+        when(roomRepository.lockAllByIdOrderById(List.of(1L, 2L, 3L, 4L)))
+                .thenReturn(List.of(savedRoom, new Room(2L, hotel, "102", true, 0), unavailableRoom));
+        when(availabilityIndex.hasConflict(eq(1L), any(LocalDate.class), any(LocalDate.class), eq("group-request-id")))
+                .thenReturn(false);
+        when(availabilityIndex.hasConflict(eq(2L), any(LocalDate.class), any(LocalDate.class), eq("group-request-id")))
+                .thenReturn(true);
+
+        BatchHoldResponse response = roomService.holdRooms(request);
+
+        assertFalse(response.isHeld());
+        assertEquals(List.of(new RoomHoldResult(1L, RoomHoldResult.Status.NOT_HELD),
+                new RoomHoldResult(2L, RoomHoldResult.Status.TAKEN),
+                new RoomHoldResult(3L, RoomHoldResult.Status.UNAVAILABLE),
+                new RoomHoldResult(4L, RoomHoldResult.Status.NOT_FOUND)), response.getRooms());
+        verify(reservationNightRepository, never()).insertHolds(anyLong(), any(), anyList(), any());
+    }
+
+    @Test
+    void holdRooms_WhenLedgerRejectsLaterRoom_ShouldRollBackWholeGroup() {
+        TransactionStatus transactionStatus = mock(TransactionStatus.class);
+        BatchHoldRequest request = new BatchHoldRequest("group-request-id",
+                availabilityRequest.getStartDate(), availabilityRequest.getEndDate(), List.of(1L, 2L));
+
+        try (MockedStatic<TransactionAspectSupport> transactions = mockStatic(TransactionAspectSupport.class)) {
+            transactions.when(TransactionAspectSupport::currentTransactionStatus).thenReturn(transactionStatus);
+            when(roomRepository.lockAllByIdOrderById(List.of(1L, 2L)))
+                    .thenReturn(List.of(savedRoom, new Room(2L, hotel, "102", true, 0)));
+            when(reservationNightRepository.insertHolds(eq(1L), eq("group-request-id"), anyList(), any(LocalDateTime.class)))
+                    .thenReturn(true);
+            when(reservationNightRepository.insertHolds(eq(2L), eq("group-request-id"), anyList(), any(LocalDateTime.class)))
+                    .thenReturn(false);
+
+            BatchHoldResponse response = roomService.holdRooms(request);
+
+            assertFalse(response.isHeld());
+            assertEquals(List.of(new RoomHoldResult(1L, RoomHoldResult.Status.NOT_HELD),
+                    new RoomHoldResult(2L, RoomHoldResult.Status.TAKEN)), response.getRooms());
+            verify(transactionStatus).setRollbackOnly();
         }
     }
 }
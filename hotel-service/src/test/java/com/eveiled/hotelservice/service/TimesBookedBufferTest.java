@@ -0,0 +1,105 @@
+package com.eveiled.hotelservice.service;
+
+import com.eveiled.hotelservice.dto.RoomDto;
+import com.eveiled.hotelservice.repository.RoomRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TimesBookedBufferTest {
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TimesBookedBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new TimesBookedBuffer(roomRepository, transactionManager);
+        ReflectionTestUtils.setField(buffer, "flushThreshold", 100L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        buffer.destroy();
+    }
+
+    @Test
+    void flush_ShouldWriteCoalescedDeltasInOneBatch() {
+        buffer.onAvailabilityChanged(RoomAvailabilityChangedEvent.timesBookedIncremented(1L));
+        buffer.onAvailabilityChanged(RoomAvailabilityChangedEvent.timesBookedIncremented(1L));
+        buffer.onAvailabilityChanged(RoomAvailabilityChangedEvent.timesBookedIncremented(2L));
+        buffer.onAvailabilityChanged(RoomAvailabilityChangedEvent.released(3L, "request-1"));
+
+        buffer.flush();
+
+        verify(roomRepository).addTimesBooked(Map.of(1L, 2L, 2L, 1L));
+        verify(roomRepository).evictFromCache(Set.of(1L, 2L));
+        assertEquals(0, buffer.pendingFor(1L));
+        assertEquals(0, buffer.pendingFor(2L));
+    }
+
+    @Test
+    void flush_WhenNothingIsPending_ShouldNotTouchDatabase() {
+        buffer.flush();
+
+        verifyNoInteractions(roomRepository, transactionManager);
+    }
+
+    @Test
+    void flush_WhenUpdateFails_ShouldKeepDeltasForNextFlush() {
+        buffer.onAvailabilityChanged(RoomAvailabilityChangedEvent.timesBookedIncremented(1L));
+        doThrow(new RuntimeException("Database is down")).doNothing()
+                .when(roomRepository).addTimesBooked(anyMap());
+
+        buffer.flush();
+        assertEquals(1, buffer.pendingFor(1L));
+        verify(roomRepository, never()).evictFromCache(any());
+
+        buffer.flush();
+        verify(roomRepository, times(2)).addTimesBooked(Map.of(1L, 1L));
+        assertEquals(0, buffer.pendingFor(1L));
+    }
+
+    @Test
+    void applyPending_ShouldAddUnflushedIncrementsToRoom() {
+        buffer.onAvailabilityChanged(RoomAvailabilityChangedEvent.timesBookedIncremented(1L));
+        buffer.onAvailabilityChanged(RoomAvailabilityChangedEvent.timesBookedIncremented(1L));
+        RoomDto first = new RoomDto(1L, 1L, "101", true, 5);
+        RoomDto second = new RoomDto(2L, 1L, "102", true, 3);
+
+        buffer.applyPending(List.of(first, second));
+
+        assertEquals(7, first.getTimesBooked());
+        assertEquals(3, second.getTimesBooked());
+    }
+
+    @Test
+    void increment_WhenThresholdIsReached_ShouldFlushWithoutWaitingForSchedule() {
+        ReflectionTestUtils.setField(buffer, "flushThreshold", 3L);
+
+        buffer.onAvailabilityChanged(RoomAvailabilityChangedEvent.timesBookedIncremented(1L));
+        buffer.onAvailabilityChanged(RoomAvailabilityChangedEvent.timesBookedIncremented(2L));
+        buffer.onAvailabilityChanged(RoomAvailabilityChangedEvent.timesBookedIncremented(2L));
+
+        verify(roomRepository, timeout(1000)).addTimesBooked(Map.of(1L, 1L, 2L, 2L));
+    }
+}
@@ -0,0 +1,87 @@
+package com.eveiled.hotelservice.util;
+
+import com.eveiled.hotelservice.util.IntervalTree.Interval;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalTreeTest {
+
+    private static final LocalDate DAY_ZERO = LocalDate.of(2024, 1, 1);
+
+    @Test
+    void findOverlapping_ShouldTreatIntervalsAsHalfOpen() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.insert(day(0), day(3), "first-stay");
+        tree.insert(day(3), day(5), "second-stay");
+
+        assertEquals(List.of("first-stay"), values(tree.findOverlapping(day(2), day(3))));
+        assertEquals(List.of("second-stay"), values(tree.findOverlapping(day(3), day(4))));
+        assertTrue(tree.findOverlapping(day(5), day(7)).isEmpty());
+    }
+
+    @Test
+    void anyOverlapping_ShouldApplyFilter() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.insert(day(0), day(3), "own-request");
+
+        assertFalse(tree.anyOverlapping(day(1), day(2), interval -> !interval.value().equals("own-request")));
+        assertTrue(tree.anyOverlapping(day(1), day(2), interval -> true));
+    }
+
+    @Test
+    void remove_ShouldDropOnlyTheGivenInterval() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        Interval<String> first = tree.insert(day(0), day(3), "first");
+        tree.insert(day(0), day(3), "second");
+
+        assertTrue(tree.remove(first));
+        assertFalse(tree.remove(first));
+
+        assertEquals(1, tree.size());
+        assertEquals(List.of("second"), values(tree.findOverlapping(day(0), day(1))));
+    }
+
+    @Test
+    void findOverlapping_WhenManyRandomIntervals_ShouldMatchLinearScan() {
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        List<Interval<Integer>> inserted = new ArrayList<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 2_000; i++) {
+            int start = random.nextInt(365);
+            inserted.add(tree.insert(day(start), day(start + 1 + random.nextInt(14)), i));
+        }
+        for (int i = 0; i < 500; i++) {
+            assertTrue(tree.remove(inserted.remove(random.nextInt(inserted.size()))));
+        }
+
+        for (int i = 0; i < 200; i++) {
+            int from = random.nextInt(380);
+            LocalDate fromDay = day(from);
+            LocalDate toDay = day(from + 1 + random.nextInt(10));
+            List<Integer> expected = inserted.stream()
+                    .filter(interval -> interval.overlaps(fromDay, toDay))
+                    .map(Interval::value)
+                    .sorted()
+                    .toList();
+
+            assertEquals(expected, values(tree.findOverlapping(fromDay, toDay)).stream().sorted().toList());
+            assertEquals(!expected.isEmpty(), tree.anyOverlapping(fromDay, toDay, interval -> true));
+        }
+        assertEquals(inserted.size(), tree.size());
+    }
+
+    private static LocalDate day(int offset) {
+        return DAY_ZERO.plusDays(offset);
+    }
+
+    private static <V> List<V> values(List<Interval<V>> intervals) {
+        return intervals.stream().map(Interval::value).toList();
+    }
+}